@@ -0,0 +1,117 @@
+package com.snake.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.snake.analytics.AnalyticsReader;
+import com.snake.analytics.AnalyticsRecorder;
+import com.snake.analytics.AnalyticsWriter;
+import com.snake.analytics.EventBatch;
+import com.snake.analytics.EventKind;
+import com.snake.game.GameEngine;
+import com.snake.game.GameState;
+import com.snake.game.TickResult;
+import com.snake.sim.GreedyController;
+
+/**
+ * Cost of recording one tick on the game loop thread, and how fast a file
+ * of one million events from greedy games scans back
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalyticsBenchmark {
+
+    private static final int FILE_EVENTS = 1000000;
+
+    private GameEngine engine;
+    private AnalyticsRecorder recorder;
+    private byte[] file;
+    private EventBatch batch;
+
+    @Setup
+    public void setUp() throws IOException {
+        engine = new GameEngine(42L);
+        engine.step(null);
+        recorder = new AnalyticsRecorder(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        });
+
+        // Real games give real deltas and runs
+        GameEngine game = new GameEngine(7L);
+        GreedyController bot = new GreedyController();
+        EventBatch events = AnalyticsReader.newBatch();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (AnalyticsWriter writer = new AnalyticsWriter(bytes)) {
+            for (int i = 0; i < FILE_EVENTS; i++) {
+                if (game.getGameState() != GameState.PLAYING) {
+                    game.reset(i);
+                }
+                game.step(bot.decide(game));
+                events.add(game.getTick(), game.getSnake().getHeadX(), game.getSnake().getHeadY(),
+                        game.getSnake().getDirection(), EventKind.MOVED, true);
+                if (events.isFull()) {
+                    writer.write(events);
+                    events.clear();
+                }
+            }
+            writer.write(events);
+        }
+        file = bytes.toByteArray();
+        batch = AnalyticsReader.newBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.println();
+        System.out.println("File: " + file.length + " bytes for " + FILE_EVENTS + " events, recorder " + recorder);
+        recorder.close();
+    }
+
+    @Benchmark
+    public void record() {
+        recorder.record(engine, TickResult.MOVED, false);
+    }
+
+    /**
+     * Time for the whole file, divide by FILE_EVENTS for one event
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long scan() throws IOException {
+        long sum = 0;
+        try (AnalyticsReader reader = new AnalyticsReader(new ByteArrayInputStream(file))) {
+            while (reader.next(batch)) {
+                for (int i = 0; i < batch.size(); i++) {
+                    sum += batch.getX(i) + batch.getY(i);
+                }
+            }
+        }
+        return sum;
+    }
+}
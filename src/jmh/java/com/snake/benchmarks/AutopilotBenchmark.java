@@ -0,0 +1,68 @@
+package com.snake.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.snake.ai.Autopilot;
+import com.snake.entities.Direction;
+import com.snake.game.GameEngine;
+import com.snake.game.GameState;
+
+/**
+ * Autopilot decisions per second on a 100x100 grid
+ * search() drops the cached path first so every call runs the full search,
+ * play() steps a real game where most ticks follow the cached path
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AutopilotBenchmark {
+
+    private static final int GRID_SIZE = 100;
+
+    @Param({"10", "1000"})
+    private int length;
+
+    private GameEngine engine;
+    private GameEngine game;
+    private Autopilot autopilot;
+    private Autopilot player;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        engine = BenchmarkBoards.engineWithLength(BenchmarkBoards.grid(GRID_SIZE), 42L, length);
+        autopilot = new Autopilot();
+        game = BenchmarkBoards.engineWithLength(BenchmarkBoards.grid(GRID_SIZE), 42L, length);
+        player = new Autopilot();
+    }
+
+    @Benchmark
+    public Direction search() {
+        autopilot.reset();
+        return autopilot.decide(engine);
+    }
+
+    @Benchmark
+    public Object play() {
+        if (game.getGameState() != GameState.PLAYING) {
+            game.reset(++seed);
+            player.reset();
+        }
+        return game.step(player.decide(game));
+    }
+}
@@ -0,0 +1,83 @@
+package com.snake.benchmarks;
+
+import com.snake.ai.HamiltonianCycle;
+import com.snake.entities.Direction;
+import com.snake.entities.Snake;
+import com.snake.game.GameEngine;
+import com.snake.game.GameState;
+import com.snake.utils.GameConfig;
+
+/**
+ * Builds reproducible game states for the benchmarks
+ */
+final class BenchmarkBoards {
+
+    // Private constructor
+    private BenchmarkBoards() {
+        // Empty to prevents instantiation
+    }
+
+    /**
+     * Square grid of the given size with default settings
+     */
+    static GameConfig grid(int size) {
+        if (size % 2 != 0) {
+            throw new IllegalArgumentException("The benchmark cycle needs an even grid size");
+        }
+        return GameConfig.defaults().withGridSize(size, size);
+    }
+
+    /**
+     * Direction along the fixed Hamiltonian cycle of the grid
+     * The initial snake already lies on it, so following it never collides
+     */
+    static Direction cycleDirection(GameConfig config, int x, int y) {
+        return HamiltonianCycle.direction(config.getGridWidth(), config.getGridHeight(), x, y);
+    }
+
+    /**
+     * Steps the engine along the cycle for one tick
+     */
+    static void stepAlongCycle(GameEngine engine) {
+        Snake snake = engine.getSnake();
+        engine.step(cycleDirection(engine.getConfig(), snake.getHeadX(), snake.getHeadY()));
+    }
+
+    /**
+     * Creates a snake of the given length lying on the cycle, without playing a game
+     */
+    static Snake snakeWithLength(GameConfig config, int length) {
+        checkLength(config, length);
+
+        Snake snake = new Snake(config);
+        while (snake.getLength() < length) {
+            snake.setDirection(cycleDirection(config, snake.getHeadX(), snake.getHeadY()));
+            snake.grow();
+            snake.move();
+        }
+        return snake;
+    }
+
+    /**
+     * Creates a seeded game whose snake has at least the given length
+     * The snake grows by eating, so keep lengths modest on big grids
+     */
+    static GameEngine engineWithLength(GameConfig config, long seed, int length) {
+        checkLength(config, length);
+
+        GameEngine engine = new GameEngine(config, seed);
+        while (engine.getSnake().getLength() < length) {
+            stepAlongCycle(engine);
+            if (engine.getGameState() != GameState.PLAYING) {
+                throw new IllegalStateException("Snake left the cycle");
+            }
+        }
+        return engine;
+    }
+
+    private static void checkLength(GameConfig config, int length) {
+        if (length >= config.getCellCount()) {
+            throw new IllegalArgumentException("Snake must leave at least one free cell");
+        }
+    }
+}
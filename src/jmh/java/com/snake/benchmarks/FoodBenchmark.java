@@ -0,0 +1,57 @@
+package com.snake.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.snake.entities.Food;
+import com.snake.entities.Snake;
+import com.snake.utils.GameConfig;
+import com.snake.utils.XorShiftRandom;
+
+/**
+ * Cost of placing food as the board fills up
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FoodBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int gridSize;
+
+    // Share of the board covered by the snake
+    @Param({"0.01", "0.5", "0.9", "0.99"})
+    private double fillRatio;
+
+    private Snake snake;
+    private Food food;
+
+    @Setup
+    public void setUp() {
+        GameConfig config = BenchmarkBoards.grid(gridSize);
+        int cells = config.getCellCount();
+        int length = Math.max(config.getInitialSnakeLength(), Math.min(cells - 1, (int) (cells * fillRatio)));
+        snake = BenchmarkBoards.snakeWithLength(config, length);
+        food = new Food(config, new XorShiftRandom(2L));
+    }
+
+    @Benchmark
+    public int respawn() {
+        food.respawn(snake);
+        return food.getX();
+    }
+}
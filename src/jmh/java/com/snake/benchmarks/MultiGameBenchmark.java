@@ -0,0 +1,95 @@
+package com.snake.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.snake.entities.Direction;
+import com.snake.game.GameEngine;
+import com.snake.game.GameState;
+import com.snake.sim.MultiGameEngine;
+import com.snake.utils.GameConfig;
+import com.snake.utils.XorShiftRandom;
+
+/**
+ * Env-steps per second for many games on a 20x20 grid
+ * Compares one GameEngine object per game with the struct-of-arrays engine,
+ * both fed the same pre-drawn random actions and restarting finished games
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MultiGameBenchmark {
+
+    private static final int GAMES = 4096;
+    // Rounds of pre-drawn actions, cycled through
+    private static final int ROUNDS = 64;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private MultiGameEngine multi;
+    private GameEngine[] engines;
+    private byte[][] actions;
+    private byte[] results;
+    private int round;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        GameConfig config = BenchmarkBoards.grid(20);
+        multi = new MultiGameEngine(config, GAMES, 1L);
+        engines = new GameEngine[GAMES];
+        for (int g = 0; g < GAMES; g++) {
+            engines[g] = new GameEngine(config, g);
+        }
+
+        // Mostly straight with a turn now and then
+        XorShiftRandom random = new XorShiftRandom(2L);
+        actions = new byte[ROUNDS][GAMES];
+        for (byte[] row : actions) {
+            for (int g = 0; g < GAMES; g++) {
+                row[g] = random.nextInt(4) == 0 ? (byte) random.nextInt(4) : MultiGameEngine.NO_ACTION;
+            }
+        }
+        results = new byte[GAMES];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public byte[] structOfArrays() {
+        multi.step(actions[round++ & (ROUNDS - 1)], results);
+        for (int g = 0; g < GAMES; g++) {
+            if (multi.getState(g) != GameState.PLAYING) {
+                multi.reset(g, ++seed);
+            }
+        }
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public GameEngine[] objects() {
+        byte[] row = actions[round++ & (ROUNDS - 1)];
+        for (int g = 0; g < GAMES; g++) {
+            GameEngine engine = engines[g];
+            engine.step(row[g] >= 0 ? DIRECTIONS[row[g]] : null);
+            if (engine.getGameState() != GameState.PLAYING) {
+                engine.reset(++seed);
+            }
+        }
+        return engines;
+    }
+}
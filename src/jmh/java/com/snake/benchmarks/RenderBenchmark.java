@@ -0,0 +1,79 @@
+package com.snake.benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.snake.game.GameEngine;
+import com.snake.game.GameRenderer;
+import com.snake.game.GameState;
+import com.snake.utils.GameConfig;
+
+/**
+ * Cost of drawing one frame of the game panel into an offscreen image
+ * paint draws frames between ticks, tickAndPaint advances the game before every frame
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+    @Param({"20", "100"})
+    private int gridSize;
+
+    @Param({"3", "100", "390"})
+    private int length;
+
+    private GameEngine engine;
+    private GameRenderer renderer;
+    private BufferedImage image;
+    private Graphics2D g2d;
+    private long seed = 1L;
+
+    @Setup
+    public void setUp() {
+        GameConfig config = BenchmarkBoards.grid(gridSize);
+        engine = BenchmarkBoards.engineWithLength(config, seed, length);
+        renderer = new GameRenderer(config);
+        image = new BufferedImage(config.getGameWidth(), config.getGameHeight(), BufferedImage.TYPE_INT_RGB);
+        g2d = image.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2d.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paint() {
+        renderer.render(g2d, engine);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage tickAndPaint() {
+        BenchmarkBoards.stepAlongCycle(engine);
+        if (engine.getGameState() != GameState.PLAYING) {
+            // Board filled up, start another game
+            engine.reset(++seed);
+        }
+        renderer.render(g2d, engine);
+        return image;
+    }
+}
@@ -0,0 +1,61 @@
+package com.snake.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.snake.sim.BatchSimulator;
+import com.snake.sim.GreedyController;
+import com.snake.sim.SimulationStats;
+
+/**
+ * Games per second of the batch simulator, compare threads=1 with more to check scaling
+ * threads=0 uses every available core
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimulationBenchmark {
+
+    private static final int GAMES = 2000;
+
+    @Param({"1", "2", "4", "0"})
+    private int threads;
+
+    private ForkJoinPool pool;
+    private BatchSimulator simulator;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        simulator = new BatchSimulator(BenchmarkBoards.grid(20), 100000L, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public SimulationStats batch() {
+        return simulator.run(GAMES, ++seed, GreedyController.FACTORY, null);
+    }
+}
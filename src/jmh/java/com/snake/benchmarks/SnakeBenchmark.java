@@ -0,0 +1,58 @@
+package com.snake.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.snake.entities.Snake;
+import com.snake.utils.GameConfig;
+
+/**
+ * Cost of moving the snake and checking it for self collision
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnakeBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int gridSize;
+
+    @Param({"3", "100", "390"})
+    private int length;
+
+    private GameConfig config;
+    private Snake snake;
+
+    @Setup
+    public void setUp() {
+        config = BenchmarkBoards.grid(gridSize);
+        snake = BenchmarkBoards.snakeWithLength(config, length);
+    }
+
+    @Benchmark
+    public int move() {
+        // Follow the cycle so the snake can move forever without dying
+        snake.setDirection(BenchmarkBoards.cycleDirection(config, snake.getHeadX(), snake.getHeadY()));
+        snake.move();
+        return snake.getHeadX();
+    }
+
+    @Benchmark
+    public boolean hasCollideWithSelf() {
+        return snake.hasCollideWithSelf();
+    }
+}
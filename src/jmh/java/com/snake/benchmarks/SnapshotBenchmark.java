@@ -0,0 +1,70 @@
+package com.snake.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.snake.game.GameEngine;
+import com.snake.game.SnapshotCodec;
+import com.snake.game.TickResult;
+
+/**
+ * Snapshot and restore time on a 100x100 grid
+ * fork() is what a search does per branch: restore a saved position, then play a tick from it
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+
+    private static final int GRID_SIZE = 100;
+
+    @Param({"10", "1000"})
+    private int length;
+
+    private final SnapshotCodec codec = new SnapshotCodec();
+    private GameEngine engine;
+    private GameEngine fork;
+    private byte[] buffer;
+    private byte[] snapshot;
+
+    @Setup
+    public void setUp() {
+        engine = BenchmarkBoards.engineWithLength(BenchmarkBoards.grid(GRID_SIZE), 42L, length);
+        fork = BenchmarkBoards.engineWithLength(BenchmarkBoards.grid(GRID_SIZE), 7L, length);
+        buffer = new byte[SnapshotCodec.maxSize(engine.getConfig())];
+        snapshot = codec.snapshot(engine);
+        System.out.println();
+        System.out.println("Snapshot of a " + length + " segment snake: " + snapshot.length + " bytes");
+    }
+
+    @Benchmark
+    public int snapshot() {
+        return codec.snapshot(engine, buffer, 0);
+    }
+
+    @Benchmark
+    public GameEngine restore() {
+        codec.restore(fork, snapshot);
+        return fork;
+    }
+
+    @Benchmark
+    public TickResult fork() {
+        codec.restore(fork, snapshot);
+        return fork.step(null);
+    }
+}
@@ -0,0 +1,51 @@
+package com.snake.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.snake.game.GameEngine;
+import com.snake.game.GameState;
+
+/**
+ * Full engine ticks per second, including eating, growing and food placement
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TickBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int gridSize;
+
+    private GameEngine engine;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        engine = new GameEngine(BenchmarkBoards.grid(gridSize), seed);
+    }
+
+    @Benchmark
+    public long tick() {
+        BenchmarkBoards.stepAlongCycle(engine);
+        if (engine.getGameState() != GameState.PLAYING) {
+            // Board filled up, start another game
+            engine.reset(++seed);
+        }
+        return engine.getTick();
+    }
+}
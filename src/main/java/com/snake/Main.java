@@ -3,16 +3,36 @@ package com.snake;
 import javax.swing.SwingUtilities;
 
 import com.snake.game.GameFrame;
+import com.snake.utils.GameConfig;
+import com.snake.utils.GameLog;
+import com.snake.utils.SoundManager;
+import com.snake.utils.StartupTimer;
 
 public class Main {
 
     public static void main(String[] args) {
+        StartupTimer.markStart();
+
+        // Read grid size, speed, etc. from config file, properties and arguments
+        final GameConfig config;
+        try {
+            config = GameConfig.load(args);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid settings: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        GameLog.setLevel(config.getLogLevel());
+
+        // Start decoding sounds in the background while the window is built
+        SoundManager.getInstance();
+
         // Run on Swing's Event Dispatch Thread
         SwingUtilities.invokeLater(new Runnable() {
             @Override
             public void run() {
                 // Create the game window
-                new GameFrame();
+                new GameFrame(config);
             }
         });
     }
@@ -0,0 +1,270 @@
+package com.snake.ai;
+
+import com.snake.entities.Direction;
+import com.snake.entities.Snake;
+import com.snake.game.Controller;
+import com.snake.game.GameEngine;
+import com.snake.game.GameState;
+import com.snake.utils.GameConfig;
+
+/**
+ * Bot that plays by shortest-path search
+ *
+ * Each decision tries, in order:
+ * 1. the shortest path to the food, if the tail is still reachable once the
+ *    snake has eaten (checked on a simulated body)
+ * 2. chasing its own tail the long way round, to wait for a safer food
+ * 3. the Hamiltonian cycle of the grid
+ * 4. any move that does not die right away
+ * A safe path is followed without searching again until the food moves.
+ *
+ * All search buffers are allocated once per grid size. Visited and body
+ * marks are stamped with a generation number, so they never need clearing
+ * and a decision allocates nothing.
+ */
+public class Autopilot implements Controller {
+
+    // Creates one autopilot per game, each has its own buffers
+    public static final Controller.Factory FACTORY = new Controller.Factory() {
+        @Override
+        public Controller create(long seed) {
+            return new Autopilot();
+        }
+    };
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // ===== GRID =====
+    private int width;
+    private int height;
+
+    // ===== SEARCH BUFFERS =====
+    private int[] queue;
+    private int[] parent;
+    private int[] distance;
+    private int[] visited; // visited[cell] == visitGeneration while searching
+    private int visitGeneration;
+
+    // Cells of the real body, and of a simulated body after following a path
+    private int[] bodyMarks;
+    private int bodyGeneration;
+    private int[] simulatedMarks;
+    private int simulatedGeneration;
+
+    private int[] body; // Real body, head first
+    private int length;
+
+    // ===== CACHED PATH =====
+    private int[] path;
+    private int pathLength;
+    private int pathIndex; // Next cell to enter
+    private int pathStart; // Head cell the path starts from, not part of path[]
+    private int pathFood = -1;
+
+    @Override
+    public Direction decide(GameEngine engine) {
+        if (engine.getGameState() != GameState.PLAYING) {
+            return null;
+        }
+        GameConfig config = engine.getConfig();
+        ensureBuffers(config.getGridWidth(), config.getGridHeight());
+
+        Snake snake = engine.getSnake();
+        loadBody(snake);
+        int head = body[0];
+        int tail = snake.isGrowing() ? -1 : body[length - 1]; // A growing tail stays put
+        int food = engine.getFood().getX() < 0 ? -1 : cell(engine.getFood().getX(), engine.getFood().getY());
+        Direction back = snake.getDirection().getOpposite(); // The engine ignores reversing
+
+        // 0. Keep following a path that was checked when it was found
+        if (food >= 0 && food == pathFood && pathIndex < pathLength
+                && head == (pathIndex == 0 ? pathStart : path[pathIndex - 1])
+                && isFree(path[pathIndex], tail)) {
+            return towards(head, path[pathIndex++]);
+        }
+        pathFood = -1;
+
+        // 1. Shortest path to the food, if it leaves a way out
+        if (food >= 0 && search(head, food, bodyMarks, bodyGeneration, tail) >= 0) {
+            storePath(head, food);
+            if (tailReachableAfterPath(snake.isGrowing())) {
+                pathFood = food;
+                pathIndex = 0;
+                pathStart = head;
+                return towards(head, path[pathIndex++]);
+            }
+        }
+
+        // 2. Stall by chasing the tail, preferring the longest way round
+        Direction best = null;
+        int bestDistance = -1;
+        if (tail >= 0) {
+            for (Direction direction : DIRECTIONS) {
+                int next = neighbor(head, direction);
+                if (direction == back || !isFree(next, tail)) {
+                    continue;
+                }
+                int toTail = next == tail ? 0 : search(next, tail, bodyMarks, bodyGeneration, tail);
+                if (toTail > bestDistance) {
+                    bestDistance = toTail;
+                    best = direction;
+                }
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+
+        // 3. Hamiltonian cycle, 4. anything that survives this tick
+        if (HamiltonianCycle.exists(width, height)) {
+            Direction cycle = HamiltonianCycle.direction(width, height, head % width, head / width);
+            if (cycle != back && isFree(neighbor(head, cycle), tail)) {
+                return cycle;
+            }
+        }
+        for (Direction direction : DIRECTIONS) {
+            if (direction != back && isFree(neighbor(head, direction), tail)) {
+                return direction;
+            }
+        }
+        return null; // Trapped
+    }
+
+    /**
+     * Drops the cached path, e.g. before reusing the autopilot for another game
+     */
+    public void reset() {
+        pathFood = -1;
+    }
+
+    /**
+     * Breadth-first search over free cells
+     * @param passable A marked cell that may still be entered (the moving tail), or -1
+     * @return Steps from start to target, or -1 when unreachable
+     */
+    private int search(int start, int target, int[] marks, int generation, int passable) {
+        visitGeneration++;
+        int readIndex = 0;
+        int writeIndex = 0;
+        queue[writeIndex++] = start;
+        visited[start] = visitGeneration;
+        distance[start] = 0;
+
+        while (readIndex < writeIndex) {
+            int current = queue[readIndex++];
+            if (current == target) {
+                return distance[current];
+            }
+            for (Direction direction : DIRECTIONS) {
+                int next = neighbor(current, direction);
+                if (next < 0 || visited[next] == visitGeneration
+                        || (marks[next] == generation && next != passable)) {
+                    continue;
+                }
+                visited[next] = visitGeneration;
+                parent[next] = current;
+                distance[next] = distance[current] + 1;
+                queue[writeIndex++] = next;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copies the path the last search found into path[], start excluded
+     */
+    private void storePath(int start, int target) {
+        pathLength = distance[target];
+        int current = target;
+        for (int i = pathLength - 1; i >= 0; i--) {
+            path[i] = current;
+            current = parent[current];
+        }
+    }
+
+    /**
+     * Simulates following path[] and eating, then checks the tail can still be reached
+     */
+    private boolean tailReachableAfterPath(boolean growing) {
+        // The body grows by one for the food, plus one if it was already growing
+        int newLength = Math.min(length + 1 + (growing ? 1 : 0), pathLength + length);
+
+        // New body: path cells from the food backwards, then the old body
+        simulatedGeneration++;
+        int newTail = -1;
+        for (int i = 0; i < newLength; i++) {
+            int cell = i < pathLength ? path[pathLength - 1 - i] : body[i - pathLength];
+            simulatedMarks[cell] = simulatedGeneration;
+            newTail = cell;
+        }
+        return newLength >= width * height
+                || search(path[pathLength - 1], newTail, simulatedMarks, simulatedGeneration, newTail) >= 0;
+    }
+
+    private void loadBody(Snake snake) {
+        length = snake.getLength();
+        bodyGeneration++;
+        int x = snake.getHeadX();
+        int y = snake.getHeadY();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                Direction link = snake.getLink(i);
+                x += link.getDx();
+                y += link.getDy();
+            }
+            int cell = cell(x, y);
+            body[i] = cell;
+            bodyMarks[cell] = bodyGeneration;
+        }
+    }
+
+    private void ensureBuffers(int gridWidth, int gridHeight) {
+        if (queue != null && gridWidth == width && gridHeight == height) {
+            return;
+        }
+        width = gridWidth;
+        height = gridHeight;
+        int cells = width * height;
+        queue = new int[cells];
+        parent = new int[cells];
+        distance = new int[cells];
+        visited = new int[cells];
+        bodyMarks = new int[cells];
+        simulatedMarks = new int[cells];
+        body = new int[cells];
+        path = new int[cells];
+        visitGeneration = 0;
+        bodyGeneration = 0;
+        simulatedGeneration = 0;
+        pathFood = -1;
+    }
+
+    private boolean isFree(int cell, int tail) {
+        return cell >= 0 && (!isMarked(bodyMarks, bodyGeneration, cell) || cell == tail);
+    }
+
+    private static boolean isMarked(int[] marks, int generation, int cell) {
+        return marks[cell] == generation;
+    }
+
+    /**
+     * Cell next to the given one, or -1 past the edge of the grid
+     */
+    private int neighbor(int cell, Direction direction) {
+        int x = cell % width + direction.getDx();
+        int y = cell / width + direction.getDy();
+        return x >= 0 && x < width && y >= 0 && y < height ? cell(x, y) : -1;
+    }
+
+    private Direction towards(int from, int to) {
+        int dx = to % width - from % width;
+        if (dx != 0) {
+            return dx > 0 ? Direction.RIGHT : Direction.LEFT;
+        }
+        return to > from ? Direction.DOWN : Direction.UP;
+    }
+
+    private int cell(int x, int y) {
+        return y * width + x;
+    }
+}
@@ -0,0 +1,65 @@
+package com.snake.ai;
+
+import com.snake.entities.Direction;
+
+/**
+ * A fixed cycle through every cell of the grid
+ * Following it can never collide, whatever the snake's length
+ *
+ * Row 0 runs right, rows 1..H-1 snake back and forth over columns 1..W-1
+ * and column 0 leads back up. That needs an even height; grids with an
+ * even width use the same cycle transposed. Grids with an odd number of
+ * cells have no Hamiltonian cycle at all.
+ */
+public final class HamiltonianCycle {
+
+    // Private constructor
+    private HamiltonianCycle() {
+        // Empty to prevents instantiation
+    }
+
+    /**
+     * Checks if the grid has a cycle
+     */
+    public static boolean exists(int width, int height) {
+        return width >= 2 && height >= 2 && (height % 2 == 0 || width % 2 == 0);
+    }
+
+    /**
+     * Direction that continues the cycle from the given cell
+     * @throws IllegalArgumentException if the grid has no cycle
+     */
+    public static Direction direction(int width, int height, int x, int y) {
+        if (height % 2 == 0 && width >= 2) {
+            return rowsDirection(width, height, x, y);
+        }
+        if (!exists(width, height)) {
+            throw new IllegalArgumentException("No Hamiltonian cycle on a " + width + "x" + height + " grid");
+        }
+
+        // Same cycle with rows and columns swapped
+        switch (rowsDirection(height, width, y, x)) {
+            case RIGHT: return Direction.DOWN;
+            case DOWN:  return Direction.RIGHT;
+            case LEFT:  return Direction.UP;
+            default:    return Direction.LEFT;
+        }
+    }
+
+    private static Direction rowsDirection(int width, int height, int x, int y) {
+        int lastX = width - 1;
+        int lastY = height - 1;
+
+        if (y == 0) {
+            return x < lastX ? Direction.RIGHT : Direction.DOWN;
+        }
+        if (x == 0) {
+            return Direction.UP;
+        }
+        if (y % 2 == 1) {
+            // Odd rows run left, the last row continues into column 0
+            return x > 1 || y == lastY ? Direction.LEFT : Direction.DOWN;
+        }
+        return x < lastX ? Direction.RIGHT : Direction.DOWN;
+    }
+}
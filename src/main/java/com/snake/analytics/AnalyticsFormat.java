@@ -0,0 +1,24 @@
+package com.snake.analytics;
+
+/**
+ * Layout of an analytics file
+ *
+ * Header: magic (int), version (byte)
+ * Then chunks until the end of the file, each: number of events (int),
+ * length before compression (int), compressed length (int) and the
+ * deflated columns as written by ChunkCodec
+ * A file cut off inside a chunk is still readable up to the chunk before
+ */
+final class AnalyticsFormat {
+
+    static final int MAGIC = 0x534E4B41; // "SNKA"
+    static final int VERSION = 1;
+
+    // Most events per chunk, the reader's batch must hold this many
+    static final int CHUNK_EVENTS = 65536;
+
+    // Private constructor
+    private AnalyticsFormat() {
+        // Empty to prevents instantiation
+    }
+}
@@ -0,0 +1,79 @@
+package com.snake.analytics;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads an analytics file one chunk at a time
+ *
+ * Chunks are decoded into a caller's EventBatch, which is reused from one
+ * chunk to the next, so scanning a file allocates nothing per event.
+ */
+public class AnalyticsReader implements Closeable {
+
+    private final DataInputStream in;
+    private final ChunkCodec codec = new ChunkCodec();
+
+    /**
+     * Opens a file and checks its header
+     * @param in Source, closed together with the reader
+     */
+    public AnalyticsReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        if (this.in.readInt() != AnalyticsFormat.MAGIC) {
+            throw new IOException("Not an analytics file");
+        }
+        int version = this.in.readUnsignedByte();
+        if (version != AnalyticsFormat.VERSION) {
+            throw new IOException("Unsupported analytics version: " + version);
+        }
+    }
+
+    /**
+     * A batch big enough for any chunk
+     */
+    public static EventBatch newBatch() {
+        return new EventBatch(AnalyticsFormat.CHUNK_EVENTS);
+    }
+
+    /**
+     * Reads the next chunk, replacing the batch's contents
+     * @param batch Receives the events, see newBatch()
+     * @return false at the end of the file, or when it ends inside a chunk
+     * @throws IOException if a chunk is damaged
+     */
+    public boolean next(EventBatch batch) throws IOException {
+        int events;
+        try {
+            events = in.readInt();
+        } catch (EOFException e) {
+            return false;
+        }
+
+        try {
+            int rawLength = in.readInt();
+            int compressedLength = in.readInt();
+            // Checked before anything is allocated, a damaged header must not ask for gigabytes
+            if (events < 0 || events > AnalyticsFormat.CHUNK_EVENTS
+                    || rawLength < 0 || rawLength > ChunkCodec.MAX_RAW_BYTES
+                    || compressedLength < 0 || compressedLength > ChunkCodec.MAX_COMPRESSED_BYTES) {
+                throw new IOException("Bad chunk header");
+            }
+            in.readFully(codec.compressedBuffer(compressedLength), 0, compressedLength);
+            codec.decode(events, rawLength, compressedLength, batch);
+            return true;
+        } catch (EOFException e) {
+            return false; // Cut off while the chunk was written
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        codec.end();
+        in.close();
+    }
+}
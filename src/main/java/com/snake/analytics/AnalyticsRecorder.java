@@ -0,0 +1,165 @@
+package com.snake.analytics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.locks.LockSupport;
+
+import com.snake.entities.Snake;
+import com.snake.game.GameEngine;
+import com.snake.game.TickResult;
+
+/**
+ * Streams the ticks of a game session to an analytics file
+ *
+ * The game loop thread records each tick into a lock-free ring, which costs
+ * a few array stores. A background thread drains the ring into an
+ * EventBatch and writes it as one chunk when it is full or has been
+ * collecting for CHUNK_NANOS, so a crash loses at most that much.
+ * If the writer falls behind and the ring fills up, events are dropped
+ * rather than slowing the game down.
+ */
+public class AnalyticsRecorder implements Closeable {
+
+    // Events waiting for the writer, about 40 seconds at 400 ticks per second
+    private static final int RING_CAPACITY = 16384;
+
+    // How often the writer looks for events, and the longest a chunk collects them
+    private static final long DRAIN_NANOS = 20000000L;
+    private static final long CHUNK_NANOS = 10000000000L;
+
+    private final EventRing ring = new EventRing(RING_CAPACITY);
+    private final AnalyticsWriter writer;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile IOException failure;
+
+    // Writer thread only
+    private final EventBatch batch = new EventBatch(AnalyticsFormat.CHUNK_EVENTS);
+    private long batchStart;
+
+    /**
+     * Starts the writer thread
+     * @param out Destination, closed by close()
+     */
+    public AnalyticsRecorder(OutputStream out) throws IOException {
+        writer = new AnalyticsWriter(out);
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drainLoop();
+            }
+        }, "analytics-writer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    // ===== GAME LOOP SIDE =====
+
+    /**
+     * Records the tick the engine just played, game loop thread only
+     * Call with the engine lock held, before anything else can change it
+     * Never blocks, an event that does not fit is dropped
+     * @param autopilot true if the autopilot steered this tick
+     */
+    public void record(GameEngine engine, TickResult result, boolean autopilot) {
+        Snake snake = engine.getSnake();
+        EventKind kind = EventKind.of(result, snake.hasCollideWithWall());
+        if (kind == null) {
+            return;
+        }
+        ring.offer(engine.getTick(), snake.getHeadX(), snake.getHeadY(), snake.getDirection().ordinal(),
+                kind.ordinal() | (autopilot ? EventBatch.AUTOPILOT_FLAG : 0));
+    }
+
+    // ===== WRITER THREAD =====
+
+    private void drainLoop() {
+        try {
+            while (running) {
+                drain();
+                if (batch.size() > 0 && System.nanoTime() - batchStart >= CHUNK_NANOS) {
+                    writeBatch();
+                    writer.flush();
+                }
+                LockSupport.parkNanos(this, DRAIN_NANOS);
+            }
+            // Stopped, whatever the game recorded before is in the ring
+            drain();
+            writeBatch();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Moves the ring into the batch, writing full batches as they fill up
+     */
+    private void drain() throws IOException {
+        while (!ring.isEmpty()) {
+            if (batch.size() == 0) {
+                batchStart = System.nanoTime();
+            }
+            ring.drainTo(batch);
+            if (batch.isFull()) {
+                writeBatch();
+            }
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        writer.write(batch);
+        batch.clear();
+    }
+
+    /**
+     * Stops the writer thread after it wrote every recorded event, and closes the file
+     * Call after the game loop stopped recording
+     * @throws IOException if writing failed at any point
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // GETTERS
+
+    /**
+     * Events written to the file so far
+     */
+    public long getWritten() {
+        return writer.getEvents();
+    }
+
+    /**
+     * Events dropped because the writer fell behind
+     */
+    public long getDropped() {
+        return ring.getDropped();
+    }
+
+    /**
+     * Compressed bytes written so far
+     */
+    public long getBytes() {
+        return writer.getBytes();
+    }
+
+    @Override
+    public String toString() {
+        long written = getWritten();
+        return String.format("events=%d dropped=%d bytes=%d (%.2f per event)", written, getDropped(), getBytes(),
+                written == 0 ? 0.0 : (double) getBytes() / written);
+    }
+}
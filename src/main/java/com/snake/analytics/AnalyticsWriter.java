@@ -0,0 +1,75 @@
+package com.snake.analytics;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes batches of events as compressed columnar chunks
+ */
+public class AnalyticsWriter implements Closeable {
+
+    private final DataOutputStream out;
+    private final ChunkCodec codec = new ChunkCodec();
+    private long events;
+    private long bytes;
+
+    /**
+     * Starts a file and writes its header
+     * @param out Destination, closed together with the writer
+     */
+    public AnalyticsWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.out.writeInt(AnalyticsFormat.MAGIC);
+        this.out.writeByte(AnalyticsFormat.VERSION);
+    }
+
+    /**
+     * Writes the batch as one chunk, an empty batch writes nothing
+     * @throws IllegalArgumentException if the batch holds more than a chunk
+     */
+    public void write(EventBatch batch) throws IOException {
+        if (batch.size() == 0) {
+            return;
+        }
+        if (batch.size() > AnalyticsFormat.CHUNK_EVENTS) {
+            throw new IllegalArgumentException("A chunk holds at most " + AnalyticsFormat.CHUNK_EVENTS
+                    + " events: " + batch.size());
+        }
+
+        int length = codec.encode(batch);
+        out.writeInt(batch.size());
+        out.writeInt(codec.getRawLength());
+        out.writeInt(length);
+        out.write(codec.getCompressed(), 0, length);
+        events += batch.size();
+        bytes += 12 + length;
+    }
+
+    /**
+     * Pushes written chunks to the file
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        codec.end();
+        out.close();
+    }
+
+    // GETTERS
+    public long getEvents() {
+        return events;
+    }
+
+    /**
+     * Bytes written for chunks, headers included
+     */
+    public long getBytes() {
+        return bytes;
+    }
+}
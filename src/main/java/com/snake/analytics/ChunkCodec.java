@@ -0,0 +1,282 @@
+package com.snake.analytics;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.snake.utils.VarInt;
+
+/**
+ * Turns an EventBatch into one compressed chunk and back
+ *
+ * Each column is encoded on its own, then the columns are deflated together:
+ * ticks and head coordinates as zigzag varint deltas from the previous event,
+ * which are almost always one byte (+1 tick, -1/0/+1 cell), directions and
+ * kinds as runs of (value, varint length), since they rarely change.
+ * Every column is preceded by its length in bytes.
+ *
+ * Buffers are kept between calls, so an instance is not thread safe.
+ */
+final class ChunkCodec {
+
+    // Longest event: tick delta, x and y deltas of 32 bits, a run of one for direction and kind
+    private static final int MAX_EVENT_BYTES = VarInt.MAX_BYTES + 2 * VarInt.length(0xFFFFFFFFL)
+            + 2 * (1 + VarInt.MAX_BYTES);
+
+    // Longest chunk before compression, five columns each led by their length
+    static final int MAX_RAW_BYTES = AnalyticsFormat.CHUNK_EVENTS * MAX_EVENT_BYTES + 5 * VarInt.MAX_BYTES;
+
+    // Longest chunk after compression, deflate grows data it cannot compress by a little (zlib's compressBound)
+    static final int MAX_COMPRESSED_BYTES = MAX_RAW_BYTES + (MAX_RAW_BYTES >> 12) + (MAX_RAW_BYTES >> 14) + 64;
+
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private final Inflater inflater = new Inflater();
+
+    private byte[] column = new byte[0];
+    private int columnLength;
+    private byte[] raw = new byte[0];
+    private int rawLength;
+    private byte[] compressed = new byte[0];
+    private int position;
+
+    // ===== ENCODING =====
+
+    /**
+     * Encodes and compresses a batch, the result stays valid until the next call
+     * @return Length of the compressed chunk in getCompressed()
+     */
+    int encode(EventBatch batch) {
+        int size = batch.size;
+        rawLength = 0;
+
+        columnLength = 0;
+        long previousTick = 0;
+        for (int i = 0; i < size; i++) {
+            writeSigned(batch.ticks[i] - previousTick);
+            previousTick = batch.ticks[i];
+        }
+        appendColumn();
+
+        encodeDeltas(batch.xs, size);
+        encodeDeltas(batch.ys, size);
+        encodeRuns(batch.directions, size);
+        encodeRuns(batch.kinds, size);
+
+        deflater.reset();
+        deflater.setInput(raw, 0, rawLength);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = grow(compressed, length + 1);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        return length;
+    }
+
+    private void encodeDeltas(int[] values, int size) {
+        columnLength = 0;
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            writeSigned(values[i] - previous);
+            previous = values[i];
+        }
+        appendColumn();
+    }
+
+    private void encodeRuns(byte[] values, int size) {
+        columnLength = 0;
+        int i = 0;
+        while (i < size) {
+            byte value = values[i];
+            int run = 1;
+            while (i + run < size && values[i + run] == value) {
+                run++;
+            }
+            ensureColumn(1 + VarInt.MAX_BYTES);
+            column[columnLength++] = value;
+            writeUnsigned(run);
+            i += run;
+        }
+        appendColumn();
+    }
+
+    private void writeSigned(long value) {
+        writeUnsigned(VarInt.encodeZigZag(value));
+    }
+
+    private void writeUnsigned(long value) {
+        ensureColumn(VarInt.MAX_BYTES);
+        columnLength = VarInt.write(column, columnLength, value);
+    }
+
+    /**
+     * Adds the finished column to the raw chunk, after its length
+     */
+    private void appendColumn() {
+        if (raw.length - rawLength < columnLength + VarInt.MAX_BYTES) {
+            raw = grow(raw, rawLength + columnLength + VarInt.MAX_BYTES);
+        }
+        rawLength = VarInt.write(raw, rawLength, columnLength);
+        System.arraycopy(column, 0, raw, rawLength, columnLength);
+        rawLength += columnLength;
+    }
+
+    private void ensureColumn(int extra) {
+        if (column.length - columnLength < extra) {
+            column = grow(column, columnLength + extra);
+        }
+    }
+
+    /**
+     * Compressed bytes of the last encode(), or the buffer to fill before decode()
+     */
+    byte[] getCompressed() {
+        return compressed;
+    }
+
+    /**
+     * Length of the last chunk before compression
+     */
+    int getRawLength() {
+        return rawLength;
+    }
+
+    /**
+     * Makes sure getCompressed() can take a chunk of the given length
+     */
+    byte[] compressedBuffer(int length) {
+        if (compressed.length < length) {
+            compressed = new byte[length];
+        }
+        return compressed;
+    }
+
+    // ===== DECODING =====
+
+    /**
+     * Inflates and decodes the chunk in getCompressed() into a batch, replacing its contents
+     * @param events Number of events in the chunk
+     * @param rawLength Length of the chunk before compression
+     * @param compressedLength Length of the compressed chunk
+     * @throws IOException if the chunk is damaged
+     */
+    void decode(int events, int rawLength, int compressedLength, EventBatch batch) throws IOException {
+        if (events < 0 || events > batch.getCapacity()) {
+            throw new IOException("Chunk holds " + events + " events, the batch only " + batch.getCapacity());
+        }
+        if (rawLength < 0 || rawLength > MAX_RAW_BYTES) {
+            throw new IOException("Bad chunk length: " + rawLength);
+        }
+        if (raw.length < rawLength) {
+            raw = new byte[rawLength];
+        }
+        this.rawLength = rawLength;
+
+        inflater.reset();
+        inflater.setInput(compressed, 0, compressedLength);
+        try {
+            int inflated = 0;
+            while (inflated < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, inflated, rawLength - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += n;
+            }
+            if (inflated != rawLength) {
+                throw new IOException("Chunk inflates to " + inflated + " bytes instead of " + rawLength);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Damaged chunk: " + e.getMessage(), e);
+        }
+
+        position = 0;
+        decodeTicks(batch.ticks, events);
+        decodeDeltas(batch.xs, events);
+        decodeDeltas(batch.ys, events);
+        decodeRuns(batch.directions, events);
+        decodeRuns(batch.kinds, events);
+        batch.size = events;
+    }
+
+    private void decodeTicks(long[] values, int events) throws IOException {
+        int end = columnEnd();
+        long value = 0;
+        for (int i = 0; i < events; i++) {
+            value += readSigned();
+            values[i] = value;
+        }
+        checkColumnEnd(end);
+    }
+
+    private void decodeDeltas(int[] values, int events) throws IOException {
+        int end = columnEnd();
+        int value = 0;
+        for (int i = 0; i < events; i++) {
+            value += (int) readSigned();
+            values[i] = value;
+        }
+        checkColumnEnd(end);
+    }
+
+    private void decodeRuns(byte[] values, int events) throws IOException {
+        int end = columnEnd();
+        int i = 0;
+        while (i < events) {
+            if (position >= end) {
+                throw new IOException("Run column ends early");
+            }
+            byte value = raw[position++];
+            long run = readUnsigned();
+            if (run < 1 || run > events - i) {
+                throw new IOException("Bad run length: " + run);
+            }
+            int stop = i + (int) run;
+            while (i < stop) {
+                values[i++] = value;
+            }
+        }
+        checkColumnEnd(end);
+    }
+
+    private int columnEnd() throws IOException {
+        long length = readUnsigned();
+        if (length > rawLength - position) {
+            throw new IOException("Column runs past the chunk");
+        }
+        return position + (int) length;
+    }
+
+    private void checkColumnEnd(int end) throws IOException {
+        if (position != end) {
+            throw new IOException("Column length does not match its contents");
+        }
+    }
+
+    private long readSigned() throws IOException {
+        return VarInt.decodeZigZag(readUnsigned());
+    }
+
+    private long readUnsigned() throws IOException {
+        long value = VarInt.read(raw, position, rawLength);
+        position += VarInt.length(value);
+        return value;
+    }
+
+    private static byte[] grow(byte[] array, int minLength) {
+        byte[] bigger = new byte[Math.max(minLength, Math.max(256, array.length * 2))];
+        System.arraycopy(array, 0, bigger, 0, array.length);
+        return bigger;
+    }
+
+    /**
+     * Frees the native zlib memory
+     */
+    void end() {
+        deflater.end();
+        inflater.end();
+    }
+}
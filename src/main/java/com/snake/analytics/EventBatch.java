@@ -0,0 +1,118 @@
+package com.snake.analytics;
+
+import com.snake.entities.Direction;
+
+/**
+ * A run of tick events stored column by column
+ *
+ * Each field has its own primitive array, so writing, encoding and scanning
+ * a batch touches no objects. Batches are meant to be reused: the recorder
+ * fills one per chunk and the reader refills one per chunk.
+ */
+public class EventBatch {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // Kind byte: EventKind ordinal in the low bits, this bit set while the autopilot steered
+    static final int AUTOPILOT_FLAG = 0x80;
+    static final int KIND_MASK = 0x7F;
+
+    final long[] ticks;
+    final int[] xs;
+    final int[] ys;
+    final byte[] directions;
+    final byte[] kinds;
+    int size;
+
+    /**
+     * Creates an empty batch
+     * @param capacity Events it can hold
+     */
+    public EventBatch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Batch capacity must be positive: " + capacity);
+        }
+        ticks = new long[capacity];
+        xs = new int[capacity];
+        ys = new int[capacity];
+        directions = new byte[capacity];
+        kinds = new byte[capacity];
+    }
+
+    /**
+     * Adds an event at the end
+     * @return false if the batch is full
+     */
+    public boolean add(long tick, int x, int y, Direction direction, EventKind kind, boolean autopilot) {
+        if (size == ticks.length) {
+            return false;
+        }
+        ticks[size] = tick;
+        xs[size] = x;
+        ys[size] = y;
+        directions[size] = (byte) direction.ordinal();
+        kinds[size] = (byte) (kind.ordinal() | (autopilot ? AUTOPILOT_FLAG : 0));
+        size++;
+        return true;
+    }
+
+    /**
+     * Empties the batch, keeping its arrays
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    // GETTERS
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return ticks.length;
+    }
+
+    public boolean isFull() {
+        return size == ticks.length;
+    }
+
+    /**
+     * Tick of the game the event happened on, starts over with every new game
+     */
+    public long getTick(int index) {
+        return ticks[check(index)];
+    }
+
+    /**
+     * Head column after the move, outside the board when the snake hit a wall
+     */
+    public int getX(int index) {
+        return xs[check(index)];
+    }
+
+    public int getY(int index) {
+        return ys[check(index)];
+    }
+
+    public Direction getDirection(int index) {
+        return DIRECTIONS[directions[check(index)]];
+    }
+
+    public EventKind getKind(int index) {
+        return EventKind.fromOrdinal(kinds[check(index)] & KIND_MASK);
+    }
+
+    /**
+     * Checks if the autopilot was steering on that tick
+     */
+    public boolean isAutopilot(int index) {
+        return (kinds[check(index)] & AUTOPILOT_FLAG) != 0;
+    }
+
+    private int check(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Event " + index + " of " + size);
+        }
+        return index;
+    }
+}
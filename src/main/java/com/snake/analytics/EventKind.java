@@ -0,0 +1,40 @@
+package com.snake.analytics;
+
+import com.snake.game.TickResult;
+
+/**
+ * What happened during a recorded tick
+ */
+public enum EventKind {
+    MOVED, // Snake moved one cell
+    ATE, // Snake moved and ate the food
+    DIED_WALL, // Snake ran into a wall
+    DIED_SELF, // Snake ran into itself
+    WON; // Snake ate the last food
+
+    private static final EventKind[] VALUES = values();
+
+    /**
+     * Kind of a tick result, deaths need the cause on top
+     * @param hitWall For DIED, true if the snake left the board
+     * @return The kind, or null for IDLE
+     */
+    public static EventKind of(TickResult result, boolean hitWall) {
+        switch (result) {
+            case MOVED:
+                return MOVED;
+            case ATE:
+                return ATE;
+            case DIED:
+                return hitWall ? DIED_WALL : DIED_SELF;
+            case WON:
+                return WON;
+            default:
+                return null;
+        }
+    }
+
+    static EventKind fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,108 @@
+package com.snake.analytics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free queue of tick events
+ *
+ * Single producer (the game loop thread) and single consumer (the analytics
+ * writer thread). Events live in parallel primitive arrays indexed by a
+ * running counter, each side publishes its counter with an ordered write,
+ * so recording an event is a few array stores and never blocks or
+ * allocates. When full, new events are dropped and counted.
+ */
+class EventRing {
+
+    private final long[] ticks;
+    private final int[] xs;
+    private final int[] ys;
+    private final byte[] directions;
+    private final byte[] kinds;
+    private final int mask;
+
+    // Next event to read, written by the consumer only
+    private final AtomicLong head = new AtomicLong();
+    // Next event to write, written by the producer only
+    private final AtomicLong tail = new AtomicLong();
+
+    // Producer's last look at head, refreshed only when the ring seems full
+    private long cachedHead;
+    private volatile long dropped; // Written by the producer
+
+    /**
+     * Creates an empty ring
+     * @param capacity Events it can hold, rounded up to a power of two
+     */
+    EventRing(int capacity) {
+        if (capacity < 1 || capacity > 1 << 24) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^24: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        ticks = new long[size];
+        xs = new int[size];
+        ys = new int[size];
+        directions = new byte[size];
+        kinds = new byte[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Adds an event, producer thread only
+     * @param kind EventKind ordinal, with EventBatch.AUTOPILOT_FLAG if set
+     * @return false if the ring was full and the event was dropped
+     */
+    boolean offer(long tick, int x, int y, int direction, int kind) {
+        long t = tail.get();
+        if (t - cachedHead > mask) {
+            cachedHead = head.get();
+            if (t - cachedHead > mask) {
+                dropped++;
+                return false;
+            }
+        }
+        int slot = (int) t & mask;
+        ticks[slot] = tick;
+        xs[slot] = x;
+        ys[slot] = y;
+        directions[slot] = (byte) direction;
+        kinds[slot] = (byte) kind;
+        tail.lazySet(t + 1); // Publishes the slot to the consumer
+        return true;
+    }
+
+    /**
+     * Moves waiting events into a batch until it is full, consumer thread only
+     * @return Number of events moved
+     */
+    int drainTo(EventBatch batch) {
+        long h = head.get();
+        int count = (int) Math.min(tail.get() - h, batch.getCapacity() - batch.size);
+        for (int i = 0; i < count; i++) {
+            int slot = (int) (h + i) & mask;
+            int j = batch.size + i;
+            batch.ticks[j] = ticks[slot];
+            batch.xs[j] = xs[slot];
+            batch.ys[j] = ys[slot];
+            batch.directions[j] = directions[slot];
+            batch.kinds[j] = kinds[slot];
+        }
+        batch.size += count;
+        head.lazySet(h + count); // Hands the slots back to the producer
+        return count;
+    }
+
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    /**
+     * Events dropped because the ring was full
+     */
+    long getDropped() {
+        return dropped;
+    }
+
+    int getCapacity() {
+        return mask + 1;
+    }
+}
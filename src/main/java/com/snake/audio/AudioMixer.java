@@ -0,0 +1,303 @@
+package com.snake.audio;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+import com.snake.utils.GameLog;
+
+/**
+ * Software mixer writing every sound to one output line on its own thread
+ *
+ * Game code registers decoded sounds under small ids and then only posts
+ * commands (play, stop, change gain) to a lock-free queue, which never
+ * blocks the caller. The audio thread picks them up between chunks, adds
+ * up to MAX_VOICES playing sounds into one buffer and writes it to a
+ * SourceDataLine. Writing blocks until the line has room, which is what
+ * paces the thread.
+ */
+public class AudioMixer implements Runnable {
+
+    // Output format: 44.1 kHz, 16 bit, stereo, little endian
+    public static final int CHANNELS = 2;
+    public static final AudioFormat FORMAT = new AudioFormat(44100f, 16, CHANNELS, true, false);
+
+    // Sounds playing at once, the oldest is cut off for a new one
+    public static final int MAX_VOICES = 16;
+
+    // Ids sounds can be registered under
+    public static final int MAX_SOUNDS = 64;
+
+    // Frames mixed per write, about 6ms, and chunks the line buffers ahead
+    private static final int CHUNK_FRAMES = 256;
+    private static final int LINE_CHUNKS = 4;
+
+    private static final int COMMAND_CAPACITY = 256;
+
+    // ===== COMMANDS =====
+    // Packed as type | sound << 8 | loop << 16 | gain bits << 32, type 0 is never used
+    private static final int PLAY = 1;
+    private static final int STOP = 2;
+    private static final int GAIN = 3;
+    private static final int RESTART = 4; // STOP and PLAY in one step
+
+    private final CommandQueue commands = new CommandQueue(COMMAND_CAPACITY);
+    private final AtomicReferenceArray<Sound> sounds = new AtomicReferenceArray<Sound>(MAX_SOUNDS);
+
+    // ===== VOICES, audio thread only =====
+    private final Sound[] voiceSound = new Sound[MAX_VOICES];
+    private final int[] voiceId = new int[MAX_VOICES];
+    private final int[] voicePosition = new int[MAX_VOICES]; // Next sample index
+    private final float[] voiceGain = new float[MAX_VOICES];
+    private final boolean[] voiceLoop = new boolean[MAX_VOICES];
+    private final long[] voiceStart = new long[MAX_VOICES];
+    private long voiceSerial;
+
+    private final float[] mix = new float[CHUNK_FRAMES * CHANNELS];
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Makes a sound playable under an id, from any thread
+     * Commands for an id with no sound yet are ignored
+     */
+    public void setSound(int id, Sound sound) {
+        sounds.set(checkId(id), sound);
+    }
+
+    public Sound getSound(int id) {
+        return sounds.get(checkId(id));
+    }
+
+    // ===== GAME SIDE =====
+
+    /**
+     * Starts a sound on a free voice, never blocks
+     * @param id The sound
+     * @param gain Linear amplitude factor, 1.0 plays the sound as recorded
+     * @param loop true to repeat until stopped
+     * @return false if the command queue was full and the sound was dropped
+     */
+    public boolean play(int id, float gain, boolean loop) {
+        return commands.offer(pack(PLAY, checkId(id), loop, gain));
+    }
+
+    /**
+     * Stops every voice playing the sound and starts it once more, never blocks
+     * Unlike stopSound() followed by play(), racing callers still leave a single voice
+     */
+    public boolean restart(int id, float gain, boolean loop) {
+        return commands.offer(pack(RESTART, checkId(id), loop, gain));
+    }
+
+    /**
+     * Stops every voice playing the sound, never blocks
+     */
+    public boolean stopSound(int id) {
+        return commands.offer(pack(STOP, checkId(id), false, 0f));
+    }
+
+    /**
+     * Changes the gain of every voice playing the sound, never blocks
+     */
+    public boolean setGain(int id, float gain) {
+        return commands.offer(pack(GAIN, checkId(id), false, gain));
+    }
+
+    /**
+     * Converts a volume slider position to a linear gain
+     * Follows the curve the game always used: 20 * ln(volume) decibels, down to -80 dB
+     * @param volume 0.0 (silent) to 1.0 (as recorded)
+     */
+    public static float gainForVolume(float volume) {
+        if (volume <= 0.0f) {
+            return 0.0f;
+        }
+        double decibels = Math.max(-80.0, 20.0 * Math.log(volume));
+        return (float) Math.pow(10.0, Math.min(decibels, 6.0) / 20.0);
+    }
+
+    private static long pack(int type, int id, boolean loop, float gain) {
+        return type | (long) id << 8 | (loop ? 1L << 16 : 0L) | (long) Float.floatToIntBits(gain) << 32;
+    }
+
+    private static int checkId(int id) {
+        if (id < 0 || id >= MAX_SOUNDS) {
+            throw new IllegalArgumentException("Sound id must be between 0 and " + (MAX_SOUNDS - 1) + ": " + id);
+        }
+        return id;
+    }
+
+    // ===== AUDIO THREAD =====
+
+    /**
+     * Starts the audio thread, does nothing if already running
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "audio-mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Asks the audio thread to finish after the current chunk
+     */
+    public synchronized void shutdown() {
+        running = false;
+        thread = null;
+    }
+
+    @Override
+    public void run() {
+        SourceDataLine line;
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, CHUNK_FRAMES * LINE_CHUNKS * FORMAT.getFrameSize());
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            GameLog.warning("Audio output not available: " + e.getMessage());
+            running = false;
+            return;
+        }
+
+        byte[] chunk = new byte[CHUNK_FRAMES * FORMAT.getFrameSize()];
+        line.start();
+        try {
+            while (running) {
+                render(chunk);
+                line.write(chunk, 0, chunk.length); // Blocks until the line has room
+            }
+        } finally {
+            line.stop();
+            line.close();
+        }
+    }
+
+    /**
+     * Applies pending commands and mixes the next chunk, audio thread only
+     * @param out Receives CHUNK_FRAMES frames in FORMAT
+     * @return Number of voices that were playing
+     */
+    int render(byte[] out) {
+        applyCommands();
+
+        int frames = out.length / FORMAT.getFrameSize();
+        int samples = frames * CHANNELS;
+        for (int i = 0; i < samples; i++) {
+            mix[i] = 0f;
+        }
+
+        int playing = 0;
+        for (int v = 0; v < MAX_VOICES; v++) {
+            if (voiceSound[v] != null) {
+                mixVoice(v, samples);
+                playing++;
+            }
+        }
+
+        // Clip to 16 bits, little endian
+        for (int i = 0; i < samples; i++) {
+            int value = Math.round(mix[i]);
+            value = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+            out[2 * i] = (byte) value;
+            out[2 * i + 1] = (byte) (value >> 8);
+        }
+        return playing;
+    }
+
+    private void mixVoice(int v, int samples) {
+        short[] source = voiceSound[v].getSamples();
+        float gain = voiceGain[v];
+        int position = voicePosition[v];
+        int i = 0;
+        while (i < samples) {
+            int run = Math.min(samples - i, source.length - position);
+            for (int k = 0; k < run; k++) {
+                mix[i + k] += source[position + k] * gain;
+            }
+            i += run;
+            position += run;
+            if (position == source.length) {
+                if (!voiceLoop[v] || source.length == 0) {
+                    voiceSound[v] = null; // Finished
+                    return;
+                }
+                position = 0;
+            }
+        }
+        voicePosition[v] = position;
+    }
+
+    private void applyCommands() {
+        long command;
+        while ((command = commands.poll()) != CommandQueue.EMPTY) {
+            int type = (int) command & 0xFF;
+            int id = (int) (command >>> 8) & 0xFF;
+            boolean loop = (command & 1L << 16) != 0;
+            float gain = Float.intBitsToFloat((int) (command >>> 32));
+
+            if (type == RESTART) {
+                stopVoices(id);
+            }
+            if (type == PLAY || type == RESTART) {
+                Sound sound = sounds.get(id);
+                if (sound != null) {
+                    startVoice(id, sound, gain, loop);
+                }
+            } else if (type == STOP) {
+                stopVoices(id);
+            } else if (type == GAIN) {
+                for (int v = 0; v < MAX_VOICES; v++) {
+                    if (voiceSound[v] != null && voiceId[v] == id) {
+                        voiceGain[v] = gain;
+                    }
+                }
+            }
+        }
+    }
+
+    private void stopVoices(int id) {
+        for (int v = 0; v < MAX_VOICES; v++) {
+            if (voiceId[v] == id) {
+                voiceSound[v] = null;
+            }
+        }
+    }
+
+    /**
+     * Puts a sound on a free voice, or on the oldest one when all are busy
+     */
+    private void startVoice(int id, Sound sound, float gain, boolean loop) {
+        int chosen = 0;
+        for (int v = 0; v < MAX_VOICES; v++) {
+            if (voiceSound[v] == null) {
+                chosen = v;
+                break;
+            }
+            if (voiceStart[v] < voiceStart[chosen]) {
+                chosen = v;
+            }
+        }
+        voiceSound[chosen] = sound;
+        voiceId[chosen] = id;
+        voicePosition[chosen] = 0;
+        voiceGain[chosen] = gain;
+        voiceLoop[chosen] = loop;
+        voiceStart[chosen] = ++voiceSerial;
+    }
+
+    /**
+     * Frames in one mixed chunk, see render()
+     */
+    static int getChunkFrames() {
+        return CHUNK_FRAMES;
+    }
+}
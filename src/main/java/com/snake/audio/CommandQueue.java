@@ -0,0 +1,77 @@
+package com.snake.audio;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of mixer commands packed into longs
+ *
+ * Any thread may offer, only the mixer thread polls. Each slot carries a
+ * sequence number telling whether it is free for the producer of a given
+ * round or filled for the consumer (the array-based design by Dmitry Vyukov),
+ * so producers claim slots with one CAS and nobody blocks or allocates.
+ */
+final class CommandQueue {
+
+    // Returned by poll() when there is nothing to read, no command packs to 0
+    static final long EMPTY = 0L;
+
+    private final long[] commands;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // Mixer thread only
+
+    // Constructor
+    CommandQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        commands = new long[capacity];
+        sequences = new AtomicLongArray(capacity);
+        mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds a command, safe from any thread
+     * @return false if the queue was full and the command was dropped
+     */
+    boolean offer(long command) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    commands[slot] = command;
+                    sequences.lazySet(slot, position + 1); // Publishes the command
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // The mixer has not read this slot from the last round yet
+            } else {
+                position = tail.get(); // Another producer took the slot
+            }
+        }
+    }
+
+    /**
+     * Takes the oldest command, mixer thread only
+     * @return The command, or EMPTY
+     */
+    long poll() {
+        int slot = (int) head & mask;
+        if (sequences.get(slot) != head + 1) {
+            return EMPTY;
+        }
+        long command = commands[slot];
+        sequences.lazySet(slot, head + mask + 1); // Frees the slot for the next round
+        head++;
+        return command;
+    }
+}
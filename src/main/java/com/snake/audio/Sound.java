@@ -0,0 +1,90 @@
+package com.snake.audio;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * A decoded sound, held as 16 bit samples in the mixer's format
+ * Immutable once loaded, so one instance can play on many voices at once
+ */
+public final class Sound {
+
+    // Interleaved samples, left then right
+    private final short[] samples;
+
+    /**
+     * Wraps already decoded samples
+     * @param samples Interleaved stereo samples in AudioMixer.FORMAT
+     */
+    public Sound(short[] samples) {
+        if (samples.length % AudioMixer.CHANNELS != 0) {
+            throw new IllegalArgumentException("Samples must hold whole stereo frames: " + samples.length);
+        }
+        this.samples = samples;
+    }
+
+    /**
+     * Reads and decodes a sound file into the mixer's format
+     * @throws UnsupportedAudioFileException if the file cannot be converted, e.g. a different sample rate
+     */
+    public static Sound load(URL url) throws IOException, UnsupportedAudioFileException {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(url)) {
+            AudioFormat target = AudioMixer.FORMAT;
+            if (source.getFormat().getSampleRate() != target.getSampleRate()) {
+                throw new UnsupportedAudioFileException("Expected " + target.getSampleRate() + " Hz but got "
+                        + source.getFormat().getSampleRate() + " Hz: " + url);
+            }
+            try (AudioInputStream converted = AudioSystem.getAudioInputStream(target, source)) {
+                return new Sound(toSamples(readAll(converted)));
+            } catch (IllegalArgumentException e) {
+                throw new UnsupportedAudioFileException("Cannot convert " + source.getFormat() + ": " + url);
+            }
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Little endian 16 bit bytes to samples
+     */
+    private static short[] toSamples(byte[] bytes) {
+        int frameBytes = AudioMixer.FORMAT.getFrameSize();
+        int count = bytes.length / frameBytes * AudioMixer.CHANNELS; // A torn last frame is dropped
+        short[] samples = new short[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = (short) ((bytes[2 * i] & 0xFF) | (bytes[2 * i + 1] << 8));
+        }
+        return samples;
+    }
+
+    // GETTERS
+    short[] getSamples() {
+        return samples;
+    }
+
+    public int getFrames() {
+        return samples.length / AudioMixer.CHANNELS;
+    }
+
+    /**
+     * Playing time in milliseconds
+     */
+    public long getDurationMillis() {
+        return getFrames() * 1000L / (long) AudioMixer.FORMAT.getSampleRate();
+    }
+}
@@ -0,0 +1,89 @@
+package com.snake.audio;
+
+import java.io.FileNotFoundException;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Decodes sound resources in the background, each one only once
+ *
+ * load() returns right away with a future, the file is read and converted
+ * to PCM on a loader thread. Every caller asking for the same path gets the
+ * same future and thus the same decoded samples.
+ */
+public final class SoundCache {
+
+    // Cache shared by everything that plays sounds
+    private static final SoundCache SHARED = new SoundCache();
+
+    private final ConcurrentMap<String, CompletableFuture<Sound>> sounds =
+            new ConcurrentHashMap<String, CompletableFuture<Sound>>();
+    private final ExecutorService loader;
+
+    // Constructor
+    public SoundCache() {
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        loader = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "sound-loader");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY); // Stay out of the way of the first frames
+                return thread;
+            }
+        });
+    }
+
+    public static SoundCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Starts decoding a sound resource unless it is already loaded or loading
+     * @param path Classpath resource, e.g. /sounds/eat_sound.wav
+     * @return Completes with the sound, or exceptionally with a FileNotFoundException
+     *         when there is no such resource or with the decoding error
+     */
+    public CompletableFuture<Sound> load(final String path) {
+        CompletableFuture<Sound> future = sounds.get(path);
+        if (future != null) {
+            return future;
+        }
+
+        final CompletableFuture<Sound> created = new CompletableFuture<Sound>();
+        future = sounds.putIfAbsent(path, created);
+        if (future != null) {
+            return future; // Another thread asked first
+        }
+
+        loader.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    URL url = SoundCache.class.getResource(path);
+                    if (url == null) {
+                        throw new FileNotFoundException("Sound file not found: " + path);
+                    }
+                    created.complete(Sound.load(url));
+                } catch (Exception e) {
+                    created.completeExceptionally(e);
+                }
+            }
+        });
+        return created;
+    }
+
+    /**
+     * The decoded sound if it is ready, never waits
+     * @return The sound, or null while loading, after a failure or when never requested
+     */
+    public Sound getIfLoaded(String path) {
+        CompletableFuture<Sound> future = sounds.get(path);
+        return future != null && future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+}
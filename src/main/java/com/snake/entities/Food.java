@@ -1,18 +1,32 @@
 package com.snake.entities;
 
 import java.awt.Point;
-import java.util.Random;
 
-import com.snake.utils.Constants;
+import com.snake.utils.GameConfig;
+import com.snake.utils.GameRandom;
+import com.snake.utils.XorShiftRandom;
 
 public class Food {
     
     private Point position;
-    private Random random;
+    private GameRandom random;
+    private final int gridWidth;
+    private final int gridHeight;
 
     // Constructor
     public Food() {
-        random = new Random();
+        this(GameConfig.defaults(), new XorShiftRandom(System.nanoTime()));
+    }
+
+    /**
+     * Creates food driven by the given generator, so placement is reproducible
+     * @param config Grid the food is placed on
+     * @param random The generator used for every spawn
+     */
+    public Food(GameConfig config, GameRandom random) {
+        this.random = random;
+        gridWidth = config.getGridWidth();
+        gridHeight = config.getGridHeight();
         position = new Point();
         spawnRandom();
     }
@@ -21,19 +35,34 @@ public class Food {
      * Spawns food at random position
      */
     public void spawnRandom() {
-        int x = random.nextInt(Constants.GRID_WIDTH); // 0 to GRID_WIDTH-1
-        int y = random.nextInt(Constants.GRID_HEIGHT); // 0 to GRID_HEIGHT-1
+        int x = random.nextInt(gridWidth); // 0 to gridWidth-1
+        int y = random.nextInt(gridHeight); // 0 to gridHeight-1
         position.setLocation(x, y);
     }
 
     /**
      * Spawns food avoiding the snake body
+     * Picks uniformly among the free cells, so it takes the same time however full the board is
      * @param snake The snake to avoid
+     * @return true if food was placed, false if the snake covers the whole board
+     */
+    public boolean respawn(Snake snake) {
+        int cell = snake.getFreeCells().random(random);
+        if (cell < 0) {
+            position.setLocation(-1, -1); // No food left to show
+            return false;
+        }
+
+        position.setLocation(cell % gridWidth, cell / gridWidth);
+        return true;
+    }
+
+    /**
+     * Puts the food on a cell without using the generator, e.g. when restoring a game
+     * @param x Column, -1 together with y for no food
      */
-    public void respawn(Snake snake) {
-        do {
-            spawnRandom();
-        } while (snake.occupies(position)); // Keep trying while snake occupies position
+    public void setPosition(int x, int y) {
+        position.setLocation(x, y);
     }
 
     // Getters
@@ -48,4 +77,8 @@ public class Food {
     public int getY() {
         return position.y;
     }
+
+    public GameRandom getRandom() {
+        return random;
+    }
 }
\ No newline at end of file
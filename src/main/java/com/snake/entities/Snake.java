@@ -1,37 +1,105 @@
 package com.snake.entities;
 
 import java.awt.Point;
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 
-import com.snake.utils.Constants;
+import com.snake.utils.GameConfig;
 
 public class Snake {
-    
-    private List<Point> body;
+
+    // Initial ring capacity in links, always a power of two
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Links packed per long, 2 bits each
+    private static final int LINKS_PER_LONG = 32;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // Only the two end cells are stored as coordinates
+    private int headX;
+    private int headY;
+    private int tailX;
+    private int tailY;
+
+    // Link i is the Direction ordinal from segment i - 1 to segment i, 2 bits each in a circular buffer
+    // Link i (1 <= i < length) lives at slot (first + i - 1) & mask, 32 slots per long
+    private long[] links;
+    private int mask;
+    private int first;
+    private int length;
+
+    // Grid the snake lives on
+    private final int gridWidth;
+    private final int gridHeight;
+    private final int initialLength;
+
+    // One bit per grid cell, set while a segment is on that cell
+    private final long[] occupied;
+    // Complement of the occupancy, used to place food in constant time
+    private final FreeCells freeCells;
+
     private Direction direction;
     private Direction nextDirection;
     private boolean shouldGrow;
+    private boolean collidedWithSelf;
+
+    // Cell the tail left on the last move, used to animate between ticks
+    private int vacatedTail;
+    private boolean tailVacated;
+
+    // Read-only view handed out by getBody()
+    private final List<Point> bodyView;
 
     // Constructor
     public Snake() {
-        body = new ArrayList<Point>();
+        this(GameConfig.defaults());
+    }
+
+    /**
+     * Creates a snake at the center of the configured grid
+     * @param config Grid size and initial length
+     */
+    public Snake(GameConfig config) {
+        gridWidth = config.getGridWidth();
+        gridHeight = config.getGridHeight();
+        initialLength = config.getInitialSnakeLength();
+        links = new long[INITIAL_CAPACITY / LINKS_PER_LONG];
+        mask = INITIAL_CAPACITY - 1;
+        occupied = new long[(config.getCellCount() + 63) >>> 6];
+        freeCells = new FreeCells(config.getCellCount());
+        bodyView = new BodyView();
+        reset();
+    }
+
+    /**
+     * Puts the snake back at the center with its initial length, reusing every buffer
+     * Free cells end up in the same order as in a new snake, so a reset game plays like a new one
+     */
+    public void reset() {
+        Arrays.fill(occupied, 0L);
+        freeCells.reset();
+        length = 0;
+        first = 0;
         direction = Direction.RIGHT;
         nextDirection = Direction.RIGHT;
         shouldGrow = false;
-        initializeBody();
+        collidedWithSelf = false;
+        tailVacated = false;
+        initializeBody(initialLength);
     }
 
     /**
      * Create snake at center of grid
      */
-    private void initializeBody() {
-        int startX = Constants.GRID_WIDTH / 2; // Center X
-        int startY = Constants.GRID_HEIGHT / 2; // Center Y
+    private void initializeBody(int initialLength) {
+        int startX = gridWidth / 2; // Center X
+        int startY = gridHeight / 2; // Center Y
 
         // Add segments: head first, then body going LEFT part
-        for (int i = 0; i < Constants.INITIAL_SNAKE_LENGTH; i++) {
-            body.add(new Point(startX - i, startY)); // Horizontal to the left
+        for (int i = 0; i < initialLength; i++) {
+            addTail(startX - i, startY); // Horizontal to the left
         }
     }
 
@@ -42,17 +110,37 @@ public class Snake {
         direction = nextDirection; // Apply buffered direction - the same nextDirection
 
         // Set new X and Y to get Dx & Dy
-        Point head = body.get(0);
-        int newX = head.x + direction.getDx();
-        int newY = head.y + direction.getDy();
+        int newX = headX + direction.getDx();
+        int newY = headY + direction.getDy();
 
-        // Add new head position
-        body.add(0, new Point(newX, newY));
         if (shouldGrow) {
             shouldGrow = false;
+            tailVacated = false;
+            ensureCapacity(length);
+            length++;
         } else {
-            body.remove(body.size() - 1);
+            // The tail leaves its cell before the head enters, so chasing the tail is safe
+            vacatedTail = pack(tailX, tailY);
+            tailVacated = true;
+            clearOccupied(tailX, tailY);
+            if (length > 1) {
+                // Step back along the last link, its slot is reused for the new head
+                Direction last = DIRECTIONS[readLink(length - 1)];
+                tailX -= last.getDx();
+                tailY -= last.getDy();
+            } else {
+                tailX = newX;
+                tailY = newY;
+            }
         }
+        // New link 1 points from the new head back to the old one
+        first = (first - 1) & mask;
+        writeSlot(first, direction.getOpposite().ordinal());
+        headX = newX;
+        headY = newY;
+
+        collidedWithSelf = isOccupied(newX, newY);
+        setOccupied(newX, newY);
     }
 
     /**
@@ -77,9 +165,7 @@ public class Snake {
      * @return true if collides, false otherwise
      */
     public boolean hasCollideWithWall() {
-        Point head = getHead();
-        return head.x < 0 || head.x >= Constants.GRID_WIDTH ||
-                head.y < 0 || head.y >= Constants.GRID_HEIGHT;
+        return !isInsideGrid(getHeadX(), getHeadY());
     }
 
     /**
@@ -87,15 +173,8 @@ public class Snake {
      * @return true if collides, false otherwise
      */
     public boolean hasCollideWithSelf() {
-        Point head = getHead();
-        // Loop from index 1 to end (skip head at index 0)
-        // If any segment equals head, return true
-        for (int i = 1; i < body.size(); i++) {
-            if (head.equals(body.get(i))) {
-                return true;
-            }
-        }
-        return false;
+        // Computed by move() before the head marked its own cell
+        return collidedWithSelf;
     }
 
     /**
@@ -104,7 +183,19 @@ public class Snake {
      * @return true if occupies, false otherwise
      */
     public boolean occupies(Point position) {
-        return body.contains(position);
+        return isOccupied(position.x, position.y);
+    }
+
+    /**
+     * Checks if any segment is on the given cell
+     * @return true if occupied, false otherwise (also for cells off the grid)
+     */
+    public boolean isOccupied(int x, int y) {
+        if (!isInsideGrid(x, y)) {
+            return false;
+        }
+        int index = y * gridWidth + x;
+        return (occupied[index >>> 6] & (1L << index)) != 0;
     }
 
     /**
@@ -113,19 +204,289 @@ public class Snake {
      * @return true if head is at position, false otherwise
      */
     public boolean isHeadAt(Point position) {
-        return getHead().equals(position);
+        return getHeadX() == position.x && getHeadY() == position.y;
+    }
+
+    /**
+     * Replaces the whole snake, e.g. with one read from a snapshot
+     * Free cells are rebuilt from the body, food only depends on which cells are free
+     * @param xs Segment columns, head first
+     * @param ys Segment rows, head first
+     * @param length Number of segments
+     * @param direction Direction of the last move
+     * @param nextDirection Direction of the next move
+     * @param growing true if the next move grows the snake
+     */
+    public void restore(int[] xs, int[] ys, int length, Direction direction, Direction nextDirection,
+            boolean growing) {
+        if (length < 1 || length > xs.length || length > ys.length) {
+            throw new IllegalArgumentException("Invalid snake length: " + length);
+        }
+
+        for (int i = 1; i < length; i++) {
+            if (Math.abs(xs[i] - xs[i - 1]) + Math.abs(ys[i] - ys[i - 1]) != 1) {
+                throw new IllegalArgumentException("Segments " + (i - 1) + " and " + i + " are not adjacent");
+            }
+        }
+
+        Arrays.fill(occupied, 0L);
+        freeCells.reset();
+        this.length = 0;
+        first = 0;
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            addTail(xs[i], ys[i]);
+        }
+
+        // A head on its own body means the snake died that way
+        collidedWithSelf = false;
+        for (int i = 1; i < length && !collidedWithSelf; i++) {
+            collidedWithSelf = xs[i] == xs[0] && ys[i] == ys[0];
+        }
+        this.direction = direction;
+        this.nextDirection = nextDirection;
+        shouldGrow = growing;
+        tailVacated = false;
+    }
+
+    /**
+     * Appends a segment at the tail end, used while building the body
+     * The cell must be next to the current tail
+     */
+    private void addTail(int x, int y) {
+        if (length == 0) {
+            headX = x;
+            headY = y;
+        } else {
+            ensureCapacity(length);
+            writeSlot((first + length - 1) & mask, linkCode(x - tailX, y - tailY));
+        }
+        tailX = x;
+        tailY = y;
+        length++;
+        setOccupied(x, y);
+    }
+
+    private static int linkCode(int dx, int dy) {
+        if (dx == 0) {
+            return dy < 0 ? Direction.UP.ordinal() : Direction.DOWN.ordinal();
+        }
+        return dx < 0 ? Direction.LEFT.ordinal() : Direction.RIGHT.ordinal();
+    }
+
+    /**
+     * Marks a cell as occupied, cells off the grid are ignored
+     * A head that overlapped the body is game over, so bits never need reference counting
+     */
+    private void setOccupied(int x, int y) {
+        if (isInsideGrid(x, y)) {
+            int index = y * gridWidth + x;
+            occupied[index >>> 6] |= 1L << index;
+            freeCells.remove(index);
+        }
+    }
+
+    /**
+     * Marks a cell as free, cells off the grid are ignored
+     */
+    private void clearOccupied(int x, int y) {
+        if (isInsideGrid(x, y)) {
+            int index = y * gridWidth + x;
+            occupied[index >>> 6] &= ~(1L << index);
+            freeCells.add(index);
+        }
+    }
+
+    private boolean isInsideGrid(int x, int y) {
+        return x >= 0 && x < gridWidth && y >= 0 && y < gridHeight;
+    }
+
+    /**
+     * Doubles the ring buffer until it can hold the given number of links
+     */
+    private void ensureCapacity(int required) {
+        int capacity = mask + 1;
+        if (required <= capacity) {
+            return;
+        }
+        while (capacity < required) {
+            capacity <<= 1;
+        }
+
+        // Copy links in order so link 1 ends up in slot 0
+        long[] grown = new long[capacity / LINKS_PER_LONG];
+        for (int i = 1; i < length; i++) {
+            int slot = i - 1;
+            grown[slot >>> 5] |= (long) readLink(i) << ((slot & 31) << 1);
+        }
+        links = grown;
+        mask = capacity - 1;
+        first = 0;
+    }
+
+    private int readLink(int index) {
+        int slot = (first + index - 1) & mask;
+        return (int) (links[slot >>> 5] >>> ((slot & 31) << 1)) & 3;
+    }
+
+    private void writeSlot(int slot, int code) {
+        int shift = (slot & 31) << 1;
+        links[slot >>> 5] = (links[slot >>> 5] & ~(3L << shift)) | ((long) code << shift);
+    }
+
+    private static int pack(int x, int y) {
+        return (y << 16) | (x & 0xFFFF);
+    }
+
+    private static int unpackX(int cell) {
+        return (short) cell;
+    }
+
+    private static int unpackY(int cell) {
+        return cell >> 16;
     }
 
     // GETTERS
     public Point getHead() {
-        return body.get(0);
+        return new Point(getHeadX(), getHeadY());
     }
 
+    public int getHeadX() {
+        return headX;
+    }
+
+    public int getHeadY() {
+        return headY;
+    }
+
+    public int getTailX() {
+        return tailX;
+    }
+
+    public int getTailY() {
+        return tailY;
+    }
+
+    /**
+     * Gets the X coordinate of a segment without allocating
+     * Walks the links from the nearer end, to visit every segment follow getLink() instead
+     * @param index Segment index, 0 is the head
+     */
+    public int getX(int index) {
+        if (index <= length / 2) {
+            int x = headX;
+            for (int i = 1; i <= index; i++) {
+                x += DIRECTIONS[readLink(i)].getDx();
+            }
+            return x;
+        }
+        int x = tailX;
+        for (int i = length - 1; i > index; i--) {
+            x -= DIRECTIONS[readLink(i)].getDx();
+        }
+        return x;
+    }
+
+    /**
+     * Gets the Y coordinate of a segment without allocating
+     * Walks the links from the nearer end, to visit every segment follow getLink() instead
+     * @param index Segment index, 0 is the head
+     */
+    public int getY(int index) {
+        if (index <= length / 2) {
+            int y = headY;
+            for (int i = 1; i <= index; i++) {
+                y += DIRECTIONS[readLink(i)].getDy();
+            }
+            return y;
+        }
+        int y = tailY;
+        for (int i = length - 1; i > index; i--) {
+            y -= DIRECTIONS[readLink(i)].getDy();
+        }
+        return y;
+    }
+
+    /**
+     * Direction from segment index - 1 to segment index, in constant time
+     * Starting at the head and adding each link's dx and dy visits the whole body
+     * @param index Segment index, 1 to getLength() - 1
+     */
+    public Direction getLink(int index) {
+        if (index < 1 || index >= length) {
+            throw new IndexOutOfBoundsException("Link: " + index + ", Length: " + length);
+        }
+        return DIRECTIONS[readLink(index)];
+    }
+
+    /**
+     * Read-only view of the body, head first
+     */
     public List<Point> getBody() {
-        return body;
+        return bodyView;
     }
 
     public int getLength() {
-        return body.size();
+        return length;
+    }
+
+    /**
+     * Checks if the next move grows the snake, so the tail stays where it is
+     */
+    public boolean isGrowing() {
+        return shouldGrow;
+    }
+
+    /**
+     * Checks if the last move freed a tail cell (false when the snake grew)
+     */
+    public boolean hasVacatedTail() {
+        return tailVacated;
+    }
+
+    public int getVacatedTailX() {
+        return unpackX(vacatedTail);
+    }
+
+    public int getVacatedTailY() {
+        return unpackY(vacatedTail);
+    }
+
+    /**
+     * Cells not covered by the snake, indexed as y * GRID_WIDTH + x
+     */
+    public FreeCells getFreeCells() {
+        return freeCells;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Direction the next move takes, differs from getDirection() after a turn was asked for
+     */
+    public Direction getNextDirection() {
+        return nextDirection;
+    }
+
+    /**
+     * List view over the links, points are created on demand
+     * get() walks the body, so iterating the view is quadratic, fine for tests and debugging
+     */
+    private class BodyView extends AbstractList<Point> {
+
+        @Override
+        public Point get(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+            }
+            return new Point(getX(index), getY(index));
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.snake.game;
+
+/**
+ * Short history of the cells each tick changed
+ * Lets a renderer that is a few ticks behind update only those cells
+ */
+class BoardJournal {
+
+    // Number of ticks kept, a power of two
+    static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
+
+    // Indexed by tick, cells are y * grid width + x
+    private final int[] necks = new int[CAPACITY];
+    private final int[] vacated = new int[CAPACITY];
+
+    /**
+     * Records the cells changed by one tick
+     * @param tick The tick number
+     * @param neck Cell the head left, now covered by the body
+     * @param vacatedCell Cell the tail left, or -1 if the snake grew
+     */
+    void record(long tick, int neck, int vacatedCell) {
+        int slot = (int) (tick & MASK);
+        necks[slot] = neck;
+        vacated[slot] = vacatedCell;
+    }
+
+    /**
+     * Checks if every tick after fromTick up to toTick is still available
+     */
+    static boolean covers(long fromTick, long toTick) {
+        return toTick >= fromTick && toTick - fromTick <= CAPACITY;
+    }
+
+    int getNeck(long tick) {
+        return necks[(int) (tick & MASK)];
+    }
+
+    int getVacated(long tick) {
+        return vacated[(int) (tick & MASK)];
+    }
+}
@@ -0,0 +1,23 @@
+package com.snake.game;
+
+import com.snake.entities.Direction;
+
+/**
+ * Steers a game instead of the keyboard, e.g. a bot or a test script
+ */
+public interface Controller {
+
+    /**
+     * Picks the input for the next tick
+     * @param engine The game, as of the last tick
+     * @return The direction to steer, or null to keep going
+     */
+    Direction decide(GameEngine engine);
+
+    /**
+     * Creates one controller per game, so controllers may keep state
+     */
+    interface Factory {
+        Controller create(long seed);
+    }
+}
@@ -5,12 +5,12 @@ import javax.swing.JButton;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Color;
-import java.awt.Font;
 import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
 import com.snake.utils.Constants;
+import com.snake.utils.RenderResources;
 import com.snake.utils.SoundManager;
 
 public class ControlsPanel extends JPanel{
@@ -24,7 +24,7 @@ public class ControlsPanel extends JPanel{
 
         // Set panel size
         setPreferredSize(new Dimension(Constants.MENU_PANEL_WIDTH, Constants.MENU_PANEL_HEIGHT));
-        setBackground(new Color(30, 30, 30));
+        setBackground(RenderResources.COLOR_BACKGROUND);
 
         // Use null layout for manual positioning
         setLayout(null);
@@ -38,7 +38,7 @@ public class ControlsPanel extends JPanel{
      */
     private void createBackButton() {
         backButton = new JButton("Back");
-        backButton.setFont(new Font("Arial", Font.BOLD, 18));
+        backButton.setFont(RenderResources.FONT_LABEL);
         backButton.setFocusable(true);
         
         // Position in bottom of panel
@@ -66,17 +66,17 @@ public class ControlsPanel extends JPanel{
         
         // Draw title
         g2d.setColor(Color.GREEN);
-        g2d.setFont(new Font("Arial", Font.BOLD, 40));
+        g2d.setFont(RenderResources.FONT_HEADING);
         String title = "CONTROLS";
-        int titleWidth = g2d.getFontMetrics().stringWidth(title);
-        g2d.drawString(title, (Constants.MENU_PANEL_WIDTH - titleWidth) / 2, 60);
+        int titleX = RenderResources.centerX(RenderResources.FONT_HEADING, title, Constants.MENU_PANEL_WIDTH);
+        g2d.drawString(title, titleX, 60);
         
         // Draw controls info
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 18));
+        g2d.setFont(RenderResources.FONT_LABEL);
         
         int startY = 130;
-        int lineHeight = 40;
+        int lineHeight = 36;
         int leftX = 100;
         int rightX = 420;
         
@@ -85,7 +85,7 @@ public class ControlsPanel extends JPanel{
         g2d.drawString("MOVEMENT", leftX, startY);
         
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.PLAIN, 16));
+        g2d.setFont(RenderResources.FONT_TEXT);
         
         g2d.drawString("Move Up:", leftX, startY + lineHeight);
         g2d.drawString("W  or  ↑", rightX, startY + lineHeight);
@@ -101,11 +101,11 @@ public class ControlsPanel extends JPanel{
         
         // Game controls
         g2d.setColor(Color.GREEN);
-        g2d.setFont(new Font("Arial", Font.BOLD, 18));
+        g2d.setFont(RenderResources.FONT_LABEL);
         g2d.drawString("GAME CONTROLS", leftX, startY + lineHeight * 6);
         
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.PLAIN, 16));
+        g2d.setFont(RenderResources.FONT_TEXT);
         
         g2d.drawString("Pause:", leftX, startY + lineHeight * 7);
         g2d.drawString("P", rightX, startY + lineHeight * 7);
@@ -115,5 +115,11 @@ public class ControlsPanel extends JPanel{
         
         g2d.drawString("Back to Menu:", leftX, startY + lineHeight * 9);
         g2d.drawString("ESC", rightX, startY + lineHeight * 9);
+
+        g2d.drawString("Autopilot:", leftX, startY + lineHeight * 10);
+        g2d.drawString("B  (on / off)", rightX, startY + lineHeight * 10);
+
+        g2d.drawString("Performance HUD:", leftX, startY + lineHeight * 11);
+        g2d.drawString("F3  (on / off)", rightX, startY + lineHeight * 11);
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.snake.game;
+
+import java.awt.Canvas;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+import com.snake.utils.GameConfig;
+import com.snake.utils.RenderResources;
+
+/**
+ * Heavyweight canvas for active rendering
+ * Frames are drawn by the game loop thread into a BufferStrategy instead of
+ * waiting for Swing to repaint on the event dispatch thread
+ */
+public class GameCanvas extends Canvas {
+
+    private final GameRenderer renderer;
+    private BufferStrategy strategy;
+    private boolean disposed;
+
+    // Constructor
+    public GameCanvas(GameRenderer renderer, GameConfig config) {
+        this.renderer = renderer;
+        setPreferredSize(new Dimension(config.getGameWidth(), config.getGameHeight()));
+        setBackground(RenderResources.COLOR_BACKGROUND);
+        setFocusable(true);
+
+        // Frames come from the game loop, OS repaint requests are ignored
+        setIgnoreRepaint(true);
+    }
+
+    /**
+     * Draws one frame and shows it
+     * Call with the engine lock held, does nothing until the canvas is on screen
+     * @param engine The game to draw
+     * @param alpha Progress towards the last tick's positions
+     */
+    public void render(GameEngine engine, double alpha) {
+        if (strategy == null) {
+            if (disposed || !isDisplayable()) {
+                return;
+            }
+            createBufferStrategy(2);
+            strategy = getBufferStrategy();
+        }
+
+        // Contents of the buffers can be lost at any time, e.g. on a display mode change
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    renderer.render(g2d, engine, alpha);
+                } finally {
+                    g2d.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        // Flush the frame to the screen now instead of whenever the window system decides
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    /**
+     * Releases the buffers, called when the game screen is left
+     * Frames are dropped instead of recreating them until restore() is called
+     */
+    public void dispose() {
+        disposed = true;
+        if (strategy != null) {
+            strategy.dispose();
+            strategy = null;
+        }
+    }
+
+    /**
+     * Allows frames again after dispose(), called when the game screen is shown again
+     */
+    public void restore() {
+        disposed = false;
+    }
+}
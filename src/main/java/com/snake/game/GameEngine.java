@@ -0,0 +1,209 @@
+package com.snake.game;
+
+import com.snake.entities.Direction;
+import com.snake.entities.Food;
+import com.snake.entities.Snake;
+import com.snake.utils.GameConfig;
+import com.snake.utils.XorShiftRandom;
+
+/**
+ * Holds the game rules and state without any Swing dependency.
+ * One call to step() advances the game by exactly one tick.
+ */
+public class GameEngine {
+
+    // Points earned for each food eaten
+    public static final int FOOD_SCORE = 10;
+
+    private final GameConfig config;
+    private Snake snake;
+    private Food food;
+    private GameState gameState;
+    private int score;
+    private long seed;
+    private long tick;
+
+    // Cells changed by recent ticks, and a counter bumped on every reset
+    private final BoardJournal journal = new BoardJournal();
+    private long generation;
+
+    // Constructor
+    public GameEngine() {
+        this(GameConfig.defaults());
+    }
+
+    /**
+     * Creates an engine on the given grid with a fresh seed
+     */
+    public GameEngine(GameConfig config) {
+        this.config = config;
+        reset();
+    }
+
+    /**
+     * Creates an engine whose first game is fully determined by the seed
+     * @param seed Seed for food placement
+     */
+    public GameEngine(long seed) {
+        this(GameConfig.defaults(), seed);
+    }
+
+    /**
+     * Creates an engine on the given grid whose first game is fully determined by the seed
+     * @param config Grid size and initial snake length
+     * @param seed Seed for food placement
+     */
+    public GameEngine(GameConfig config, long seed) {
+        this.config = config;
+        reset(seed);
+    }
+
+    /**
+     * Initializes or resets the game state with a fresh seed
+     */
+    public void reset() {
+        reset(System.nanoTime());
+    }
+
+    /**
+     * Initializes or resets the game state
+     * The same seed and the same inputs always give the same game
+     * @param seed Seed for food placement
+     */
+    public void reset(long seed) {
+        this.seed = seed;
+        // The snake and its per-cell buffers are reused, they are large on big boards
+        if (snake == null) {
+            snake = new Snake(config);
+        } else {
+            snake.reset();
+        }
+        food = new Food(config, new XorShiftRandom(seed));
+        food.respawn(snake);
+        gameState = GameState.PLAYING;
+        score = 0;
+        tick = 0;
+        generation++;
+    }
+
+    /**
+     * Advances the game by one tick
+     * @param input Direction requested for this tick, or null to keep going
+     * @return What happened during the tick
+     */
+    public TickResult step(Direction input) {
+        if (gameState != GameState.PLAYING) {
+            return TickResult.IDLE;
+        }
+
+        if (input != null) {
+            snake.setDirection(input);
+        }
+
+        // 1. Move snake
+        tick++;
+        int neck = cellIndex(snake.getHeadX(), snake.getHeadY());
+        snake.move();
+        journal.record(tick, neck, snake.hasVacatedTail()
+                ? cellIndex(snake.getVacatedTailX(), snake.getVacatedTailY()) : -1);
+
+        // 2. Check collisions
+        if (snake.hasCollideWithWall() || snake.hasCollideWithSelf()) {
+            gameState = GameState.GAME_OVER;
+            return TickResult.DIED;
+        }
+
+        // 3. Check if snake ate food
+        if (snake.isHeadAt(food.getPosition())) {
+            snake.grow();
+            score += FOOD_SCORE;
+            if (!food.respawn(snake)) {
+                gameState = GameState.WON;
+                return TickResult.WON;
+            }
+            return TickResult.ATE;
+        }
+
+        return TickResult.MOVED;
+    }
+
+    /**
+     * Buffers a direction change for the next tick
+     * @param direction The new direction
+     */
+    public void steer(Direction direction) {
+        if (gameState == GameState.PLAYING) {
+            snake.setDirection(direction);
+        }
+    }
+
+    /**
+     * Toggles between PLAYING and PAUSED
+     */
+    public void togglePause() {
+        if (gameState == GameState.PLAYING) {
+            gameState = GameState.PAUSED;
+        } else if (gameState == GameState.PAUSED) {
+            gameState = GameState.PLAYING;
+        }
+    }
+
+    /**
+     * Sets the game-wide fields after a snapshot restored the snake and the food
+     * Counts as a reset, so renderers draw the whole board again
+     */
+    void restore(GameState gameState, int score, long seed, long tick) {
+        this.gameState = gameState;
+        this.score = score;
+        this.seed = seed;
+        this.tick = tick;
+        generation++;
+    }
+
+    private int cellIndex(int x, int y) {
+        return y * config.getGridWidth() + x;
+    }
+
+    // GETTERS
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    public Snake getSnake() {
+        return snake;
+    }
+
+    public Food getFood() {
+        return food;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Number of ticks played since the last reset
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Changes every time the game is reset
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    BoardJournal getJournal() {
+        return journal;
+    }
+}
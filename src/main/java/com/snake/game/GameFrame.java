@@ -1,17 +1,37 @@
 package com.snake.game;
 
+import javax.swing.JComponent;
 import javax.swing.JFrame;
-import javax.swing.JPanel;
 import javax.swing.ImageIcon;
 import java.net.URL;
 
+import com.snake.utils.GameConfig;
+
 public class GameFrame extends JFrame{
 
-    // Store ref to current panel
-    private JPanel currentPanel;
+    // Names of the screens
+    private static final String MENU = "menu";
+    private static final String GAME = "game";
+    private static final String SETTINGS = "settings";
+    private static final String CONTROLS = "controls";
+
+    // Holds every screen, only the current one is visible
+    private final ScreenManager screens = new ScreenManager(this);
+
+    // Settings for every new game
+    private final GameConfig config;
 
     // Constructor
     public GameFrame() {
+        this(GameConfig.defaults());
+    }
+
+    /**
+     * Creates the window, games use the given settings
+     */
+    public GameFrame(GameConfig config) {
+        this.config = config;
+
         // Set window title
         setTitle("Snake Game");
 
@@ -25,6 +45,8 @@ public class GameFrame extends JFrame{
         setWindowIcon();
 
         // Show the menu first
+        registerScreens();
+        add(screens.getContainer());
         showMenu();
 
         // Center window on screen
@@ -51,91 +73,61 @@ public class GameFrame extends JFrame{
         }
     }
 
+    /**
+     * Registers every screen, each panel is only built when first shown
+     */
+    private void registerScreens() {
+        screens.register(MENU, new ScreenManager.Factory() {
+            @Override
+            public JComponent create() {
+                return new MenuPanel(GameFrame.this);
+            }
+        });
+        screens.register(GAME, new ScreenManager.Factory() {
+            @Override
+            public JComponent create() {
+                return new GamePanel(GameFrame.this, config);
+            }
+        });
+        screens.register(SETTINGS, new ScreenManager.Factory() {
+            @Override
+            public JComponent create() {
+                return new SettingsPanel(GameFrame.this);
+            }
+        });
+        screens.register(CONTROLS, new ScreenManager.Factory() {
+            @Override
+            public JComponent create() {
+                return new ControlsPanel(GameFrame.this);
+            }
+        });
+    }
+
     /**
      * Shows the main menu
      */
     public void showMenu() {
-        // Remove current panel if exists
-        if (currentPanel != null) {
-            remove(currentPanel);
-        }
-
-        // Create and add menu panel
-        currentPanel = new MenuPanel(this);
-        add(currentPanel);
-
-        // Resize window to fit panel
-        pack();
-
-        // Refresh the window
-        revalidate();
-        repaint();
+        screens.show(MENU);
     }
 
     /**
-     * Starts the game - this is called when PLAY button is clicked
+     * Starts a new game - this is called when PLAY button is clicked
      */
     public void startGame() {
-        // Remove current panel
-        if (currentPanel != null) {
-            remove(currentPanel);
-        }
-
-        // Create and add game panel
-        GamePanel gamePanel = new GamePanel(this);
-        currentPanel = gamePanel;
-        add(currentPanel);
-
-        // Resize the window to fit panel
-        pack();
-
-        // Refresh the window
-        revalidate();
-        repaint();
-
-        // Request focus for keyboard input
-        gamePanel.requestFocusInWindow();
+        screens.show(GAME);
     }
 
     /**
      * Shows the settings screen
      */
     public void showSettings() {
-        // Remove current panel
-        if (currentPanel != null) {
-            remove(currentPanel);
-        }
-
-        // Create and add settings panel
-        currentPanel = new SettingsPanel(this);
-        add(currentPanel);
-
-        // Resize the window to fit panel
-        pack();
-
-        // Refresh the window
-        revalidate();
-        repaint();
+        screens.show(SETTINGS);
     }
 
     /**
      *  Shows the controls screen
      */
     public void showControls() {
-        // Remove current panel
-        if (currentPanel != null) {
-            remove(currentPanel);
-        }
-
-        // Create and add controls panel
-        currentPanel = new ControlsPanel(this);
-        add(currentPanel);
-
-        // Resize the window to fit panel
-        pack();
-
-        // Refresh the window
-        revalidate();
-        repaint();
+        screens.show(CONTROLS);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,235 @@
+package com.snake.game;
+
+import java.util.concurrent.locks.LockSupport;
+
+import com.snake.utils.Constants;
+
+/**
+ * Dedicated thread that drives the engine on a tick schedule
+ *
+ * Ticks run on deadlines kept by a TickScheduler, independent of how often
+ * frames are drawn, so they neither drift nor slow down when the machine is
+ * busy. Frames are requested at the display rate and draw the snake in
+ * between two ticks using getInterpolation().
+ * The engine is locked while it steps, so other threads must lock it too.
+ */
+public class GameLoop implements Runnable {
+
+    /**
+     * Callbacks from the loop thread
+     */
+    public interface Listener {
+        /**
+         * Called after a tick that changed the game, with the engine lock held
+         * The place to read the engine's state of this very tick, keep it short
+         * @param controller Controller that picked the tick's input, or null
+         */
+        void onStep(TickResult result, Controller controller);
+
+        /**
+         * Called after a tick that changed the game, outside the engine lock
+         */
+        void onTick(TickResult result);
+
+        /**
+         * Called when a new frame should be drawn
+         */
+        void onFrame();
+    }
+
+    // Longest stop() waits for the loop thread to finish its iteration
+    private static final long STOP_TIMEOUT_MILLIS = 1000L;
+
+    private final GameEngine engine;
+    private final TickScheduler scheduler;
+    private final long frameNanos;
+    private final Listener listener;
+    private PerformanceMetrics metrics;
+
+    private volatile boolean dirty = true;
+    // Picks the input of every tick, e.g. the keyboard or the autopilot
+    private volatile Controller controller;
+    // The loop thread, a thread keeps looping only while it is the one set here
+    private volatile Thread thread;
+    // Thread stop() gave up waiting for, the next loop thread waits until it is gone
+    private Thread stopping;
+
+    /**
+     * Creates a stopped loop at a constant speed
+     * @param engine The game to drive
+     * @param tickNanos Time between two ticks
+     * @param frameNanos Time between two frames, e.g. 1/60s
+     * @param listener Receives ticks and frame requests
+     */
+    public GameLoop(GameEngine engine, long tickNanos, long frameNanos, Listener listener) {
+        this(engine, new TickScheduler(SpeedCurve.constant(tickNanos),
+                (int) Math.max(1, 1 + Constants.MAX_CATCH_UP_MS * 1000000L / tickNanos)), frameNanos, listener);
+    }
+
+    /**
+     * Creates a stopped loop
+     * @param engine The game to drive
+     * @param scheduler Tick deadlines, speed curve and catch up, used by this loop only
+     * @param frameNanos Time between two frames, e.g. 1/60s
+     * @param listener Receives ticks and frame requests
+     */
+    public GameLoop(GameEngine engine, TickScheduler scheduler, long frameNanos, Listener listener) {
+        this.engine = engine;
+        this.scheduler = scheduler;
+        this.frameNanos = frameNanos;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts the loop thread, does nothing if already running
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        final Thread previous = stopping;
+        stopping = null;
+        Thread loop = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                // A thread still finishing a long tick must never step the engine next to this one
+                if (previous != null) {
+                    try {
+                        previous.join();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                GameLoop.this.run();
+            }
+        }, "game-loop");
+        loop.setDaemon(true);
+        thread = loop;
+        loop.start();
+    }
+
+    /**
+     * Stops the loop thread and waits a while for it to exit, start() may be called again right away
+     * If the thread is still busy after that, the next start() only steps once it is gone
+     * Must not be called from the loop thread or while holding the engine lock
+     */
+    public synchronized void stop() {
+        if (thread != null) {
+            Thread stopped = thread;
+            thread = null;
+            LockSupport.unpark(stopped);
+            try {
+                stopped.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (stopped.isAlive()) {
+                stopping = stopped;
+            }
+        }
+    }
+
+    /**
+     * Lets a controller pick the input for every tick, null keeps going without input
+     * The controller is called on the loop thread with the engine lock held
+     */
+    public void setController(Controller controller) {
+        this.controller = controller;
+    }
+
+    public Controller getController() {
+        return controller;
+    }
+
+    /**
+     * Records the duration of every tick, set before start()
+     */
+    public void setMetrics(PerformanceMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Requests a frame even if the game is not playing, e.g. after pausing
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    @Override
+    public void run() {
+        long now = System.nanoTime();
+        long nextFrame = now;
+        synchronized (engine) {
+            scheduler.start(now, engine.getSnake().getLength());
+        }
+
+        Thread self = Thread.currentThread();
+        while (thread == self) {
+            now = System.nanoTime();
+
+            // Logic: run the ticks that are due, a bounded number when behind (e.g. after a long GC)
+            int due = scheduler.poll(now);
+            for (int i = 0; i < due && thread == self; i++) {
+                TickResult result;
+                int length;
+                Controller pilot = controller;
+                long start = System.nanoTime();
+                synchronized (engine) {
+                    long stepStart = System.nanoTime();
+                    result = engine.step(pilot != null ? pilot.decide(engine) : null);
+                    if (metrics != null) {
+                        metrics.recordTick(System.nanoTime() - stepStart);
+                    }
+                    length = engine.getSnake().getLength();
+                    if (result != TickResult.IDLE) {
+                        listener.onStep(result, pilot);
+                    }
+                }
+                scheduler.completeTick(start, length);
+
+                if (result != TickResult.IDLE) {
+                    dirty = true;
+                    listener.onTick(result);
+                }
+            }
+
+            // Rendering: only while something moves or changed
+            if (now - nextFrame >= 0) {
+                if (dirty || isPlaying()) {
+                    dirty = false;
+                    listener.onFrame();
+                }
+                nextFrame += frameNanos;
+                if (now - nextFrame >= 0) {
+                    nextFrame = now + frameNanos; // Missed frames are not made up
+                }
+            }
+
+            // Sleep until the next tick or frame, whichever comes first
+            long nextTick = scheduler.getNextTick();
+            long wake = nextTick - nextFrame < 0 ? nextTick : nextFrame;
+            long sleep = wake - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+        }
+    }
+
+    private boolean isPlaying() {
+        synchronized (engine) {
+            return engine.getGameState() == GameState.PLAYING;
+        }
+    }
+
+    /**
+     * How far the game is between the last tick and the next one
+     * @return 0.0 right at the last tick, up to 1.0 when the next tick is due
+     */
+    public double getInterpolation() {
+        return scheduler.getInterpolation(System.nanoTime());
+    }
+
+    public TickStats getStats() {
+        return scheduler.getStats();
+    }
+}
@@ -1,265 +1,308 @@
 package com.snake.game;
 
-import java.awt.Color;
+import java.awt.BorderLayout;
 import java.awt.Dimension;
-import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.Point;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.awt.GraphicsEnvironment;
+import java.awt.HeadlessException;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.util.List;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 import javax.swing.JPanel;
-import javax.swing.Timer;
 
+import com.snake.ai.Autopilot;
+import com.snake.analytics.AnalyticsRecorder;
 import com.snake.entities.Direction;
-import com.snake.entities.Food;
-import com.snake.entities.Snake;
-import com.snake.utils.Constants;
+import com.snake.replay.ReplayWriter;
+import com.snake.scores.HighScore;
+import com.snake.scores.HighScoreStore;
+import com.snake.utils.AllocationCounter;
+import com.snake.utils.GameConfig;
+import com.snake.utils.GameLog;
+import com.snake.utils.RenderResources;
 import com.snake.utils.SoundManager;
 
-public class GamePanel extends JPanel implements ActionListener, KeyListener {
+/**
+ * The game screen, created once and reused for every game
+ * Showing it starts a new game with its loop, music and recording,
+ * hiding it stops all of them
+ */
+public class GamePanel extends JPanel implements GameLoop.Listener, KeyListener, Screen {
     
     // ===== GAME OBJECT =====
-    private Snake snake;
-    private Food food;
-    private GameState gameState;
-    private int score;
+    private GameEngine engine;
     private SoundManager soundManager;
     private GameFrame gameFrame;
+    private GameRenderer renderer;
+
+    // Only set when render.mode=active, frames then bypass paintComponent
+    private GameCanvas canvas;
+
+    // ===== PERFORMANCE =====
+    private final PerformanceMetrics metrics = new PerformanceMetrics();
+    private final PerformanceHud hud = new PerformanceHud(metrics);
 
     // ===== GAME LOOP =====
-    private Timer gameTimer;
+    private GameLoop gameLoop;
+
+    // Between onShow() and onHide(), event dispatch thread only
+    private boolean shown;
+
+    // Frame rate used when the display does not report its refresh rate
+    private static final int DEFAULT_REFRESH_RATE = 60;
+
+    // ===== REPLAY =====
+    private ReplayWriter replayWriter;
+
+    // ===== HIGH SCORES =====
+    // Set once opened in the background, null until then or when scores.file is off
+    private volatile HighScoreStore scores;
+    // Set when the window goes away, a store opened after that is closed right away
+    private volatile boolean scoresClosed;
 
-    // ===== COLORS =====
-    private static final Color COLOR_BACKGROUND = new Color(30, 30,30);
-    private static final Color COLOR_GRID = new Color(50, 50, 50);
-    private static final Color COLOR_SNAKE_HEAD = new Color(0, 225, 0);
-    private static final Color COLOR_SNAKE_BODY = new Color(0, 150, 0);
-    private static final Color COLOR_FOOD = new Color(200, 50, 0);
-    private static final Color COLOR_TEXT = Color.WHITE;
+    // Games the autopilot played a part in do not count as high scores, engine lock
+    private boolean autopilotUsed;
+
+    // Game that just ended, taken under the engine lock, loop thread only
+    private HighScore finishedGame;
+
+    // ===== ANALYTICS =====
+    // Streams every tick of the session, null when analytics.dir is off
+    private AnalyticsRecorder analytics;
+
+    // ===== INPUT =====
+    // Key presses queued for the loop thread, one turn per tick
+    private final KeyboardController keyboard = new KeyboardController(metrics);
+    private final Autopilot autopilot = new Autopilot();
+
+    // Both run on the loop thread and record their moves for the replay
+    private final Controller recordedKeyboard = new RecordingController(keyboard);
+    private final Controller recordedAutopilot = new RecordingController(autopilot);
 
     // ===== CONSTRUCTOR =====
-    public GamePanel(GameFrame gameFrame) {
+    public GamePanel(GameFrame gameFrame, GameConfig config) {
         this.gameFrame = gameFrame;
 
         // Set panel size
-        setPreferredSize(new Dimension(Constants.GAME_WIDTH, Constants.GAME_HEIGHT));
-        setBackground(COLOR_BACKGROUND);
-
-        // Enable keyboard input
-        setFocusable(true);
-        addKeyListener(this);
+        setPreferredSize(new Dimension(config.getGameWidth(), config.getGameHeight()));
+        setBackground(RenderResources.COLOR_BACKGROUND);
 
         // Initialize game
-        initGame();
+        engine = new GameEngine(config);
+        renderer = new GameRenderer(config);
+        renderer.setHud(hud);
+
+        // Enable keyboard input, on the canvas when it covers the panel
+        if (config.isActiveRendering()) {
+            canvas = new GameCanvas(renderer, config);
+            canvas.addKeyListener(this);
+            setLayout(new BorderLayout());
+            add(canvas, BorderLayout.CENTER);
+        } else {
+            setFocusable(true);
+            addKeyListener(this);
+        }
 
         // Initialize sound manager
         soundManager = SoundManager.getInstance();
 
-        // Start background music
-        soundManager.playBackgroundLoop();
+        // Game loop thread, frames follow the display refresh rate, started by onShow()
+        gameLoop = new GameLoop(engine, new TickScheduler(SpeedCurve.of(config), config.getCatchUpTicks()),
+                1000000000L / getRefreshRate(), this);
+        gameLoop.setMetrics(metrics);
+        metrics.setSources(gameLoop.getStats(), keyboard);
 
-        // Start the game loop timer
-        gameTimer = new Timer(Constants.GAME_SPEED, this);
-        gameTimer.start();
-    }
+        openScores(config.getScoresFile());
 
-    /**
-     * Initializes or resets the game state
-     */
-    private void initGame() {
-        snake = new Snake();
-        food = new Food();
-        food.respawn(snake);
-        gameState = GameState.PLAYING;
-        score = 0;
+        // Quitting closes the window without hiding this screen, end the session here as well
+        gameFrame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeSession();
+            }
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                closeSession();
+            }
+        });
     }
 
+    // ===== SCREEN LIFECYCLE =====
+
     /**
-     * Called every time the Timer fires (every 150ms)
-     * This IS the game loop
+     * Starts a new game every time the screen is shown
      */
     @Override
-    public void actionPerformed(ActionEvent e) {
-        if (gameState == GameState.PLAYING) {
-            updateGame();
+    public void onShow() {
+        shown = true;
+        synchronized (engine) {
+            engine.reset();
+            keyboard.clear();
+            autopilot.reset();
+            gameLoop.setController(recordedKeyboard);
+            autopilotUsed = false;
+            startRecording();
+        }
+        metrics.startSession();
+        startAnalytics();
+        if (canvas != null) {
+            canvas.restore();
         }
-        repaint(); // Always repaint to show changes
-    }
-
-    /**
-     * Updates all game logic for one frame
-     */
-    private void updateGame() {
-        // 1. Move snake
-        snake.move();
-
-        // 2. Check collisions
-        checkCollisions();
 
-        // 3. Check if snake ate food
-        checkFood();
+        soundManager.playBackgroundLoop();  // Start background music
+        gameLoop.start();
+        requestFocusInWindow();  // Keyboard input
     }
 
     /**
-     * Checks if snake hit wall or itself
+     * Stops the loop, music and recording when leaving the game
      */
-    private void checkCollisions() {
-        if (snake.hasCollideWithWall() || snake.hasCollideWithSelf()) {
-            gameState = GameState.GAME_OVER;
-            gameTimer.stop();
-            soundManager.stopBackground();  // Stop music
-            soundManager.playGameOver();    // Play game over sound
+    @Override
+    public void onHide() {
+        shown = false;
+        gameLoop.stop();
+        exportMetrics();
+        stopAnalytics();
+        if (canvas != null) {
+            synchronized (engine) {
+                canvas.dispose();
+            }
         }
+        stopRecording();
+        soundManager.stopBackground();
     }
 
     /**
-     * Checks if snake head is on food
+     * Runs onHide() if the game is on screen, then closes the high scores
+     * The window exits the JVM right after windowClosing, and the analytics
+     * writer is a daemon thread, so anything not written here is lost
      */
-    private void checkFood() {
-        if (snake.isHeadAt(food.getPosition())) {
-            snake.grow();
-            score += 10;
-            food.respawn(snake);
-            soundManager.playEat();  // Play eat sound
+    private void closeSession() {
+        if (shown) {
+            onHide();
         }
+        closeScores();
     }
 
-    // ===== RENDERING PANEL =====
-
     /**
-     * Draws everything on screen
-     * Called automatically when repaint() is called
+     * Called by the game loop thread with the engine lock held, right after the tick
      */
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
-
-        //  Draw game elements
-        drawGrid(g2d);
-        drawFood(g2d);
-        drawSnake(g2d);
-        drawScore(g2d);
-        drawPosition(g2d);  
-
-        // Draw overlay screens
-        if (gameState == GameState.PAUSED) {
-            drawPauseScreen(g2d);
-        } else if (gameState == GameState.GAME_OVER) {
-            drawGameOverScreen(g2d);
+    public void onStep(TickResult result, Controller controller) {
+        if (analytics != null) {
+            analytics.record(engine, result, controller == recordedAutopilot);
+        }
+        if (result == TickResult.DIED || result == TickResult.WON) {
+            // Still the game that ended, R cannot have restarted the replay yet
+            stopRecording();
+            if (!autopilotUsed) {
+                finishedGame = HighScore.of(engine);
+            }
         }
     }
 
     /**
-     * Draws the background grid
+     * Called by the game loop thread after every tick that changed the game
      */
-    private void drawGrid(Graphics2D g2d) {
-        g2d.setColor(COLOR_GRID);
-
-        // Vertical lines
-        for (int x = 0; x <= Constants.GRID_WIDTH; x++) {
-            int pixelX = x * Constants.CELL_SIZE;
-            g2d.drawLine(pixelX, 0, pixelX, Constants.GAME_HEIGHT);
+    @Override
+    public void onTick(TickResult result) {
+        if (result == TickResult.DIED || result == TickResult.WON) {
+            recordScore();
         }
 
-        // Horizontal lines
-        for (int y = 0; y <= Constants.GRID_HEIGHT; y++) {
-            int pixelY = y * Constants.CELL_SIZE;
-            g2d.drawLine(0, pixelY, Constants.GAME_WIDTH, pixelY);
+        if (result == TickResult.DIED) {
+            soundManager.stopBackground();  // Stop music
+            soundManager.playGameOver();    // Play game over sound
+        } else if (result == TickResult.WON) {
+            soundManager.stopBackground();  // Stop music
+            soundManager.playEat();  // Play eat sound for the last food
+        } else if (result == TickResult.ATE) {
+            soundManager.playEat();  // Play eat sound
         }
     }
 
     /**
-     * Draws the snake
+     * Called by the game loop thread when a new frame is due
      */
-    private void drawSnake(Graphics2D g2d) {
-        List<Point> body = snake.getBody();
-
-        for (int i = 0; i < body.size(); i++) {
-            Point segment = body.get(i);
-
-            // Head is brighter green
-            if (i == 0) {
-                g2d.setColor(COLOR_SNAKE_HEAD);
-            } else {
-                g2d.setColor(COLOR_SNAKE_BODY);
-            }
+    @Override
+    public void onFrame() {
+        if (canvas == null) {
+            repaint();
+            return;
+        }
 
-            fillCell(g2d, segment.x, segment.y);
+        // Active rendering, draw right here on the game loop thread
+        synchronized (engine) {
+            AllocationCounter paintAllocations = metrics.getPaintAllocations();
+            long start = System.nanoTime();
+            paintAllocations.begin();
+            canvas.render(engine, getInterpolation());
+            paintAllocations.end();
+            metrics.recordFrame(start, System.nanoTime());
         }
     }
 
     /**
-     * Draws the food
+     * Focuses the canvas instead of the panel while it takes the key events
      */
-    private void drawFood(Graphics2D g2d) {
-        g2d.setColor(COLOR_FOOD);
-        fillCell(g2d, food.getX(), food.getY());
+    @Override
+    public boolean requestFocusInWindow() {
+        return canvas != null ? canvas.requestFocusInWindow() : super.requestFocusInWindow();
     }
 
     /**
-     * Draws the score at top of screen
+     * Refresh rate of the screen, or 60 when unknown
      */
-    private void drawScore(Graphics2D g2d) {
-        g2d.setColor(COLOR_TEXT);
-        g2d.setFont(new Font("Arial", Font.BOLD, 16));
-        g2d.drawString("Score: " + score, 10, 20);
+    private int getRefreshRate() {
+        try {
+            int rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                    .getDisplayMode().getRefreshRate();
+            return rate > 0 ? rate : DEFAULT_REFRESH_RATE;
+        } catch (HeadlessException e) {
+            return DEFAULT_REFRESH_RATE;
+        }
     }
 
-    /**
-     * Draws the actual snake position at top of screen below the score
-     */
-    private void drawPosition(Graphics2D g2d) {
-        Point head = snake.getHead();
-        g2d.setColor(COLOR_TEXT);
-        g2d.setFont(new Font("Arial", Font.PLAIN, 14));
-        g2d.drawString("Position: " + head.x + ", " + head.y, 10, 40);
-    }
+    // ===== RENDERING PANEL =====
 
     /**
-     * Draws pause overlay 
+     * Draws everything on screen
+     * Called automatically when repaint() is called
      */
-    private void drawPauseScreen(Graphics2D g2d) {
-        // Dark overlay
-        g2d.setColor(new Color(0, 0, 0, 150));
-        g2d.fillRect(0, 0, Constants.GAME_WIDTH, Constants.GAME_HEIGHT);
-
-        // Pause text
-        g2d.setColor(COLOR_TEXT);
-        g2d.setFont(new Font("Arial", Font.BOLD, 40));
-        drawCenteredString(g2d, "GAME PAUSED", Constants.GAME_HEIGHT / 2 - 20);
-
-        g2d.setFont(new Font("Arial", Font.BOLD, 20));
-        drawCenteredString(g2d, "Press P to continue", Constants.GAME_HEIGHT / 2 + 20);
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+
+        if (canvas != null) {
+            return; // The canvas draws itself
+        }
+
+        synchronized (engine) {
+            AllocationCounter paintAllocations = metrics.getPaintAllocations();
+            long start = System.nanoTime();
+            paintAllocations.begin();
+            renderer.render((Graphics2D) g, engine, getInterpolation());
+            paintAllocations.end();
+            metrics.recordFrame(start, System.nanoTime());
+        }
     }
 
     /**
-     * Draws game over overlay
+     * Progress between ticks, call with the engine lock held
+     * The snake only slides between ticks while it is moving
      */
-    private void drawGameOverScreen(Graphics2D g2d) {
-        // Red overlay
-        g2d.setColor(new Color(100, 0, 0, 150));
-        g2d.fillRect(0, 0, Constants.GAME_WIDTH, Constants.GAME_HEIGHT);
-
-        // Game over text
-        g2d.setColor(new Color(200, 0, 0));
-        g2d.setFont(new Font("Arial", Font.BOLD, 40));
-        drawCenteredString(g2d, "GAME OVER", Constants.GAME_HEIGHT / 2 - 40);
-
-        // Final score
-        g2d.setColor(COLOR_TEXT);
-        g2d.setFont(new Font("Arial", Font.BOLD, 40));
-        drawCenteredString(g2d, "Final Score: " + score, Constants.GAME_HEIGHT / 2);
-
-        // Restart instruction
-        g2d.setFont(new Font("Arial", Font.PLAIN, 18));
-        drawCenteredString(g2d, "Press R to restart the game", Constants.GAME_HEIGHT / 2 + 40);
+    private double getInterpolation() {
+        return engine.getGameState() == GameState.PLAYING ? gameLoop.getInterpolation() : 1.0;
     }
 
     // ===== KEYBOARD INPUT =====
@@ -271,46 +314,55 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     public void keyPressed(KeyEvent e) {
         int key = e.getKeyCode();
 
-        // Arrow keys - only when playing
-        if (gameState == GameState.PLAYING) {
+        // Arrow keys - only when playing, presses during a pause are dropped rather than queued
+        if (isGamePlaying()) {
             switch (key) {
                 case KeyEvent.VK_UP:
                 case KeyEvent.VK_W:
-                    snake.setDirection(Direction.UP);
+                    steer(Direction.UP);
                     break;
                 
                 case KeyEvent.VK_DOWN:
                 case KeyEvent.VK_S:
-                    snake.setDirection(Direction.DOWN);
+                    steer(Direction.DOWN);
                     break;
                 
                 case KeyEvent.VK_LEFT:
                 case KeyEvent.VK_A:
-                    snake.setDirection(Direction.LEFT);
+                    steer(Direction.LEFT);
                     break;
                 
                 case KeyEvent.VK_RIGHT:
                 case KeyEvent.VK_D:
-                    snake.setDirection(Direction.RIGHT);
+                    steer(Direction.RIGHT);
                     break;
             }
         }
 
+        // F3 - Performance overlay
+        if (key == KeyEvent.VK_F3) {
+            hud.toggle();
+            gameLoop.markDirty();
+        }
+
+        // B - Autopilot toggle
+        if (key == KeyEvent.VK_B) {
+            toggleAutopilot();
+        }
+
         // P - Pause toggle
         if (key == KeyEvent.VK_P) {
             togglePause();
         }
 
         // R - Restart 
-        if (key == KeyEvent.VK_R && gameState == GameState.GAME_OVER) {
+        if (key == KeyEvent.VK_R && isGameFinished()) {
             restartGame();
         }
 
         // ESC - Back to menu
         if (key == KeyEvent.VK_ESCAPE) {
-            gameTimer.stop();
-            soundManager.stopBackground();
-            gameFrame.showMenu();
+            gameFrame.showMenu();  // Hiding the game stops it, see onHide()
         }
     }
 
@@ -318,45 +370,295 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
      * Toggles between PLAYING and PAUSED
      */
     private void togglePause() {
-        if (gameState == GameState.PLAYING) {
-            gameState = GameState.PAUSED;
-            gameTimer.stop();
+        GameState gameState;
+        synchronized (engine) {
+            engine.togglePause();
+            gameState = engine.getGameState();
+        }
+
+        if (gameState == GameState.PAUSED) {
             soundManager.stopBackground();  // Stop music when paused
-            repaint();
-        } else if (gameState == GameState.PAUSED) {
-            gameState = GameState.PLAYING;
-            gameTimer.start();
+        } else if (gameState == GameState.PLAYING) {
             soundManager.playBackgroundLoop();  // Resume music
         }
+        gameLoop.markDirty();
     }
 
     /**
      * Restarts the game
      */
     private void restartGame() {
-        initGame();
-        gameTimer.start();
+        synchronized (engine) {
+            engine.reset();
+            keyboard.clear();
+            autopilot.reset();
+            autopilotUsed = gameLoop.getController() == recordedAutopilot;
+            startRecording();
+        }
         soundManager.playBackgroundLoop();  // Restart music
+        gameLoop.markDirty();
+    }
+
+    /**
+     * Hands the snake to the autopilot or takes it back
+     */
+    private void toggleAutopilot() {
+        synchronized (engine) {
+            if (gameLoop.getController() == recordedKeyboard) {
+                autopilot.reset();
+                gameLoop.setController(recordedAutopilot);
+                autopilotUsed = true;
+            } else {
+                keyboard.clear();
+                gameLoop.setController(recordedKeyboard);
+            }
+        }
+    }
+
+    /**
+     * Queues a direction for the next tick without taking the engine lock
+     * Arrow keys are ignored while the autopilot is flying
+     */
+    private void steer(Direction direction) {
+        if (gameLoop.getController() == recordedKeyboard) {
+            keyboard.press(direction);
+        }
+    }
+
+    /**
+     * Writes an input to the replay, call with the engine lock held
+     */
+    private void recordInput(Direction direction) {
+        if (replayWriter != null) {
+            try {
+                replayWriter.recordInput(engine.getTick(), direction);
+            } catch (IOException e) {
+                GameLog.warning("Error writing replay: " + e.getMessage());
+                closeReplay();
+            }
+        }
+    }
+
+    // ===== REPLAY RECORDING =====
+
+    /**
+     * Opens a replay file for the current game if recording is enabled
+     * Replay methods are called with the engine lock held or take it themselves
+     */
+    private void startRecording() {
+        stopRecording();
+
+        String dir = engine.getConfig().getReplayDir();
+        if (dir == null) {
+            return;
+        }
+
+        File file = new File(dir, "replay-" + System.currentTimeMillis() + ".snkr");
+        try {
+            file.getParentFile().mkdirs();
+            replayWriter = new ReplayWriter(new FileOutputStream(file), engine.getSeed(), engine.getConfig());
+        } catch (IOException e) {
+            GameLog.warning("Could not start replay: " + e.getMessage());
+            replayWriter = null;
+        }
+    }
+
+    /**
+     * Writes the end marker and closes the replay file
+     */
+    private void stopRecording() {
+        synchronized (engine) {
+            if (replayWriter == null) {
+                return;
+            }
+
+            try {
+                replayWriter.finish(engine.getTick());
+            } catch (IOException e) {
+                GameLog.warning("Error writing replay: " + e.getMessage());
+            }
+            closeReplay();
+        }
+    }
+
+    private void closeReplay() {
+        try {
+            replayWriter.close();
+        } catch (IOException e) {
+            GameLog.warning("Error closing replay: " + e.getMessage());
+        }
+        replayWriter = null;
+    }
+
+    /**
+     * Passes another controller's moves through to the replay
+     */
+    private class RecordingController implements Controller {
+
+        private final Controller source;
+
+        RecordingController(Controller source) {
+            this.source = source;
+        }
+
+        @Override
+        public Direction decide(GameEngine game) {
+            Direction direction = source.decide(game);
+            if (direction != null) {
+                recordInput(direction);
+            }
+            return direction;
+        }
+    }
+
+    // ===== HIGH SCORES =====
+
+    /**
+     * Opens the high score file on a background thread, reading a long log takes a while
+     */
+    private void openScores(final String path) {
+        if (path == null) {
+            return;
+        }
+
+        Thread loader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    HighScoreStore store = HighScoreStore.open(new File(path));
+                    GameLog.info("High scores: " + store.size() + " games, best " + store.getBestScore()
+                            + (store.getCorruptRecords() > 0 ? ", " + store.getCorruptRecords() + " damaged" : ""));
+                    scores = store;
+                    if (scoresClosed) {
+                        closeScores();
+                    }
+                } catch (IOException e) {
+                    GameLog.warning("Could not open high scores: " + e.getMessage());
+                }
+            }
+        }, "score-loader");
+        loader.setDaemon(true);
+
+        loader.setPriority(Thread.MIN_PRIORITY);
+        loader.start();
+    }
+
+    /**
+     * Syncs and closes the high score file, stop the loop first so nothing is appended after
+     */
+    private void closeScores() {
+        scoresClosed = true;
+        HighScoreStore store = scores;
+        scores = null;
+        if (store == null) {
+            return;
+        }
+
+        try {
+            store.close();
+        } catch (IOException e) {
+            GameLog.warning("Could not close high scores: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the game onStep() took to the high scores, called by the loop thread
+     * Only copies the record into the mapped file, the operating system writes it back later
+     */
+    private void recordScore() {
+        HighScore game = finishedGame;
+        finishedGame = null;
+        HighScoreStore store = scores;
+        if (store == null || game == null) {
+            return;
+        }
+
+        try {
+            int place = store.append(game);
+            if (place >= 0) {
+                GameLog.info("New high score, place " + (place + 1) + ": " + game.getScore());
+            }
+        } catch (IOException e) {
+            GameLog.warning("Could not save high score: " + e.getMessage());
+        }
+    }
+
+    // ===== ANALYTICS =====
+
+    /**
+     * Opens an analytics file for the session if analytics.dir is set, before the loop starts
+     */
+    private void startAnalytics() {
+        String dir = engine.getConfig().getAnalyticsDir();
+        if (dir == null) {
+            return;
+        }
+
+        File file = new File(dir, "analytics-" + System.currentTimeMillis() + ".snka");
+        try {
+            file.getParentFile().mkdirs();
+            analytics = new AnalyticsRecorder(new FileOutputStream(file));
+        } catch (IOException e) {
+            GameLog.warning("Could not start analytics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the rest of the session's events and closes the file, after the loop stopped
+     */
+    private void stopAnalytics() {
+        if (analytics == null) {
+            return;
+        }
+
+        try {
+            analytics.close();
+            GameLog.fine("Analytics: " + analytics);
+        } catch (IOException e) {
+            GameLog.warning("Error writing analytics: " + e.getMessage());
+        }
+        analytics = null;
+    }
+
+    // ===== METRICS EXPORT =====
+
+    /**
+     * Writes the session's performance figures as CSV if metrics.dir is set
+     */
+    private void exportMetrics() {
+        String dir = engine.getConfig().getMetricsDir();
+        if (dir == null) {
+            return;
+        }
+
+        File file = new File(dir, "metrics-" + System.currentTimeMillis() + ".csv");
+        file.getParentFile().mkdirs();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            metrics.export(writer);
+        } catch (IOException e) {
+            GameLog.warning("Could not export metrics: " + e.getMessage());
+        }
     }
 
     // ===== HELPER METHODS =====
 
     /**
-     * Fills a cell at grid coordinates
+     * Checks if the snake is moving, the loop thread changes the state under the engine lock
      */
-    private void fillCell(Graphics2D g2d, int gridX, int gridY) {
-        int pixelX = gridX * Constants.CELL_SIZE;
-        int pixelY = gridY * Constants.CELL_SIZE;
-        g2d.fillRect(pixelX + 1, pixelY + 1, Constants.CELL_SIZE - 2, Constants.CELL_SIZE - 2);
+    private boolean isGamePlaying() {
+        synchronized (engine) {
+            return engine.getGameState() == GameState.PLAYING;
+        }
     }
 
     /**
-     * Draws text centered horizontally
+     * Checks if the game ended, either by dying or by filling the board
      */
-    private void drawCenteredString(Graphics2D g2d, String text, int y) {
-        FontMetrics metrics = g2d.getFontMetrics();
-        int x = (Constants.GAME_WIDTH - metrics.stringWidth(text)) / 2;
-        g2d.drawString(text, x, y);
+    private boolean isGameFinished() {
+        synchronized (engine) {
+            GameState gameState = engine.getGameState();
+            return gameState == GameState.GAME_OVER || gameState == GameState.WON;
+        }
     }
 
     /**
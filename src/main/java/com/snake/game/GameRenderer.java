@@ -0,0 +1,362 @@
+package com.snake.game;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+import com.snake.entities.Direction;
+import com.snake.entities.Snake;
+import com.snake.utils.GameConfig;
+import com.snake.utils.RenderResources;
+import com.snake.utils.TextImage;
+
+/**
+ * Draws a game engine state with Java2D
+ * Has no Swing dependency, so it can also draw into offscreen images
+ *
+ * The grid, the body and the food live in a board image that is built once
+ * and then only patched for the cells each tick changed. A frame is one blit
+ * of that image plus the moving head, the retracting tail and the text.
+ */
+public class GameRenderer {
+
+    // Grid lines are skipped when cells get smaller than this
+    private static final int MIN_CELL_SIZE_FOR_GRID = 4;
+
+    // ===== BOARD GEOMETRY =====
+    private final int gridWidth;
+    private final int gridHeight;
+    private final int cellSize;
+    private final int cellInset;
+    private final int gameWidth;
+    private final int gameHeight;
+
+    // ===== BOARD IMAGE =====
+    private BufferedImage board;
+    private Graphics2D boardGraphics;
+    private long boardGeneration = -1;
+    private long boardTick;
+    private int boardFoodX;
+    private int boardFoodY;
+
+    // Translucent overlays, filled once since translucent fills allocate on every call
+    private BufferedImage pauseOverlay;
+    private BufferedImage gameOverOverlay;
+    private BufferedImage winOverlay;
+
+    // ===== TEXT =====
+    // Changing text is keyed by the value it shows and only rendered again when that changes
+    private final TextImage scoreText = new TextImage(RenderResources.FONT_SCORE, RenderResources.COLOR_TEXT);
+    private final TextImage positionText = new TextImage(RenderResources.FONT_SMALL, RenderResources.COLOR_TEXT);
+    private final TextImage finalScoreText = new TextImage(RenderResources.FONT_HEADING, RenderResources.COLOR_TEXT);
+    private final TextImage pausedText = new TextImage(RenderResources.FONT_HEADING, RenderResources.COLOR_TEXT,
+            "GAME PAUSED");
+    private final TextImage continueText = new TextImage(RenderResources.FONT_BUTTON_SMALL, RenderResources.COLOR_TEXT,
+            "Press P to continue");
+    private final TextImage gameOverText = new TextImage(RenderResources.FONT_HEADING, RenderResources.COLOR_GAME_OVER,
+            "GAME OVER");
+    private final TextImage winText = new TextImage(RenderResources.FONT_HEADING, RenderResources.COLOR_SNAKE_HEAD,
+            "YOU WIN!");
+    private final TextImage restartText = new TextImage(RenderResources.FONT_HINT, RenderResources.COLOR_TEXT,
+            "Press R to restart the game");
+
+    // Drawn on top of everything while visible, null when there is none
+    private PerformanceHud hud;
+
+    // Constructor
+    public GameRenderer(GameConfig config) {
+        gridWidth = config.getGridWidth();
+        gridHeight = config.getGridHeight();
+        cellSize = config.getCellSize();
+        cellInset = cellSize >= 3 ? 1 : 0; // Keep a gap between cells while they are big enough
+        gameWidth = config.getGameWidth();
+        gameHeight = config.getGameHeight();
+    }
+
+    /**
+     * Draws the whole game exactly as of the last tick
+     * @param g2d Target graphics, e.g. the panel or an offscreen image
+     * @param engine The game to draw
+     */
+    public void render(Graphics2D g2d, GameEngine engine) {
+        render(g2d, engine, 1.0);
+    }
+
+    /**
+     * Draws the whole game, background included
+     * @param g2d Target graphics, e.g. the panel or an offscreen image
+     * @param engine The game to draw
+     * @param alpha Progress towards the last tick's positions, 0.0 draws the
+     *              head and tail where they were one tick earlier
+     */
+    public void render(Graphics2D g2d, GameEngine engine, double alpha) {
+        // Bring the board image up to date and copy it
+        updateBoard(g2d, engine);
+        g2d.drawImage(board, 0, 0, null);
+
+        //  Draw moving parts and text
+        drawSnakeEnds(g2d, engine, alpha);
+        drawScore(g2d, engine);
+        drawPosition(g2d, engine);
+
+        // Draw overlay screens
+        GameState gameState = engine.getGameState();
+        if (gameState == GameState.PAUSED) {
+            drawPauseScreen(g2d);
+        } else if (gameState == GameState.GAME_OVER) {
+            drawGameOverScreen(g2d, engine);
+        } else if (gameState == GameState.WON) {
+            drawWinScreen(g2d, engine);
+        }
+
+        if (hud != null && hud.isVisible()) {
+            hud.draw(g2d, gameWidth);
+        }
+    }
+
+    /**
+     * Sets the performance overlay drawn over every frame while visible
+     */
+    public void setHud(PerformanceHud hud) {
+        this.hud = hud;
+    }
+
+    /**
+     * Patches the board image with the cells changed since the last frame
+     * Falls back to a full redraw after a reset or when too many ticks were missed
+     */
+    private void updateBoard(Graphics2D target, GameEngine engine) {
+        if (board == null) {
+            // Same pixel layout as the target, so the copy each frame is a plain blit
+            board = target.getDeviceConfiguration().createCompatibleImage(gameWidth, gameHeight);
+            boardGraphics = board.createGraphics();
+        }
+
+        long tick = engine.getTick();
+        if (engine.getGeneration() != boardGeneration || !BoardJournal.covers(boardTick, tick)) {
+            redrawBoard(engine);
+            return;
+        }
+
+        // Eaten food is cleared first, a neck painted below may cover it again
+        if (engine.getFood().getX() != boardFoodX || engine.getFood().getY() != boardFoodY) {
+            boardGraphics.setColor(RenderResources.COLOR_BACKGROUND);
+            fillCell(boardGraphics, boardFoodX, boardFoodY);
+        }
+
+        BoardJournal journal = engine.getJournal();
+        for (long t = boardTick + 1; t <= tick; t++) {
+            // Neck before tail, a one cell snake leaves the cell it was on
+            int neck = journal.getNeck(t);
+            boardGraphics.setColor(RenderResources.COLOR_SNAKE_BODY);
+            fillCell(boardGraphics, neck % gridWidth, neck / gridWidth);
+
+            int vacated = journal.getVacated(t);
+            if (vacated >= 0) {
+                boardGraphics.setColor(RenderResources.COLOR_BACKGROUND);
+                fillCell(boardGraphics, vacated % gridWidth, vacated / gridWidth);
+            }
+        }
+        boardTick = tick;
+
+        drawBoardFood(engine);
+    }
+
+    /**
+     * Draws the whole board image from scratch
+     */
+    private void redrawBoard(GameEngine engine) {
+        boardGraphics.setColor(RenderResources.COLOR_BACKGROUND);
+        boardGraphics.fillRect(0, 0, gameWidth, gameHeight);
+        drawGrid(boardGraphics);
+
+        // Body from the neck down, the head is drawn on top every frame
+        Snake snake = engine.getSnake();
+        boardGraphics.setColor(RenderResources.COLOR_SNAKE_BODY);
+        int x = snake.getHeadX();
+        int y = snake.getHeadY();
+        for (int i = 1; i < snake.getLength(); i++) {
+            Direction link = snake.getLink(i);
+            x += link.getDx();
+            y += link.getDy();
+            fillCell(boardGraphics, x, y);
+        }
+        drawBoardFood(engine);
+
+        boardGeneration = engine.getGeneration();
+        boardTick = engine.getTick();
+    }
+
+    /**
+     * Draws the background grid
+     */
+    private void drawGrid(Graphics2D g2d) {
+        if (cellSize < MIN_CELL_SIZE_FOR_GRID) {
+            return; // Lines would cover the whole board
+        }
+        g2d.setColor(RenderResources.COLOR_GRID);
+
+        // Vertical lines
+        for (int x = 0; x <= gridWidth; x++) {
+            int pixelX = x * cellSize;
+            g2d.drawLine(pixelX, 0, pixelX, gameHeight);
+        }
+
+        // Horizontal lines
+        for (int y = 0; y <= gridHeight; y++) {
+            int pixelY = y * cellSize;
+            g2d.drawLine(0, pixelY, gameWidth, pixelY);
+        }
+    }
+
+    /**
+     * Draws the head and the tail end, sliding between cells while alpha < 1
+     * The rest of the body is already on the board image
+     */
+    private void drawSnakeEnds(Graphics2D g2d, GameEngine engine, double alpha) {
+        Snake snake = engine.getSnake();
+        int length = snake.getLength();
+
+        // Tail end retracting out of the cell it left
+        if (alpha < 1.0 && snake.hasVacatedTail() && length > 1) {
+            g2d.setColor(RenderResources.COLOR_SNAKE_BODY);
+            fillCell(g2d,
+                    lerp(snake.getVacatedTailX(), snake.getTailX(), alpha),
+                    lerp(snake.getVacatedTailY(), snake.getTailY(), alpha));
+        }
+
+        // Head is brighter green, sliding from the neck into its new cell
+        g2d.setColor(RenderResources.COLOR_SNAKE_HEAD);
+        if (alpha < 1.0 && length > 1) {
+            fillCell(g2d, lerp(snake.getX(1), snake.getHeadX(), alpha), lerp(snake.getY(1), snake.getHeadY(), alpha));
+        } else {
+            fillCell(g2d, snake.getHeadX(), snake.getHeadY());
+        }
+    }
+
+    /**
+     * Draws the food on the board image and remembers where it is
+     */
+    private void drawBoardFood(GameEngine engine) {
+        boardFoodX = engine.getFood().getX();
+        boardFoodY = engine.getFood().getY();
+        boardGraphics.setColor(RenderResources.COLOR_FOOD);
+        fillCell(boardGraphics, boardFoodX, boardFoodY);
+    }
+
+    /**
+     * Draws the score at top of screen
+     */
+    private void drawScore(Graphics2D g2d, GameEngine engine) {
+        int score = engine.getScore();
+        if (scoreText.isStale(score)) {
+            scoreText.setText(score, "Score: " + score);
+        }
+        scoreText.draw(g2d, 10, 20);
+    }
+
+    /**
+     * Draws the actual snake position at top of screen below the score
+     */
+    private void drawPosition(Graphics2D g2d, GameEngine engine) {
+        Snake snake = engine.getSnake();
+        long position = ((long) snake.getHeadX() << 32) | (snake.getHeadY() & 0xFFFFFFFFL);
+        if (positionText.isStale(position)) {
+            positionText.setText(position, "Position: " + snake.getHeadX() + ", " + snake.getHeadY());
+        }
+        positionText.draw(g2d, 10, 40);
+    }
+
+    /**
+     * Draws pause overlay 
+     */
+    private void drawPauseScreen(Graphics2D g2d) {
+        // Dark overlay
+        if (pauseOverlay == null) {
+            pauseOverlay = createOverlay(g2d, RenderResources.COLOR_PAUSE_OVERLAY);
+        }
+        g2d.drawImage(pauseOverlay, 0, 0, null);
+
+        // Pause text
+        pausedText.drawCentered(g2d, gameWidth, gameHeight / 2 - 20);
+        continueText.drawCentered(g2d, gameWidth, gameHeight / 2 + 20);
+    }
+
+    /**
+     * Draws game over overlay
+     */
+    private void drawGameOverScreen(Graphics2D g2d, GameEngine engine) {
+        // Red overlay
+        if (gameOverOverlay == null) {
+            gameOverOverlay = createOverlay(g2d, RenderResources.COLOR_GAME_OVER_OVERLAY);
+        }
+        g2d.drawImage(gameOverOverlay, 0, 0, null);
+
+        // Game over text, final score and restart instruction
+        gameOverText.drawCentered(g2d, gameWidth, gameHeight / 2 - 40);
+        drawFinalScore(g2d, engine);
+        restartText.drawCentered(g2d, gameWidth, gameHeight / 2 + 40);
+    }
+
+    /**
+     * Draws win overlay when the snake fills the board
+     */
+    private void drawWinScreen(Graphics2D g2d, GameEngine engine) {
+        // Green overlay
+        if (winOverlay == null) {
+            winOverlay = createOverlay(g2d, RenderResources.COLOR_WIN_OVERLAY);
+        }
+        g2d.drawImage(winOverlay, 0, 0, null);
+
+        // Win text, final score and restart instruction
+        winText.drawCentered(g2d, gameWidth, gameHeight / 2 - 40);
+        drawFinalScore(g2d, engine);
+        restartText.drawCentered(g2d, gameWidth, gameHeight / 2 + 40);
+    }
+
+    private void drawFinalScore(Graphics2D g2d, GameEngine engine) {
+        int score = engine.getScore();
+        if (finalScoreText.isStale(score)) {
+            finalScoreText.setText(score, "Final Score: " + score);
+        }
+        finalScoreText.drawCentered(g2d, gameWidth, gameHeight / 2);
+    }
+
+    // ===== HELPER METHODS =====
+
+    /**
+     * Creates a board sized image filled with a translucent color
+     */
+    private BufferedImage createOverlay(Graphics2D target, Color color) {
+        BufferedImage overlay = target.getDeviceConfiguration()
+                .createCompatibleImage(gameWidth, gameHeight, Transparency.TRANSLUCENT);
+        Graphics2D g2d = overlay.createGraphics();
+        g2d.setColor(color);
+        g2d.fillRect(0, 0, gameWidth, gameHeight);
+        g2d.dispose();
+        return overlay;
+    }
+
+    /**
+     * Fills a cell at fractional grid coordinates
+     */
+    private void fillCell(Graphics2D g2d, double gridX, double gridY) {
+        int pixelX = (int) Math.round(gridX * cellSize);
+        int pixelY = (int) Math.round(gridY * cellSize);
+        g2d.fillRect(pixelX + cellInset, pixelY + cellInset, cellSize - 2 * cellInset, cellSize - 2 * cellInset);
+    }
+
+    private static double lerp(int from, int to, double alpha) {
+        return from + (to - from) * alpha;
+    }
+
+    /**
+     * Fills a cell at grid coordinates
+     */
+    private void fillCell(Graphics2D g2d, int gridX, int gridY) {
+        int pixelX = gridX * cellSize;
+        int pixelY = gridY * cellSize;
+        g2d.fillRect(pixelX + cellInset, pixelY + cellInset, cellSize - 2 * cellInset, cellSize - 2 * cellInset);
+    }
+}
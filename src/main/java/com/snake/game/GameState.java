@@ -3,5 +3,6 @@ package com.snake.game;
 public enum GameState {
     PLAYING, // Game is running, snake moves
     PAUSED, // Game is frozen, waiting to resume
-    GAME_OVER // Snake died, waiting to restart
+    GAME_OVER, // Snake died, waiting to restart
+    WON // Snake filled the whole board, waiting to restart
 }
\ No newline at end of file
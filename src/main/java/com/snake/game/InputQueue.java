@@ -0,0 +1,121 @@
+package com.snake.game;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.snake.entities.Direction;
+
+/**
+ * Bounded lock-free queue of timestamped directions
+ *
+ * Single producer (the event dispatch thread) and single consumer (the game
+ * loop thread). Entries live in two parallel arrays indexed by a running
+ * counter, each side publishes its counter with an ordered write, so neither
+ * side ever blocks or allocates. When full, new inputs are dropped.
+ */
+public class InputQueue {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final byte[] directions;
+    private final long[] timestamps;
+    private final int mask;
+
+    // Next entry to read, written by the consumer only
+    private final AtomicLong head = new AtomicLong();
+    // Next entry to write, written by the producer only
+    private final AtomicLong tail = new AtomicLong();
+
+    // Producer's last look at head, refreshed only when the queue seems full
+    private long cachedHead;
+
+    /**
+     * Creates an empty queue
+     * @param capacity Maximum number of queued inputs, rounded up to a power of two
+     */
+    public InputQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 20) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^20: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        directions = new byte[size];
+        timestamps = new long[size];
+        mask = size - 1;
+    }
+
+    // ===== PRODUCER =====
+
+    /**
+     * Adds an input at the end of the queue, producer thread only
+     * @param direction The direction pressed
+     * @param nanos When it was pressed, from System.nanoTime()
+     * @return false if the queue was full and the input was dropped
+     */
+    public boolean offer(Direction direction, long nanos) {
+        long t = tail.get();
+        if (t - cachedHead > mask) {
+            cachedHead = head.get();
+            if (t - cachedHead > mask) {
+                return false;
+            }
+        }
+        int slot = (int) t & mask;
+        directions[slot] = (byte) direction.ordinal();
+        timestamps[slot] = nanos;
+        tail.lazySet(t + 1); // Publishes the slot to the consumer
+        return true;
+    }
+
+    // ===== CONSUMER =====
+
+    /**
+     * Checks if an input is waiting, consumer thread only
+     */
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    /**
+     * Direction of the oldest input, consumer thread only
+     * @return The direction, or null when the queue is empty
+     */
+    public Direction peekDirection() {
+        long h = head.get();
+        return h == tail.get() ? null : DIRECTIONS[directions[(int) h & mask]];
+    }
+
+    /**
+     * Timestamp of the oldest input, call only after peekDirection() returned one
+     */
+    public long peekTimestamp() {
+        return timestamps[(int) head.get() & mask];
+    }
+
+    /**
+     * Drops the oldest input, consumer thread only
+     */
+    public void remove() {
+        long h = head.get();
+        if (h != tail.get()) {
+            head.lazySet(h + 1); // Hands the slot back to the producer
+        }
+    }
+
+    /**
+     * Drops every queued input
+     * Consumer side: call from the consumer thread or while holding the lock it consumes under
+     */
+    public void clear() {
+        head.lazySet(tail.get());
+    }
+
+    /**
+     * Number of queued inputs, may be stale by the time it returns
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,140 @@
+package com.snake.game;
+
+import com.snake.entities.Direction;
+
+/**
+ * Feeds key presses to the game, one turn per tick
+ *
+ * Presses are queued on the event dispatch thread and taken by the game loop
+ * thread, so quick sequences like UP then LEFT within one tick turn twice
+ * over two ticks instead of the second press overwriting the first.
+ * Each tick takes the oldest press that actually turns the snake, presses
+ * that would reverse it or keep its direction are dropped.
+ */
+public class KeyboardController implements Controller {
+
+    // Presses waiting for a tick, more than this are dropped
+    public static final int QUEUE_CAPACITY = 16;
+
+    private final InputQueue queue = new InputQueue(QUEUE_CAPACITY);
+    private final PerformanceMetrics metrics;
+
+    // Each counter has a single writer thread, readable from any thread
+    private volatile long presses;      // Written by the producer
+    private volatile long overflows;    // Written by the producer
+    private volatile long turns;        // Written by the consumer
+    private volatile long discarded;    // Written by the consumer
+    private volatile long totalLatencyNanos;
+    private volatile long maxLatencyNanos;
+
+    // Constructor
+    public KeyboardController() {
+        this(null);
+    }
+
+    /**
+     * Creates a keyboard that also reports turns to the metrics, for key press to screen latency
+     */
+    public KeyboardController(PerformanceMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Queues a key press, event dispatch thread only
+     * @return false if the queue was full and the press was dropped
+     */
+    public boolean press(Direction direction) {
+        presses++;
+        if (!queue.offer(direction, System.nanoTime())) {
+            overflows++;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Takes the oldest press that turns the snake, called by the loop thread every tick
+     * Returns null without taking anything while the game is not playing. GamePanel does not
+     * queue presses during a pause, so turns never wait out a pause and skew the input latency
+     */
+    @Override
+    public Direction decide(GameEngine engine) {
+        if (engine.getGameState() != GameState.PLAYING) {
+            return null;
+        }
+
+        Direction current = engine.getSnake().getDirection();
+        Direction direction;
+        while ((direction = queue.peekDirection()) != null) {
+            long pressed = queue.peekTimestamp();
+            queue.remove();
+            if (direction == current || direction == current.getOpposite()) {
+                discarded++;
+                continue;
+            }
+            recordLatency(System.nanoTime() - pressed);
+            if (metrics != null) {
+                metrics.recordTurn(pressed);
+            }
+            return direction;
+        }
+        return null;
+    }
+
+    /**
+     * Forgets queued presses, e.g. on restart
+     * Call with the engine lock held, decide() runs under the same lock
+     */
+    public void clear() {
+        queue.clear();
+    }
+
+    private void recordLatency(long latencyNanos) {
+        turns++;
+        totalLatencyNanos += latencyNanos;
+        if (latencyNanos > maxLatencyNanos) {
+            maxLatencyNanos = latencyNanos;
+        }
+    }
+
+    // GETTERS
+    public long getPresses() {
+        return presses;
+    }
+
+    public long getOverflows() {
+        return overflows;
+    }
+
+    /**
+     * Presses that turned the snake
+     */
+    public long getTurns() {
+        return turns;
+    }
+
+    /**
+     * Presses dropped because they would reverse the snake or keep its direction
+     */
+    public long getDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * Mean time from key press to the tick that turned the snake
+     */
+    public long getMeanLatencyNanos() {
+        long count = turns;
+        return count == 0 ? 0 : totalLatencyNanos / count;
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("presses=%d turns=%d discarded=%d overflows=%d meanLatency=%.3fms maxLatency=%.3fms",
+                presses, turns, discarded, overflows, getMeanLatencyNanos() / 1e6, maxLatencyNanos / 1e6);
+    }
+}
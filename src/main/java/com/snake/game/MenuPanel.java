@@ -2,7 +2,6 @@ package com.snake.game;
 
 import java.awt.Color;
 import java.awt.Dimension;
-import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.GridBagConstraints;
@@ -15,7 +14,9 @@ import javax.swing.JButton;
 import javax.swing.JPanel;
 
 import com.snake.utils.Constants;
+import com.snake.utils.RenderResources;
 import com.snake.utils.SoundManager;
+import com.snake.utils.StartupTimer;
 
 public class MenuPanel extends JPanel{
     
@@ -32,7 +33,7 @@ public class MenuPanel extends JPanel{
 
         // Set panel size
         setPreferredSize(new Dimension(Constants.MENU_PANEL_WIDTH, Constants.MENU_PANEL_HEIGHT));
-        setBackground(new Color(30, 30, 30));
+        setBackground(RenderResources.COLOR_BACKGROUND);
 
         // Use GridBagLayout to center buttons
         setLayout(new GridBagLayout());
@@ -51,7 +52,7 @@ public class MenuPanel extends JPanel{
 
         // PLAY button
         playButton = new JButton("Play");
-        playButton.setFont(new Font("Arial", Font.BOLD, 24));
+        playButton.setFont(RenderResources.FONT_BUTTON);
         playButton.setPreferredSize(new Dimension(150, 50));
         playButton.setFocusable(false); // This prevents button from stealing focus
 
@@ -69,7 +70,7 @@ public class MenuPanel extends JPanel{
 
         // SETTINGS button
         JButton settingsButton = new JButton("Settings");
-        settingsButton.setFont(new Font("Arial", Font.BOLD, 24));
+        settingsButton.setFont(RenderResources.FONT_BUTTON);
         settingsButton.setPreferredSize(new Dimension(150, 50));
         settingsButton.setFocusable(false);
 
@@ -87,7 +88,7 @@ public class MenuPanel extends JPanel{
 
         // EXIT button
         exitButton = new JButton("Exit");
-        exitButton.setFont(new Font("Arial", Font.BOLD, 24));
+        exitButton.setFont(RenderResources.FONT_BUTTON);
         exitButton.setPreferredSize(new Dimension(150, 50));
         exitButton.setFocusable(false); // This prevents button from stealing focus
 
@@ -114,12 +115,13 @@ public class MenuPanel extends JPanel{
 
         // Draw tittle "SNAKE GAME"
         g2d.setColor(Color.GREEN);
-        g2d.setFont(new Font("Arial", Font.BOLD, 50));
+        g2d.setFont(RenderResources.FONT_TITLE);
 
         String title = "SNAKE GAME";
-        int titleWidth = g2d.getFontMetrics().stringWidth(title);
-        int x = (Constants.MENU_PANEL_WIDTH - titleWidth) / 2;
+        int x = RenderResources.centerX(RenderResources.FONT_TITLE, title, Constants.MENU_PANEL_WIDTH);
 
         g2d.drawString(title, x, 130);
+
+        StartupTimer.firstFrame("menu");
     }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.snake.game;
+
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Locale;
+
+import com.snake.utils.RenderResources;
+import com.snake.utils.TextImage;
+
+/**
+ * Overlay with the last second of performance figures, toggled in game
+ * Lines are rebuilt once per sample, every other frame only copies images
+ */
+public class PerformanceHud {
+
+    private static final int LINES = 6;
+    private static final int MARGIN = 8;
+    private static final int PADDING = 6;
+    private static final int LINE_HEIGHT = 16;
+    private static final int PANEL_WIDTH = 250;
+    private static final int PANEL_HEIGHT = LINES * LINE_HEIGHT + 2 * PADDING;
+
+    private final PerformanceMetrics metrics;
+    private final TextImage[] lines = new TextImage[LINES];
+    private BufferedImage background;
+
+    private volatile boolean visible;
+
+    // Constructor
+    public PerformanceHud(PerformanceMetrics metrics) {
+        this.metrics = metrics;
+        for (int i = 0; i < LINES; i++) {
+            lines[i] = new TextImage(RenderResources.FONT_SMALL, RenderResources.COLOR_TEXT);
+        }
+    }
+
+    /**
+     * Draws the overlay in the top right corner of the board
+     * @param gameWidth Width of the board in pixels
+     */
+    public void draw(Graphics2D g2d, int gameWidth) {
+        PerformanceMetrics.Sample sample = metrics.getLatest();
+        if (sample == null) {
+            return; // Nothing measured yet
+        }
+        if (lines[0].isStale(sample.getSecond())) {
+            update(sample);
+        }
+
+        // Translucent panel, filled once since translucent fills allocate on every call
+        if (background == null) {
+            background = g2d.getDeviceConfiguration()
+                    .createCompatibleImage(PANEL_WIDTH, PANEL_HEIGHT, Transparency.TRANSLUCENT);
+            Graphics2D panel = background.createGraphics();
+            panel.setColor(RenderResources.COLOR_PAUSE_OVERLAY);
+            panel.fillRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT);
+            panel.dispose();
+        }
+        int x = gameWidth - PANEL_WIDTH - MARGIN;
+        g2d.drawImage(background, x, MARGIN, null);
+
+        int baseline = MARGIN + PADDING + LINE_HEIGHT - 4;
+        for (TextImage line : lines) {
+            line.draw(g2d, x + PADDING, baseline);
+            baseline += LINE_HEIGHT;
+        }
+    }
+
+    private void update(PerformanceMetrics.Sample sample) {
+        long key = sample.getSecond();
+        lines[0].setText(key, format("%.1f ticks/s  %.0f fps", sample.getTicksPerSecond(),
+                sample.getFramesPerSecond()));
+        lines[1].setText(key, format("frame p50 %.1f  p99 %.1f  max %.1f ms", millis(sample.getFrameP50()),
+                millis(sample.getFrameP99()), millis(sample.getFrameMax())));
+        lines[2].setText(key, format("paint p50 %.2f  p99 %.2f ms", millis(sample.getPaintP50()),
+                millis(sample.getPaintP99())));
+        lines[3].setText(key, format("tick p99 %.3f ms", millis(sample.getTickP99())));
+        // Presses are too rare for one second, so input latency covers the whole session
+        lines[4].setText(key, format("input p50 %.1f  p99 %.1f ms", millis(metrics.getInputs().percentile(0.5)),
+                millis(metrics.getInputs().percentile(0.99))));
+        lines[5].setText(key, format("GC %d (%d ms)  alloc %.2f MB/s", sample.getGcCount(), sample.getGcMillis(),
+                sample.getAllocatedBytesPerSecond() / 1e6));
+    }
+
+    public void toggle() {
+        visible = !visible;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    private static String format(String pattern, Object... values) {
+        return String.format(Locale.ROOT, pattern, values);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,426 @@
+package com.snake.game;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.snake.utils.AllocationCounter;
+import com.snake.utils.LatencyHistogram;
+
+/**
+ * Timing figures of a game session
+ *
+ * The loop thread records tick durations, the rendering thread records paint
+ * durations and frame times, and the keyboard reports the press time of each
+ * turn so the next frame can measure key press to screen latency. Recording
+ * is lock-free and allocation-free.
+ *
+ * Once per second the rendering thread folds the last second into a Sample,
+ * adding GC activity, the allocation rate, paint garbage and, once
+ * setSources() was called, the loop's late and dropped ticks and the
+ * keyboard's presses. Samples feed the HUD and are kept for export().
+ */
+public class PerformanceMetrics {
+
+    private static final long SAMPLE_NANOS = 1000000000L;
+
+    // Samples kept for export, one hour at one per second
+    private static final int MAX_SAMPLES = 3600;
+
+    private static final String CSV_HEADER = "second,ticks_per_s,frames_per_s,frame_p50_ms,frame_p99_ms,"
+            + "frame_max_ms,paint_p50_ms,paint_p99_ms,tick_p99_ms,input_p50_ms,input_p99_ms,"
+            + "gc_count,gc_ms,alloc_mb_per_s,paint_bytes_per_frame,late_ticks,dropped_ticks,stalls,gc_stalls,"
+            + "key_presses,keys_discarded,key_overflows";
+
+    // ===== RECORDING =====
+    private final LatencyHistogram ticks = new LatencyHistogram();
+    private final LatencyHistogram frames = new LatencyHistogram();
+    private final LatencyHistogram paints = new LatencyHistogram();
+    private final LatencyHistogram inputs = new LatencyHistogram();
+
+    // Press time of the oldest turn not yet on screen, 0 when none
+    private final AtomicLong pendingPress = new AtomicLong();
+    private long lastFrameEnd;
+
+    // Garbage created per frame, should stay at zero once the game is warmed up, rendering thread only
+    private final AllocationCounter paintAllocations = new AllocationCounter();
+
+    // Counters kept elsewhere, read once per sample
+    private volatile TickStats tickStats;
+    private volatile KeyboardController keyboard;
+
+    // ===== SAMPLING, rendering thread only =====
+    private final LatencyHistogram.Interval tickInterval = new LatencyHistogram.Interval(ticks);
+    private final LatencyHistogram.Interval frameInterval = new LatencyHistogram.Interval(frames);
+    private final LatencyHistogram.Interval paintInterval = new LatencyHistogram.Interval(paints);
+    private final LatencyHistogram.Interval inputInterval = new LatencyHistogram.Interval(inputs);
+    private final GarbageCollectorMXBean[] collectors;
+    private final long startTime;
+    private long sampleStart;
+    private long gcCount;
+    private long gcMillis;
+    private long allocatedBytes;
+    private long paintBytes;
+    private long paintSamples;
+    private long lateTicks;
+    private long droppedTicks;
+    private long stalls;
+    private long gcStalls;
+    private long keyPresses;
+    private long keysDiscarded;
+    private long keyOverflows;
+
+    private volatile Sample latest;
+    private final ArrayDeque<Sample> samples = new ArrayDeque<Sample>();
+
+    // Constructor
+    public PerformanceMetrics() {
+        List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+        collectors = beans.toArray(new GarbageCollectorMXBean[beans.size()]);
+        startTime = System.nanoTime();
+        sampleStart = startTime;
+        gcCount = totalCollections();
+        gcMillis = totalCollectionMillis();
+        allocatedBytes = AllocationCounter.processAllocatedBytes();
+    }
+
+    /**
+     * Adds the game loop's tick counters and the keyboard's press counters to every sample
+     * Either may be null
+     */
+    public void setSources(TickStats tickStats, KeyboardController keyboard) {
+        this.tickStats = tickStats;
+        this.keyboard = keyboard;
+    }
+
+    /**
+     * Records how long one engine step took, loop thread
+     */
+    public void recordTick(long nanos) {
+        ticks.record(nanos);
+    }
+
+    /**
+     * Records that a key press turned the snake, its frame is still to come
+     * @param pressNanos When the key was pressed, from System.nanoTime()
+     */
+    public void recordTurn(long pressNanos) {
+        pendingPress.compareAndSet(0, pressNanos);
+    }
+
+    /**
+     * Records a frame that reached the screen, rendering thread
+     * Also takes a sample once a second has passed since the last one
+     * @param startNanos When painting started
+     * @param endNanos When the frame was shown
+     */
+    public void recordFrame(long startNanos, long endNanos) {
+        paints.record(endNanos - startNanos);
+        if (lastFrameEnd != 0) {
+            frames.record(endNanos - lastFrameEnd);
+        }
+        lastFrameEnd = endNanos;
+
+        long pressed = pendingPress.getAndSet(0);
+        if (pressed != 0) {
+            inputs.record(endNanos - pressed);
+        }
+
+        if (endNanos - sampleStart >= SAMPLE_NANOS) {
+            sample(endNanos);
+        }
+    }
+
+    /**
+     * Folds everything recorded since the last sample into a new one
+     */
+    private void sample(long now) {
+        double seconds = (now - sampleStart) / 1e9;
+        tickInterval.advance();
+        frameInterval.advance();
+        paintInterval.advance();
+        inputInterval.advance();
+
+        long newGcCount = totalCollections();
+        long newGcMillis = totalCollectionMillis();
+        long newAllocated = AllocationCounter.processAllocatedBytes();
+
+        Sample sample = new Sample();
+        sample.second = (now - startTime) / SAMPLE_NANOS;
+        sample.ticksPerSecond = tickInterval.getCount() / seconds;
+        sample.framesPerSecond = frameInterval.getCount() / seconds;
+        sample.frameP50 = frameInterval.percentile(0.5);
+        sample.frameP99 = frameInterval.percentile(0.99);
+        sample.frameMax = frameInterval.getMax();
+        sample.paintP50 = paintInterval.percentile(0.5);
+        sample.paintP99 = paintInterval.percentile(0.99);
+        sample.tickP99 = tickInterval.percentile(0.99);
+        sample.inputP50 = inputInterval.percentile(0.5);
+        sample.inputP99 = inputInterval.percentile(0.99);
+        sample.gcCount = newGcCount - gcCount;
+        sample.gcMillis = newGcMillis - gcMillis;
+        sample.allocatedBytesPerSecond = Math.max(0, newAllocated - allocatedBytes) / seconds;
+
+        long frameCount = paintAllocations.getSamples() - paintSamples;
+        sample.paintBytesPerFrame = frameCount == 0 ? 0
+                : (double) (paintAllocations.getTotalBytes() - paintBytes) / frameCount;
+        paintBytes = paintAllocations.getTotalBytes();
+        paintSamples = paintAllocations.getSamples();
+
+        TickStats loop = tickStats;
+        if (loop != null) {
+            sample.lateTicks = loop.getLateTicks() - lateTicks;
+            sample.droppedTicks = loop.getDroppedTicks() - droppedTicks;
+            sample.stalls = loop.getStalls() - stalls;
+            sample.gcStalls = loop.getGcStalls() - gcStalls;
+            lateTicks = loop.getLateTicks();
+            droppedTicks = loop.getDroppedTicks();
+            stalls = loop.getStalls();
+            gcStalls = loop.getGcStalls();
+        }
+        KeyboardController keys = keyboard;
+        if (keys != null) {
+            sample.keyPresses = keys.getPresses() - keyPresses;
+            sample.keysDiscarded = keys.getDiscarded() - keysDiscarded;
+            sample.keyOverflows = keys.getOverflows() - keyOverflows;
+            keyPresses = keys.getPresses();
+            keysDiscarded = keys.getDiscarded();
+            keyOverflows = keys.getOverflows();
+        }
+
+        sampleStart = now;
+        gcCount = newGcCount;
+        gcMillis = newGcMillis;
+        allocatedBytes = newAllocated;
+
+        latest = sample;
+        synchronized (samples) {
+            if (samples.size() == MAX_SAMPLES) {
+                samples.removeFirst();
+            }
+            samples.addLast(sample);
+        }
+    }
+
+    private long totalCollections() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(0, collector.getCollectionCount());
+        }
+        return total;
+    }
+
+    private long totalCollectionMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    /**
+     * Starts a new session, export() only writes samples taken from now on
+     * The histograms keep counting across sessions
+     */
+    public void startSession() {
+        synchronized (samples) {
+            samples.clear();
+        }
+    }
+
+    /**
+     * Writes every kept sample as CSV, one row per second, durations in milliseconds
+     */
+    public void export(Writer writer) throws IOException {
+        PrintWriter out = new PrintWriter(writer);
+        out.println(CSV_HEADER);
+        synchronized (samples) {
+            for (Sample sample : samples) {
+                out.println(sample.toCsv());
+            }
+        }
+        out.flush();
+        if (out.checkError()) {
+            throw new IOException("Could not write metrics");
+        }
+    }
+
+    // GETTERS
+
+    /**
+     * The last second, or null before the first second has passed
+     */
+    public Sample getLatest() {
+        return latest;
+    }
+
+    /**
+     * Wrap every paint in begin() / end() on the rendering thread
+     */
+    public AllocationCounter getPaintAllocations() {
+        return paintAllocations;
+    }
+
+    public LatencyHistogram getTicks() {
+        return ticks;
+    }
+
+    public LatencyHistogram getFrames() {
+        return frames;
+    }
+
+    public LatencyHistogram getPaints() {
+        return paints;
+    }
+
+    /**
+     * Key press to the first frame showing its turn
+     */
+    public LatencyHistogram getInputs() {
+        return inputs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "frames=%d frame p99=%.2fms paint p99=%.2fms input p50=%.2fms p99=%.2fms",
+                frames.getCount(), millis(frames.percentile(0.99)), millis(paints.percentile(0.99)),
+                millis(inputs.percentile(0.5)), millis(inputs.percentile(0.99)));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * Figures of one second, durations in nanoseconds
+     */
+    public static class Sample {
+
+        private long second;
+        private double ticksPerSecond;
+        private double framesPerSecond;
+        private long frameP50;
+        private long frameP99;
+        private long frameMax;
+        private long paintP50;
+        private long paintP99;
+        private long tickP99;
+        private long inputP50;
+        private long inputP99;
+        private long gcCount;
+        private long gcMillis;
+        private double allocatedBytesPerSecond;
+        private double paintBytesPerFrame;
+        private long lateTicks;
+        private long droppedTicks;
+        private long stalls;
+        private long gcStalls;
+        private long keyPresses;
+        private long keysDiscarded;
+        private long keyOverflows;
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%d,%.1f,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%d,%.3f,"
+                    + "%.1f,%d,%d,%d,%d,%d,%d,%d",
+                    second, ticksPerSecond, framesPerSecond, millis(frameP50), millis(frameP99), millis(frameMax),
+                    millis(paintP50), millis(paintP99), millis(tickP99), millis(inputP50), millis(inputP99),
+                    gcCount, gcMillis, allocatedBytesPerSecond / 1e6, paintBytesPerFrame, lateTicks, droppedTicks,
+                    stalls, gcStalls, keyPresses, keysDiscarded, keyOverflows);
+        }
+
+        // GETTERS
+        public long getSecond() {
+            return second;
+        }
+
+        public double getTicksPerSecond() {
+            return ticksPerSecond;
+        }
+
+        public double getFramesPerSecond() {
+            return framesPerSecond;
+        }
+
+        public long getFrameP50() {
+            return frameP50;
+        }
+
+        public long getFrameP99() {
+            return frameP99;
+        }
+
+        public long getFrameMax() {
+            return frameMax;
+        }
+
+        public long getPaintP50() {
+            return paintP50;
+        }
+
+        public long getPaintP99() {
+            return paintP99;
+        }
+
+        public long getTickP99() {
+            return tickP99;
+        }
+
+        public long getInputP50() {
+            return inputP50;
+        }
+
+        public long getInputP99() {
+            return inputP99;
+        }
+
+        public long getGcCount() {
+            return gcCount;
+        }
+
+        public long getGcMillis() {
+            return gcMillis;
+        }
+
+        public double getAllocatedBytesPerSecond() {
+            return allocatedBytesPerSecond;
+        }
+
+        public double getPaintBytesPerFrame() {
+            return paintBytesPerFrame;
+        }
+
+        public long getLateTicks() {
+            return lateTicks;
+        }
+
+        public long getDroppedTicks() {
+            return droppedTicks;
+        }
+
+        public long getStalls() {
+            return stalls;
+        }
+
+        public long getGcStalls() {
+            return gcStalls;
+        }
+
+        public long getKeyPresses() {
+            return keyPresses;
+        }
+
+        public long getKeysDiscarded() {
+            return keysDiscarded;
+        }
+
+        public long getKeyOverflows() {
+            return keyOverflows;
+        }
+    }
+}
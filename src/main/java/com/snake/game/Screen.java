@@ -0,0 +1,19 @@
+package com.snake.game;
+
+/**
+ * Lifecycle hooks for a panel managed by ScreenManager
+ * Screens are created once and then shown and hidden many times, so
+ * anything that runs while visible (loops, music) starts and stops here
+ */
+public interface Screen {
+
+    /**
+     * Called on the event dispatch thread right after the screen became visible
+     */
+    void onShow();
+
+    /**
+     * Called on the event dispatch thread right before another screen is shown
+     */
+    void onHide();
+}
@@ -0,0 +1,137 @@
+package com.snake.game;
+
+import java.awt.CardLayout;
+import java.awt.Dimension;
+import java.awt.Window;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+
+import com.snake.utils.GameLog;
+import com.snake.utils.LatencyHistogram;
+
+/**
+ * Switches between screens of one window with a CardLayout
+ *
+ * Each screen is created by its factory the first time it is shown and kept
+ * afterwards, so switching back only flips the visible card. Screens that
+ * implement Screen are told when they are shown and hidden. The window is
+ * only packed again when the new screen wants a different size.
+ */
+public class ScreenManager {
+
+    /**
+     * Creates a screen's panel, called at most once per screen
+     */
+    public interface Factory {
+        JComponent create();
+    }
+
+    private final Window window;
+    private final CardLayout layout = new CardLayout();
+    private final JPanel cards;
+
+    private final Map<String, Factory> factories = new HashMap<String, Factory>();
+    private final Map<String, JComponent> screens = new HashMap<String, JComponent>();
+    private JComponent current;
+    private String currentName;
+
+    // Time from show() being called to the new screen being ready to paint
+    private final LatencyHistogram switchTimes = new LatencyHistogram();
+
+    /**
+     * Creates an empty manager, add getContainer() to the window
+     * @param window Window to resize when screens differ in size, or null to never resize
+     */
+    public ScreenManager(Window window) {
+        this.window = window;
+        this.cards = new JPanel(layout) {
+            @Override
+            public Dimension getPreferredSize() {
+                // Only the visible card counts, not the largest one like CardLayout would have it
+                return current != null ? current.getPreferredSize() : super.getPreferredSize();
+            }
+        };
+    }
+
+    /**
+     * Registers how a screen is made, it is only created when first shown
+     */
+    public void register(String name, Factory factory) {
+        factories.put(name, factory);
+    }
+
+    /**
+     * Shows a screen, creating it on first use, event dispatch thread only
+     * @param name A registered screen
+     */
+    public void show(String name) {
+        if (name.equals(currentName)) {
+            return;
+        }
+        long start = System.nanoTime();
+
+        JComponent next = screens.get(name);
+        if (next == null) {
+            Factory factory = factories.get(name);
+            if (factory == null) {
+                throw new IllegalArgumentException("Unknown screen: " + name);
+            }
+            next = factory.create();
+            screens.put(name, next);
+            cards.add(next, name);
+        }
+
+        if (current instanceof Screen) {
+            ((Screen) current).onHide();
+        }
+        Dimension oldSize = current != null ? current.getPreferredSize() : null;
+
+        current = next;
+        currentName = name;
+        layout.show(cards, name);
+
+        // Resize the window only when the new screen needs another size
+        if (window != null && !next.getPreferredSize().equals(oldSize)) {
+            window.pack();
+        }
+        if (next instanceof Screen) {
+            ((Screen) next).onShow();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        switchTimes.record(elapsed);
+        if (GameLog.isFineEnabled()) {
+            GameLog.fine(String.format("Screen %s shown in %.2f ms", name, elapsed / 1e6));
+        }
+    }
+
+    // GETTERS
+
+    /**
+     * Panel holding every screen, add it to the window once
+     */
+    public JPanel getContainer() {
+        return cards;
+    }
+
+    /**
+     * Name of the visible screen, or null before the first show()
+     */
+    public String getCurrentName() {
+        return currentName;
+    }
+
+    /**
+     * The screen's panel if it was created already, or null
+     */
+    public JComponent getScreen(String name) {
+        return screens.get(name);
+    }
+
+    public LatencyHistogram getSwitchTimes() {
+        return switchTimes;
+    }
+}
@@ -10,7 +10,6 @@ import javax.swing.event.ChangeListener;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Color;
-import java.awt.Font;
 import java.awt.Dimension;
 import java.awt.GridBagLayout;
 import java.awt.GridBagConstraints;
@@ -19,9 +18,11 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
 import com.snake.utils.Constants;
+import com.snake.utils.RenderResources;
 import com.snake.utils.SoundManager;
+import com.snake.utils.SoundSettings;
 
-public class SettingsPanel extends JPanel{
+public class SettingsPanel extends JPanel implements Screen {
     
     private GameFrame gameFrame;
     private SoundManager soundManager;
@@ -39,7 +40,7 @@ public class SettingsPanel extends JPanel{
 
         // Set panel size
         setPreferredSize(new Dimension(Constants.MENU_PANEL_WIDTH, Constants.MENU_PANEL_HEIGHT));
-        setBackground(new Color(30, 30, 30));
+        setBackground(RenderResources.COLOR_BACKGROUND);
 
         // Use GridBagLayout
         setLayout(new GridBagLayout());
@@ -60,14 +61,14 @@ public class SettingsPanel extends JPanel{
         gbc.gridy = 0;
         gbc.gridwidth = 2;
         JLabel musicLabel = new JLabel("Music Volume");
-        musicLabel.setFont(new Font("Arial", Font.BOLD, 18));
+        musicLabel.setFont(RenderResources.FONT_LABEL);
         musicLabel.setForeground(Color.BLACK);
         add(musicLabel, gbc);
 
         gbc.gridy = 1;
         musicSlider = new JSlider(0, 100, (int)(soundManager.getMusicVolume() * 100));
         musicSlider.setPreferredSize(new Dimension(200, 40));
-        musicSlider.setBackground(new Color(30, 30, 30));
+        musicSlider.setBackground(RenderResources.COLOR_BACKGROUND);
         musicSlider.setForeground(Color.GREEN);
 
         // Add change listener to update volume
@@ -83,14 +84,14 @@ public class SettingsPanel extends JPanel{
         // SFX VOLUME
         gbc.gridy = 2;
         JLabel sfxLabel = new JLabel("Sound Effects Volume");
-        sfxLabel.setFont(new Font("Arial", Font.BOLD, 18));
+        sfxLabel.setFont(RenderResources.FONT_LABEL);
         sfxLabel.setForeground(Color.BLACK);
         add(sfxLabel, gbc);
 
         gbc.gridy = 3;
         sfxSlider = new JSlider(0, 100, (int) (soundManager.getSfxVolume() * 100));
         sfxSlider.setPreferredSize(new Dimension(200, 40));
-        sfxSlider.setBackground(new Color(30, 30, 30));
+        sfxSlider.setBackground(RenderResources.COLOR_BACKGROUND);
         sfxSlider.setForeground(Color.GREEN);
 
         // Add change listener to update volume
@@ -106,9 +107,9 @@ public class SettingsPanel extends JPanel{
         // MUTE CHECKBOX
         gbc.gridy = 4;
         muteCheckbox = new JCheckBox("Mute all Sounds");
-        muteCheckbox.setFont(new Font("Arial", Font.BOLD, 16));
+        muteCheckbox.setFont(RenderResources.FONT_OPTION);
         muteCheckbox.setForeground(Color.WHITE);
-        muteCheckbox.setBackground(new Color(30, 30, 30));
+        muteCheckbox.setBackground(RenderResources.COLOR_BACKGROUND);
         muteCheckbox.setSelected(soundManager.isMuted());
         muteCheckbox.setFocusable(false);
 
@@ -125,7 +126,7 @@ public class SettingsPanel extends JPanel{
         gbc.gridy = 5;
         gbc.insets = new Insets(25, 15, 10, 15);
         JButton controlsButton = new JButton("Controls");
-        controlsButton.setFont(new Font("Arial", Font.BOLD, 20));
+        controlsButton.setFont(RenderResources.FONT_BUTTON_SMALL);
         controlsButton.setPreferredSize(new Dimension(150, 45));
         controlsButton.setFocusable(false);
 
@@ -143,7 +144,7 @@ public class SettingsPanel extends JPanel{
         gbc.gridy = 6;
         gbc.insets = new Insets(25, 15, 10, 15);
         backButton = new JButton("Back");
-        backButton.setFont(new Font("Arial", Font.BOLD, 20));
+        backButton.setFont(RenderResources.FONT_BUTTON_SMALL);
         backButton.setPreferredSize(new Dimension(150, 45));
         backButton.setFocusable(false);
 
@@ -158,6 +159,21 @@ public class SettingsPanel extends JPanel{
         add(backButton, gbc);
     }
 
+    /**
+     * Shows the current settings, the panel is cached and they may have changed since
+     */
+    @Override
+    public void onShow() {
+        SoundSettings settings = soundManager.getSettings();
+        musicSlider.setValue(Math.round(settings.getMusicVolume() * 100));
+        sfxSlider.setValue(Math.round(settings.getSfxVolume() * 100));
+        muteCheckbox.setSelected(settings.isMuted());
+    }
+
+    @Override
+    public void onHide() {
+    }
+
     /**
      * Custom painting for settings title
      */
@@ -168,11 +184,10 @@ public class SettingsPanel extends JPanel{
 
         // Draw title
         g2d.setColor(Color.GREEN);
-        g2d.setFont(new Font("Arial", Font.BOLD, 40));
+        g2d.setFont(RenderResources.FONT_HEADING);
 
         String title = "Settings";
-        int titleWidth = g2d.getFontMetrics().stringWidth(title);
-        int x = (Constants.MENU_PANEL_WIDTH - titleWidth) / 2;
+        int x = RenderResources.centerX(RenderResources.FONT_HEADING, title, Constants.MENU_PANEL_WIDTH);
 
         g2d.drawString(title, x, 72);
     }
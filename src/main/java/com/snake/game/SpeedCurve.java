@@ -0,0 +1,72 @@
+package com.snake.game;
+
+import com.snake.utils.GameConfig;
+
+/**
+ * Tick length as a function of snake length
+ *
+ * Every segment grown past the initial length makes the tick a fixed
+ * percentage shorter, down to a floor: tick = max(min, base * (1 - p)^grown).
+ * A speedup of 0 keeps the game at a constant speed.
+ */
+public final class SpeedCurve {
+
+    private final long baseNanos;
+    private final long minNanos;
+    private final double factor;
+    private final int initialLength;
+
+    /**
+     * Creates a curve
+     * @param baseNanos Tick at the initial length
+     * @param minNanos Shortest tick, at most baseNanos
+     * @param speedupPercent Percent the tick gets shorter per segment grown, from 0 to below 100
+     * @param initialLength Length the snake starts with
+     */
+    public SpeedCurve(long baseNanos, long minNanos, double speedupPercent, int initialLength) {
+        if (baseNanos <= 0 || minNanos <= 0 || minNanos > baseNanos) {
+            throw new IllegalArgumentException("Invalid tick range: " + minNanos + "ns to " + baseNanos + "ns");
+        }
+        if (!(speedupPercent >= 0.0 && speedupPercent < 100.0)) {
+            throw new IllegalArgumentException("Speedup must be from 0 to below 100 percent: " + speedupPercent);
+        }
+        this.baseNanos = baseNanos;
+        this.minNanos = minNanos;
+        this.factor = 1.0 - speedupPercent / 100.0;
+        this.initialLength = initialLength;
+    }
+
+    /**
+     * Same tick whatever the length
+     */
+    public static SpeedCurve constant(long tickNanos) {
+        return new SpeedCurve(tickNanos, tickNanos, 0.0, 1);
+    }
+
+    /**
+     * Curve from tick.ms, tick.min.ms and tick.speedup
+     */
+    public static SpeedCurve of(GameConfig config) {
+        return new SpeedCurve(config.getTickNanos(), config.getMinTickNanos(), config.getTickSpeedup(),
+                config.getInitialSnakeLength());
+    }
+
+    /**
+     * Time between two ticks for a snake of the given length
+     */
+    public long tickNanos(int snakeLength) {
+        int grown = snakeLength - initialLength;
+        if (grown <= 0 || factor == 1.0) {
+            return baseNanos;
+        }
+        return Math.max(minNanos, (long) (baseNanos * Math.pow(factor, grown)));
+    }
+
+    public long getBaseNanos() {
+        return baseNanos;
+    }
+
+    public long getMinNanos() {
+        return minNanos;
+    }
+}
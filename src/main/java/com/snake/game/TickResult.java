@@ -0,0 +1,9 @@
+package com.snake.game;
+
+public enum TickResult {
+    IDLE, // Game is not playing, nothing happened
+    MOVED, // Snake moved one cell
+    ATE, // Snake moved and ate the food
+    DIED, // Snake hit a wall or itself
+    WON // Snake ate the last food, no free cell is left
+}
@@ -0,0 +1,149 @@
+package com.snake.game;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Deadlines of the game loop's ticks
+ *
+ * Every deadline is the previous one plus the tick length, never the time
+ * the tick actually ran plus the tick length, so late ticks and speed
+ * changes cause no drift. The tick length follows a SpeedCurve and is taken
+ * from the snake length after each tick.
+ *
+ * A loop that wakes up after more than one deadline passed has missed
+ * ticks. It runs up to maxCatchUp of them back to back and drops the rest,
+ * keeping later deadlines on the original grid. Each such stall is counted,
+ * and blamed on the garbage collector when a collection ran around it.
+ *
+ * Used by the loop thread only, getInterpolation() is safe from any thread.
+ */
+public class TickScheduler {
+
+    // How long a GC may have run before a stall and still be blamed for it
+    private static final long GC_WINDOW_NANOS = 1000000000L;
+
+    private final SpeedCurve curve;
+    private final int maxCatchUp;
+    private final TickStats stats = new TickStats();
+    private final GarbageCollectorMXBean[] collectors;
+
+    private long nextTick;
+    private volatile long lastTick;
+    private volatile long tickNanos;
+
+    // GC time when the window started
+    private long gcWindowStart;
+    private long gcMillis;
+
+    /**
+     * Creates a scheduler, start() sets the first deadline
+     * @param curve Tick length by snake length
+     * @param maxCatchUp Most ticks run in one go after the loop fell behind, 1 to never catch up
+     */
+    public TickScheduler(SpeedCurve curve, int maxCatchUp) {
+        if (maxCatchUp < 1) {
+            throw new IllegalArgumentException("Catch up must allow at least 1 tick: " + maxCatchUp);
+        }
+        this.curve = curve;
+        this.maxCatchUp = maxCatchUp;
+        this.tickNanos = curve.getBaseNanos();
+        List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+        collectors = beans.toArray(new GarbageCollectorMXBean[beans.size()]);
+    }
+
+    /**
+     * Schedules the first tick one tick length from now
+     * @param now Current System.nanoTime()
+     * @param snakeLength Length the game starts with
+     */
+    public void start(long now, int snakeLength) {
+        tickNanos = curve.tickNanos(snakeLength);
+        lastTick = now;
+        nextTick = now + tickNanos;
+        gcWindowStart = now;
+        gcMillis = totalCollectionMillis();
+    }
+
+    /**
+     * Number of ticks to run now, at most maxCatchUp
+     * Ticks beyond that are dropped and recorded
+     * @param now Current System.nanoTime()
+     */
+    public int poll(long now) {
+        long late = now - nextTick;
+        if (late < 0) {
+            return 0;
+        }
+
+        long missed = 1 + late / tickNanos;
+        if (missed > 1) {
+            recordStall(now);
+        } else if (now - gcWindowStart > GC_WINDOW_NANOS) {
+            gcWindowStart = now;
+            gcMillis = totalCollectionMillis();
+        }
+        if (missed > maxCatchUp) {
+            long dropped = missed - maxCatchUp;
+            stats.recordDropped(dropped);
+            nextTick += dropped * tickNanos;
+            return maxCatchUp;
+        }
+        return (int) missed;
+    }
+
+    /**
+     * Moves the deadline on after a tick ran
+     * @param startNanos When the tick started, to record how late it was
+     * @param snakeLength Length after the tick, picks the next tick length
+     */
+    public void completeTick(long startNanos, int snakeLength) {
+        stats.recordTick(startNanos - nextTick);
+        lastTick = nextTick;
+        tickNanos = curve.tickNanos(snakeLength);
+        nextTick += tickNanos;
+    }
+
+    private void recordStall(long now) {
+        long total = totalCollectionMillis();
+        stats.recordStall(total != gcMillis);
+        gcWindowStart = now;
+        gcMillis = total;
+    }
+
+    private long totalCollectionMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    /**
+     * Deadline of the next tick, in System.nanoTime()
+     */
+    public long getNextTick() {
+        return nextTick;
+    }
+
+    /**
+     * Current time between two ticks
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * How far the game is between the last tick and the next one
+     * @return 0.0 right at the last tick, up to 1.0 when the next tick is due
+     */
+    public double getInterpolation(long now) {
+        double alpha = (double) (now - lastTick) / tickNanos;
+        return Math.max(0.0, Math.min(1.0, alpha));
+    }
+
+    public TickStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,95 @@
+package com.snake.game;
+
+/**
+ * Timing statistics of the game loop
+ * Written by the loop thread only, safe to read from any thread
+ */
+public class TickStats {
+
+    // A tick that starts later than this after its deadline counts as late
+    public static final long LATE_THRESHOLD_NANOS = 1000000L;
+
+    private volatile long ticks;
+    private volatile long lateTicks;
+    private volatile long droppedTicks;
+    private volatile long stalls;
+    private volatile long gcStalls;
+    private volatile long totalLatenessNanos;
+    private volatile long maxLatenessNanos;
+
+    /**
+     * Records one tick that ran
+     * @param latenessNanos How long after its deadline the tick started
+     */
+    void recordTick(long latenessNanos) {
+        ticks++;
+        totalLatenessNanos += latenessNanos;
+        if (latenessNanos > maxLatenessNanos) {
+            maxLatenessNanos = latenessNanos;
+        }
+        if (latenessNanos > LATE_THRESHOLD_NANOS) {
+            lateTicks++;
+        }
+    }
+
+    /**
+     * Records ticks that were skipped because the loop fell too far behind
+     */
+    void recordDropped(long count) {
+        droppedTicks += count;
+    }
+
+    /**
+     * Records that the loop woke up after more than one deadline had passed
+     * @param duringGc true if a garbage collection ran around that time
+     */
+    void recordStall(boolean duringGc) {
+        stalls++;
+        if (duringGc) {
+            gcStalls++;
+        }
+    }
+
+    // GETTERS
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getLateTicks() {
+        return lateTicks;
+    }
+
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    /**
+     * Times the loop missed whole ticks, whether they were caught up or dropped
+     */
+    public long getStalls() {
+        return stalls;
+    }
+
+    /**
+     * Stalls a garbage collection ran around
+     */
+    public long getGcStalls() {
+        return gcStalls;
+    }
+
+    public long getMaxLatenessNanos() {
+        return maxLatenessNanos;
+    }
+
+    public long getMeanLatenessNanos() {
+        long count = ticks;
+        return count == 0 ? 0 : totalLatenessNanos / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ticks=%d late=%d dropped=%d stalls=%d (gc %d) meanLateness=%.3fms maxLateness=%.3fms",
+                ticks, lateTicks, droppedTicks, stalls, gcStalls, getMeanLatenessNanos() / 1e6,
+                maxLatenessNanos / 1e6);
+    }
+}
@@ -0,0 +1,23 @@
+package com.snake.replay;
+
+/**
+ * Layout of a replay stream
+ *
+ * Header: magic (int), version (byte), seed (long),
+ * grid width, grid height and initial snake length (varints)
+ * Then one varint per input: ((ticksSincePreviousInput << 2) | direction) + 1
+ * A 0 varint ends the inputs and is followed by the ticks played after the last input
+ * A stream cut off before the end marker is still valid, the game just runs to its end
+ * Version 3 places food on the k-th free cell in cell order, older replays would play other food
+ */
+final class ReplayFormat {
+
+    static final int MAGIC = 0x534E4B52; // "SNKR"
+    static final int VERSION = 3;
+    static final int END_OF_INPUTS = 0;
+
+    // Private constructor
+    private ReplayFormat() {
+        // Empty to prevents instantiation
+    }
+}
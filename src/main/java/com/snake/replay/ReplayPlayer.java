@@ -0,0 +1,58 @@
+package com.snake.replay;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.snake.game.GameEngine;
+import com.snake.game.GameState;
+import com.snake.utils.GameConfig;
+
+/**
+ * Replays a recorded game headless, tick for tick
+ */
+public final class ReplayPlayer {
+
+    // Private constructor
+    private ReplayPlayer() {
+        // Empty to prevents instantiation
+    }
+
+    /**
+     * Runs a whole replay
+     * @param in The recorded replay
+     * @return The engine in the state the recorded game ended in
+     */
+    public static GameEngine play(InputStream in) throws IOException {
+        try (ReplayReader reader = new ReplayReader(in)) {
+            GameConfig config;
+            try {
+                config = reader.toConfig();
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid replay settings: " + e.getMessage(), e);
+            }
+
+            GameEngine engine = new GameEngine(config, reader.getSeed());
+            while (reader.next()) {
+                stepUntil(engine, reader.getTick());
+                engine.steer(reader.getDirection());
+            }
+
+            if (reader.getEndTick() >= 0) {
+                stepUntil(engine, reader.getEndTick());
+            } else {
+                // No end marker: without further input the snake runs into a wall
+                stepUntil(engine, Long.MAX_VALUE);
+            }
+            return engine;
+        }
+    }
+
+    /**
+     * Steps the engine until it reaches the tick or the game stops
+     */
+    private static void stepUntil(GameEngine engine, long tick) {
+        while (engine.getTick() < tick && engine.getGameState() == GameState.PLAYING) {
+            engine.step(null);
+        }
+    }
+}
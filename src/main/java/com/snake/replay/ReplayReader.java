@@ -0,0 +1,124 @@
+package com.snake.replay;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.snake.entities.Direction;
+import com.snake.utils.GameConfig;
+import com.snake.utils.VarInt;
+
+/**
+ * Reads a replay written by ReplayWriter, one input at a time
+ */
+public class ReplayReader implements Closeable {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final DataInputStream in;
+    private final long seed;
+    private final int gridWidth;
+    private final int gridHeight;
+    private final int initialSnakeLength;
+
+    private long tick;
+    private Direction direction;
+    private long endTick = -1;
+
+    /**
+     * Opens a replay and reads its header
+     * @param in Source, closed together with the reader
+     */
+    public ReplayReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        if (this.in.readInt() != ReplayFormat.MAGIC) {
+            throw new IOException("Not a replay file");
+        }
+        int version = this.in.readUnsignedByte();
+        if (version != ReplayFormat.VERSION) {
+            throw new IOException("Unsupported replay version: " + version);
+        }
+        seed = this.in.readLong();
+        gridWidth = (int) VarInt.read(this.in);
+        gridHeight = (int) VarInt.read(this.in);
+        initialSnakeLength = (int) VarInt.read(this.in);
+    }
+
+    /**
+     * Advances to the next input
+     * @return true if an input was read, false at the end marker or end of stream
+     */
+    public boolean next() throws IOException {
+        if (endTick >= 0) {
+            return false;
+        }
+
+        long value;
+        try {
+            value = VarInt.read(in);
+        } catch (EOFException e) {
+            return false; // Cut off recording, no end marker
+        }
+
+        if (value == ReplayFormat.END_OF_INPUTS) {
+            endTick = tick + VarInt.read(in);
+            return false;
+        }
+
+        value--;
+        tick += value >>> 2;
+        direction = DIRECTIONS[(int) (value & 3)];
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // GETTERS
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getGridWidth() {
+        return gridWidth;
+    }
+
+    public int getGridHeight() {
+        return gridHeight;
+    }
+
+    public int getInitialSnakeLength() {
+        return initialSnakeLength;
+    }
+
+    /**
+     * Settings needed to replay the game, other settings are defaults
+     */
+    public GameConfig toConfig() {
+        return GameConfig.defaults().withGridSize(gridWidth, gridHeight).withInitialSnakeLength(initialSnakeLength)
+                .withScoresFile(null);
+    }
+
+    /**
+     * Ticks played before the current input was given
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Tick the game ended on, or -1 if the end marker was not reached or is missing
+     */
+    public long getEndTick() {
+        return endTick;
+    }
+}
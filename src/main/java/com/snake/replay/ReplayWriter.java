@@ -0,0 +1,71 @@
+package com.snake.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.snake.entities.Direction;
+import com.snake.utils.GameConfig;
+import com.snake.utils.VarInt;
+
+/**
+ * Streams the seed and the direction inputs of one game
+ * Only inputs are stored, ticks without input cost nothing
+ */
+public class ReplayWriter implements Closeable {
+
+    private final DataOutputStream out;
+    private long lastTick;
+    private boolean finished;
+
+    /**
+     * Starts a replay and writes its header
+     * @param out Destination, closed together with the writer
+     * @param seed Seed the game was started with
+     * @param config Settings the game was started with
+     */
+    public ReplayWriter(OutputStream out, long seed, GameConfig config) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.out.writeInt(ReplayFormat.MAGIC);
+        this.out.writeByte(ReplayFormat.VERSION);
+        this.out.writeLong(seed);
+        VarInt.write(this.out, config.getGridWidth());
+        VarInt.write(this.out, config.getGridHeight());
+        VarInt.write(this.out, config.getInitialSnakeLength());
+    }
+
+    /**
+     * Records a direction input
+     * @param tick Number of ticks played before the input was given
+     * @param direction The direction that was requested
+     */
+    public void recordInput(long tick, Direction direction) throws IOException {
+        if (tick < lastTick) {
+            throw new IllegalArgumentException("Inputs must be recorded in tick order");
+        }
+        long delta = tick - lastTick;
+        VarInt.write(out, ((delta << 2) | direction.ordinal()) + 1);
+        lastTick = tick;
+    }
+
+    /**
+     * Writes the end marker, further inputs are not allowed
+     * @param tick Number of ticks played when the game ended
+     */
+    public void finish(long tick) throws IOException {
+        if (finished) {
+            return;
+        }
+        VarInt.write(out, ReplayFormat.END_OF_INPUTS);
+        VarInt.write(out, Math.max(0, tick - lastTick));
+        out.flush();
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
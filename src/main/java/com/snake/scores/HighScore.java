@@ -0,0 +1,73 @@
+package com.snake.scores;
+
+import com.snake.game.GameEngine;
+
+/**
+ * One finished game as kept in the high score store
+ */
+public final class HighScore {
+
+    private final long timestamp;
+    private final long seed;
+    private final int ticks;
+    private final int score;
+    private final int gridWidth;
+    private final int gridHeight;
+
+    // Constructor
+    public HighScore(long timestamp, long seed, int ticks, int score, int gridWidth, int gridHeight) {
+        this.timestamp = timestamp;
+        this.seed = seed;
+        this.ticks = ticks;
+        this.score = score;
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+    }
+
+    /**
+     * The result of a finished game, stamped with the current time
+     * Ticks beyond Integer.MAX_VALUE are stored as Integer.MAX_VALUE
+     */
+    public static HighScore of(GameEngine engine) {
+        return new HighScore(System.currentTimeMillis(), engine.getSeed(),
+                (int) Math.min(Integer.MAX_VALUE, engine.getTick()), engine.getScore(),
+                engine.getConfig().getGridWidth(), engine.getConfig().getGridHeight());
+    }
+
+    // GETTERS
+
+    /**
+     * When the game ended, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Seed the game was played with, a replay of it needs this
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getTicks() {
+        return ticks;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getGridWidth() {
+        return gridWidth;
+    }
+
+    public int getGridHeight() {
+        return gridHeight;
+    }
+
+    @Override
+    public String toString() {
+        return score + " on " + gridWidth + "x" + gridHeight + " in " + ticks + " ticks (seed " + seed + ")";
+    }
+}
@@ -0,0 +1,317 @@
+package com.snake.scores;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent high scores in an append-only, memory-mapped log
+ *
+ * The file is a 32 byte header followed by fixed 32 byte records, one per
+ * game, each ending in a CRC32 of the rest. It is mapped in regions of
+ * REGION_BYTES, so appending is a copy into memory the operating system
+ * writes back on its own: no system call, well under a microsecond, except
+ * for mapping the next region every 32768 records.
+ *
+ * Mapping a region grows the file to its full size, the unused slots read as
+ * zeros. Opening the store scans every slot to the end of the file and
+ * rebuilds the in-memory leaderboard, appends continue after the last used
+ * slot. A record torn by a crash fails its CRC and is skipped, so only the
+ * game being written is lost. An all-zero slot before a later record, e.g.
+ * from a page lost in a power cut, is skipped and counted the same way.
+ *
+ * Records survive the process dying as soon as append() returns. They only
+ * survive the machine losing power after sync() or close(), which force
+ * every region written since the last sync, not just the current one.
+ *
+ * An open store holds an exclusive lock on its file until close(), a second
+ * game or simulator opening the same file gets an IOException.
+ */
+public class HighScoreStore implements Closeable {
+
+    // Header: magic, version, record size, rest zero
+    static final int MAGIC = 0x534E4B53; // "SNKS"
+    static final byte VERSION = 1;
+
+    // Record: timestamp (8), seed (8), ticks (4), score (4), width (2), height (2), CRC32 of the first 28 (4)
+    static final int RECORD_BYTES = 32;
+    private static final int CRC_OFFSET = RECORD_BYTES - 4;
+    private static final int HEADER_BYTES = RECORD_BYTES; // The header takes slot 0
+
+    // Bytes mapped at once, 32768 slots
+    static final int REGION_BYTES = 1 << 20;
+    private static final int SLOTS_PER_REGION = REGION_BYTES / RECORD_BYTES;
+
+    // Places kept in memory by default
+    public static final int DEFAULT_TOP_SIZE = 10;
+
+    private final File file;
+    private final RandomAccessFile raf;
+    private final FileChannel channel;
+    private FileLock lock;
+    private final Leaderboard top;
+
+    // Record encoding, only used with the lock held
+    private final byte[] scratch = new byte[RECORD_BYTES];
+    private final ByteBuffer record = ByteBuffer.wrap(scratch).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32 crc = new CRC32();
+
+    // Region holding the next free slot
+    private MappedByteBuffer region;
+    // Regions append() moved on from since the last sync(), still to be forced
+    private final List<MappedByteBuffer> unsynced = new ArrayList<MappedByteBuffer>();
+    private long regionIndex = -1;
+    private long nextSlot;
+
+    private long records;
+    private long corrupt;
+    private boolean closed;
+
+    private HighScoreStore(File file, int topSize) throws IOException {
+        this.file = file;
+        this.top = new Leaderboard(topSize);
+        this.raf = new RandomAccessFile(file, "rw");
+        this.channel = raf.getChannel();
+    }
+
+    /**
+     * Opens a store with the default number of places, creating the file if needed
+     */
+    public static HighScoreStore open(File file) throws IOException {
+        return open(file, DEFAULT_TOP_SIZE);
+    }
+
+    /**
+     * Opens a store, creating the file if needed, and reads every record in it
+     * Takes about as long as reading the file, call it off the event dispatch thread
+     * @param topSize Places in the leaderboard
+     * @throws IOException if the file cannot be used or is not a high score file
+     */
+    public static HighScoreStore open(File file, int topSize) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+
+        HighScoreStore store = new HighScoreStore(file, topSize);
+        try {
+            store.lock();
+            store.load();
+        } catch (IOException | RuntimeException e) {
+            store.channel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Takes the exclusive lock on the file, without waiting for it
+     */
+    private void lock() throws IOException {
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null; // Held by another store in this process
+        }
+        if (lock == null) {
+            throw new IOException("High score file is in use by another game: " + file);
+        }
+    }
+
+    /**
+     * Checks the header, or writes it into a new file, then scans every record
+     */
+    private void load() throws IOException {
+        if (channel.size() == 0) {
+            mapRegion(0);
+            region.putInt(0, MAGIC);
+            region.put(4, VERSION);
+            region.put(5, (byte) RECORD_BYTES);
+            nextSlot = 1;
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(header, 0);
+        if (header.position() < 6 || header.getInt(0) != MAGIC) {
+            throw new IOException("Not a high score file: " + file);
+        }
+        if (header.get(4) != VERSION || header.get(5) != RECORD_BYTES) {
+            throw new IOException("Unsupported high score file version " + header.get(4) + ": " + file);
+        }
+
+        // Empty slots are only the end of the log if no record follows them
+        long slots = channel.size() / RECORD_BYTES;
+        long lastUsed = 0;
+        for (long slot = 1; slot < slots; slot++) {
+            if (slot / SLOTS_PER_REGION != regionIndex) {
+                mapRegion(slot / SLOTS_PER_REGION);
+            }
+            if (readSlot(slot)) {
+                corrupt += slot - lastUsed - 1; // Lost slots in between
+                lastUsed = slot;
+            }
+        }
+        nextSlot = lastUsed + 1;
+    }
+
+    /**
+     * Reads one slot into the leaderboard
+     * @return false if the slot is empty
+     */
+    private boolean readSlot(long slot) {
+        region.position(offsetInRegion(slot));
+        region.get(scratch, 0, RECORD_BYTES);
+
+        long bits = 0;
+        for (int i = 0; i < RECORD_BYTES; i += 8) {
+            bits |= record.getLong(i);
+        }
+        if (bits == 0) {
+            return false;
+        }
+
+        crc.reset();
+        crc.update(scratch, 0, CRC_OFFSET);
+        if ((int) crc.getValue() != record.getInt(CRC_OFFSET)) {
+            corrupt++; // Torn by a crash
+            return true;
+        }
+
+        records++;
+        int score = record.getInt(20);
+        if (top.qualifies(score)) {
+            top.offer(decode());
+        }
+        return true;
+    }
+
+    private HighScore decode() {
+        return new HighScore(record.getLong(0), record.getLong(8), record.getInt(16), record.getInt(20),
+                record.getShort(24) & 0xFFFF, record.getShort(26) & 0xFFFF);
+    }
+
+    /**
+     * Adds a finished game, thread safe and never waits on the disk
+     * @return Its place in the leaderboard, 0 being the best, or -1 if it did not get one
+     * @throws IOException if the next region of the file cannot be mapped
+     */
+    public synchronized int append(HighScore entry) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("High score store is closed");
+        }
+        if (nextSlot / SLOTS_PER_REGION != regionIndex) {
+            if (region != null) {
+                unsynced.add(region); // Forced by the next sync(), not here on the caller's thread
+            }
+            mapRegion(nextSlot / SLOTS_PER_REGION);
+        }
+
+        record.putLong(0, entry.getTimestamp());
+        record.putLong(8, entry.getSeed());
+        record.putInt(16, entry.getTicks());
+        record.putInt(20, entry.getScore());
+        record.putShort(24, (short) entry.getGridWidth());
+        record.putShort(26, (short) entry.getGridHeight());
+        crc.reset();
+        crc.update(scratch, 0, CRC_OFFSET);
+        record.putInt(CRC_OFFSET, (int) crc.getValue());
+
+        region.position(offsetInRegion(nextSlot));
+        region.put(scratch, 0, RECORD_BYTES);
+        nextSlot++;
+        records++;
+        return top.offer(entry);
+    }
+
+    /**
+     * Maps a region read-write, the file grows to cover it
+     */
+    private void mapRegion(long index) throws IOException {
+        region = channel.map(FileChannel.MapMode.READ_WRITE, index * REGION_BYTES, REGION_BYTES);
+        region.order(ByteOrder.LITTLE_ENDIAN);
+        regionIndex = index;
+    }
+
+    private static int offsetInRegion(long slot) {
+        return (int) (slot % SLOTS_PER_REGION) * RECORD_BYTES;
+    }
+
+    /**
+     * Forces written records to the disk, so they survive a power loss
+     * Takes as long as the disk needs, keep it off the game loop and the event dispatch thread
+     */
+    public synchronized void sync() {
+        if (closed) {
+            return;
+        }
+        for (MappedByteBuffer written : unsynced) {
+            written.force();
+        }
+        unsynced.clear();
+        if (region != null) {
+            region.force();
+        }
+    }
+
+    /**
+     * Syncs and closes the file, the mapping itself is released by the garbage collector
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        sync();
+        closed = true;
+        region = null;
+        lock.release();
+        channel.close();
+        raf.close();
+    }
+
+    // GETTERS
+
+    /**
+     * Best games, highest first
+     */
+    public synchronized List<HighScore> getTop() {
+        return top.toList();
+    }
+
+    /**
+     * Best score so far, or 0 when there is none
+     */
+    public synchronized int getBestScore() {
+        HighScore best = top.getBest();
+        return best != null ? best.getScore() : 0;
+    }
+
+    /**
+     * Number of valid records in the log
+     */
+    public synchronized long size() {
+        return records;
+    }
+
+    /**
+     * Records skipped when opening because their CRC did not match or they were lost
+     */
+    public synchronized long getCorruptRecords() {
+        return corrupt;
+    }
+
+    public File getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,86 @@
+package com.snake.scores;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The best scores seen so far, highest first
+ *
+ * Kept as a small sorted array: most offers score below the last place and
+ * are turned down with one comparison, the rest shift at most size entries.
+ * Among equal scores the earlier one ranks higher. Not thread safe.
+ */
+public class Leaderboard {
+
+    private final HighScore[] entries;
+    private int size;
+
+    /**
+     * Creates an empty leaderboard
+     * @param capacity Number of places
+     */
+    public Leaderboard(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Leaderboard needs at least one place: " + capacity);
+        }
+        entries = new HighScore[capacity];
+    }
+
+    /**
+     * Checks if a score would get a place, without creating an entry for it
+     */
+    public boolean qualifies(int score) {
+        return size < entries.length || score > entries[size - 1].getScore();
+    }
+
+    /**
+     * Adds a score if it is good enough
+     * @return Its place, 0 being the best, or -1 if it did not get one
+     */
+    public int offer(HighScore entry) {
+        if (!qualifies(entry.getScore())) {
+            return -1;
+        }
+
+        // Find the place, then shift the lower ones down, the last one drops out when full
+        int place = size;
+        while (place > 0 && entries[place - 1].getScore() < entry.getScore()) {
+            place--;
+        }
+        int last = Math.min(size, entries.length - 1);
+        System.arraycopy(entries, place, entries, place + 1, last - place);
+        entries[place] = entry;
+        if (size < entries.length) {
+            size++;
+        }
+        return place;
+    }
+
+    /**
+     * Entries highest first
+     */
+    public List<HighScore> toList() {
+        List<HighScore> list = new ArrayList<HighScore>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(entries[i]);
+        }
+        return list;
+    }
+
+    // GETTERS
+
+    /**
+     * The highest score, or null when empty
+     */
+    public HighScore getBest() {
+        return size > 0 ? entries[0] : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+}
@@ -0,0 +1,88 @@
+package com.snake.server;
+
+import java.nio.ByteBuffer;
+
+import com.snake.sim.MultiGameEngine;
+
+/**
+ * Binary protocol of the environment server, all numbers little-endian
+ *
+ * Every message is a frame: u32 payload length, u8 type, payload.
+ * Requests:
+ *   CREATE  u16 width, u16 height, u16 snake length, u32 envs, i64 seed,
+ *           envs * width * height at most MAX_CELLS
+ *   RESET   i64 seed
+ *   STEP    u8 action per env (0 up, 1 down, 2 left, 3 right, 255 keep going)
+ *   CLOSE   (empty)
+ * Responses:
+ *   CREATED u32 envs, u32 occupancy words per env
+ *   OBSERVATIONS one record per env, see writeObservations
+ *   ERROR   UTF-8 message, the server then closes the connection
+ */
+public final class EnvProtocol {
+
+    // Request types
+    public static final byte CREATE = 1;
+    public static final byte RESET = 2;
+    public static final byte STEP = 3;
+    public static final byte CLOSE = 4;
+
+    // Response types
+    public static final byte CREATED = 101;
+    public static final byte OBSERVATIONS = 102;
+    public static final byte ERROR = 127;
+
+    // u32 length + u8 type
+    public static final int FRAME_HEADER_BYTES = 5;
+
+    // Fixed request payload sizes
+    public static final int CREATE_BYTES = 18;
+    public static final int RESET_BYTES = 8;
+
+    // Per env: u8 result, u8 direction, u32 length, i16 head x, i16 head y, i32 food cell
+    // An env that finished is reset before it is sent, so the result byte says how the game ended
+    // and the rest already shows the new game, the head is always on the board
+    public static final int ENV_HEADER_BYTES = 14;
+
+    // Largest frame a client may send
+    public static final int MAX_REQUEST_BYTES = 16 * 1024 * 1024;
+
+    // Most cells over all envs of one connection, one full 4096x4096 board, about 70 MB of server memory
+    public static final long MAX_CELLS = 1L << 24;
+
+    // Private constructor
+    private EnvProtocol() {
+        // Empty to prevents instantiation
+    }
+
+    /**
+     * Bytes of one OBSERVATIONS frame, header included
+     */
+    public static int observationFrameBytes(int envs, int wordsPerEnv) {
+        return FRAME_HEADER_BYTES + envs * (ENV_HEADER_BYTES + wordsPerEnv * 8);
+    }
+
+    /**
+     * Writes an OBSERVATIONS frame
+     * Each record is the env header followed by the occupancy bitset, one bit
+     * per cell in y * width + x order, packed into little-endian u64 words
+     * @param results TickResult ordinal per env from the last step, all 0 after a reset
+     */
+    public static void writeObservations(MultiGameEngine engine, byte[] results, ByteBuffer out) {
+        int envs = engine.getGames();
+        int words = engine.getWordsPerGame();
+        out.putInt(envs * (ENV_HEADER_BYTES + words * 8));
+        out.put(OBSERVATIONS);
+        for (int g = 0; g < envs; g++) {
+            out.put(results[g]);
+            out.put((byte) engine.getDirection(g).ordinal());
+            out.putInt(engine.getLength(g));
+            out.putShort((short) engine.getHeadX(g));
+            out.putShort((short) engine.getHeadY(g));
+            out.putInt(engine.getFood(g));
+            for (int w = 0; w < words; w++) {
+                out.putLong(engine.getOccupancyWord(g, w));
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.snake.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+import com.snake.utils.GameLog;
+
+/**
+ * Headless training environments served over a local TCP socket
+ *
+ * Each connection creates its own batch of games (MultiGameEngine) and then
+ * steps all of them with one message per tick, see EnvProtocol. A single
+ * selector thread serves every connection with non-blocking NIO.
+ */
+public class EnvServer implements Runnable {
+
+    // Default port when none is given
+    public static final int DEFAULT_PORT = 5577;
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Opens the listening socket on the loopback interface
+     * @param port Port to listen on, 0 picks a free one
+     */
+    public EnvServer(int port) throws IOException {
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Starts serving on a background thread
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "env-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops serving and closes every connection
+     */
+    public synchronized void stop() {
+        running = false;
+        selector.wakeup();
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        serve(key);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            GameLog.warning("Env server stopped: " + e.getMessage());
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true); // Small step messages must not wait for Nagle
+        channel.register(selector, SelectionKey.OP_READ, new EnvSession(channel));
+    }
+
+    private void serve(SelectionKey key) {
+        EnvSession session = (EnvSession) key.attachment();
+        try {
+            if (key.isReadable() && !session.read()) {
+                close(key);
+                return;
+            }
+
+            // Flush responses, then answer requests that queued up behind them
+            while (session.hasPendingOutput() && session.write()) {
+                session.process();
+            }
+
+            if (session.hasPendingOutput()) {
+                // Socket is full, stop reading until the client catches up
+                key.interestOps(SelectionKey.OP_WRITE);
+            } else if (session.isClosing()) {
+                close(key);
+            } else {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        } catch (IOException e) {
+            close(key);
+        } catch (RuntimeException e) {
+            // A bug hit by one client must not take the other connections down with the selector thread
+            GameLog.warning("Env connection failed: " + e);
+            close(key);
+        }
+    }
+
+    private static void close(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            GameLog.warning("Error closing connection: " + e.getMessage());
+        }
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            close(key);
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            GameLog.warning("Error closing selector: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs the server until the process is killed
+     * Takes --port=N, default 5577
+     */
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            }
+        }
+
+        EnvServer envServer = new EnvServer(port);
+        System.out.println("Env server listening on 127.0.0.1:" + envServer.getPort());
+        envServer.run();
+    }
+}
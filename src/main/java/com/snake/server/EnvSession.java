@@ -0,0 +1,227 @@
+package com.snake.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.snake.game.GameState;
+import com.snake.sim.MultiGameEngine;
+import com.snake.utils.GameConfig;
+
+/**
+ * One client connection and the batch of environments it drives
+ * Only touched by the server's selector thread
+ */
+class EnvSession {
+
+    // Room for requests before CREATE tells us the batch size
+    private static final int INITIAL_BUFFER_BYTES = 64;
+
+    private final SocketChannel channel;
+    private ByteBuffer in;
+    private ByteBuffer out;
+
+    private MultiGameEngine engine;
+    private byte[] actions;
+    private byte[] results;
+    private long resetSeed;
+    private boolean closing;
+
+    // Constructor
+    EnvSession(SocketChannel channel) {
+        this.channel = channel;
+        in = ByteBuffer.allocate(INITIAL_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        out = ByteBuffer.allocate(INITIAL_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        out.flip(); // Nothing to send yet
+    }
+
+    /**
+     * Reads what the socket has and answers the complete requests
+     * @return false when the client went away
+     */
+    boolean read() throws IOException {
+        if (channel.read(in) < 0) {
+            return false;
+        }
+        process();
+        return true;
+    }
+
+    /**
+     * Answers buffered requests, one at a time
+     * Stops while a response is still waiting to be sent, the server calls
+     * this again once it is out
+     */
+    void process() {
+        int needed = 0;
+        in.flip();
+        while (!hasPendingOutput() && !closing && in.remaining() >= EnvProtocol.FRAME_HEADER_BYTES) {
+            int length = in.getInt(in.position());
+            if (length < 0 || length > EnvProtocol.MAX_REQUEST_BYTES) {
+                error("Bad frame length: " + length);
+                break;
+            }
+            int frame = EnvProtocol.FRAME_HEADER_BYTES + length;
+            if (in.remaining() < frame) {
+                needed = frame;
+                break;
+            }
+
+            in.getInt();
+            byte type = in.get();
+            int end = in.position() + length;
+            handle(type, length);
+            in.position(end);
+        }
+        in.compact();
+
+        // Make room for a frame larger than the buffer, or for this batch's STEP requests
+        if (engine != null) {
+            needed = Math.max(needed, EnvProtocol.FRAME_HEADER_BYTES + actions.length);
+        }
+        if (needed > in.capacity()) {
+            ByteBuffer grown = ByteBuffer.allocate(needed).order(ByteOrder.LITTLE_ENDIAN);
+            in.flip();
+            grown.put(in);
+            in = grown;
+        }
+    }
+
+    /**
+     * Sends as much of the pending response as the socket takes
+     * @return true once everything is sent
+     */
+    boolean write() throws IOException {
+        channel.write(out);
+        return !out.hasRemaining();
+    }
+
+    boolean hasPendingOutput() {
+        return out.hasRemaining();
+    }
+
+    /**
+     * Checks if the connection should be closed once the output is flushed
+     */
+    boolean isClosing() {
+        return closing;
+    }
+
+    private void handle(byte type, int length) {
+        try {
+            switch (type) {
+                case EnvProtocol.CREATE:
+                    expectLength(length, EnvProtocol.CREATE_BYTES);
+                    create();
+                    break;
+                case EnvProtocol.RESET:
+                    expectLength(length, EnvProtocol.RESET_BYTES);
+                    requireEngine();
+                    resetSeed = in.getLong();
+                    engine.resetAll(resetSeed);
+                    Arrays.fill(results, (byte) 0);
+                    sendObservations();
+                    break;
+                case EnvProtocol.STEP:
+                    requireEngine();
+                    expectLength(length, actions.length);
+                    step();
+                    break;
+                case EnvProtocol.CLOSE:
+                    closing = true;
+                    break;
+                default:
+                    error("Unknown request type: " + type);
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            error(e.getMessage());
+        }
+    }
+
+    private void create() {
+        int width = in.getShort() & 0xFFFF;
+        int height = in.getShort() & 0xFFFF;
+        int snakeLength = in.getShort() & 0xFFFF;
+        int envs = in.getInt();
+        long seed = in.getLong();
+
+        GameConfig config = GameConfig.defaults().withGridSize(width, height).withCellSize(1)
+                .withInitialSnakeLength(snakeLength).withScoresFile(null);
+        if (envs < 1 || EnvProtocol.FRAME_HEADER_BYTES + envs > EnvProtocol.MAX_REQUEST_BYTES) {
+            throw new IllegalArgumentException("Bad number of envs: " + envs);
+        }
+        // Checked before anything is allocated, the engine and the response buffer grow with it
+        if ((long) envs * config.getCellCount() > EnvProtocol.MAX_CELLS) {
+            throw new IllegalArgumentException(envs + " envs of " + width + "x" + height + " exceed "
+                    + EnvProtocol.MAX_CELLS + " cells");
+        }
+
+        engine = new MultiGameEngine(config, envs, seed);
+        actions = new byte[envs];
+        results = new byte[envs];
+        resetSeed = seed;
+
+        // Sized once for the largest response of this batch, the input grows in process()
+        out = ByteBuffer.allocateDirect(EnvProtocol.observationFrameBytes(envs, engine.getWordsPerGame()))
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        out.clear();
+        out.putInt(8);
+        out.put(EnvProtocol.CREATED);
+        out.putInt(envs);
+        out.putInt(engine.getWordsPerGame());
+        out.flip();
+    }
+
+    private void step() {
+        in.get(actions);
+        for (int g = 0; g < actions.length; g++) {
+            if ((actions[g] & 0xFF) > 3) {
+                actions[g] = MultiGameEngine.NO_ACTION;
+            }
+        }
+        engine.step(actions, results);
+
+        // Finished envs start over right away, their result byte still tells how they ended
+        for (int g = 0; g < results.length; g++) {
+            if (engine.getState(g) != GameState.PLAYING) {
+                engine.reset(g, ++resetSeed);
+            }
+        }
+        sendObservations();
+    }
+
+    private void sendObservations() {
+        out.clear();
+        EnvProtocol.writeObservations(engine, results, out);
+        out.flip();
+    }
+
+    private void error(String message) {
+        byte[] text = message.getBytes(StandardCharsets.UTF_8);
+        if (out.capacity() < EnvProtocol.FRAME_HEADER_BYTES + text.length) {
+            out = ByteBuffer.allocate(EnvProtocol.FRAME_HEADER_BYTES + text.length).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        out.clear();
+        out.putInt(text.length);
+        out.put(EnvProtocol.ERROR);
+        out.put(text);
+        out.flip();
+        closing = true;
+    }
+
+    private void requireEngine() {
+        if (engine == null) {
+            throw new IllegalStateException("Send CREATE first");
+        }
+    }
+
+    private static void expectLength(int length, int expected) {
+        if (length != expected) {
+            throw new IllegalArgumentException("Expected " + expected + " payload bytes but got " + length);
+        }
+    }
+}
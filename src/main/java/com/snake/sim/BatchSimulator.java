@@ -0,0 +1,258 @@
+package com.snake.sim;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.snake.ai.Autopilot;
+import com.snake.game.Controller;
+import com.snake.game.GameEngine;
+import com.snake.game.GameState;
+import com.snake.scores.HighScore;
+import com.snake.scores.HighScoreStore;
+import com.snake.utils.GameConfig;
+
+/**
+ * Plays many independent headless games in parallel
+ *
+ * Games are split into chunks on a work-stealing ForkJoinPool. Every chunk
+ * fills its own stats, so workers never share mutable state until the
+ * results are merged. Game seeds come from one SplittableRandom, so a batch
+ * gives the same results no matter how many threads run it.
+ */
+public class BatchSimulator {
+
+    // Chunks per worker thread, more chunks balance uneven game lengths better
+    private static final int CHUNKS_PER_THREAD = 16;
+
+    /**
+     * Receives results while the batch is still running
+     */
+    public interface Listener {
+
+        /**
+         * Called from worker threads as each chunk of games finishes
+         * Calls can overlap, so implementations must be thread safe
+         * @param chunk Results of the games in this chunk only
+         */
+        void onChunk(SimulationStats chunk);
+    }
+
+    private final GameConfig config;
+    private final ForkJoinPool pool;
+    private final long maxTicks;
+
+    // Every finished game is added here when set
+    private volatile HighScoreStore scores;
+
+    /**
+     * Creates a simulator on the common pool, using every core
+     * @param config Grid and snake settings for every game
+     * @param maxTicks Games still running after this many ticks are stopped
+     */
+    public BatchSimulator(GameConfig config, long maxTicks) {
+        this(config, maxTicks, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a simulator on the given pool
+     */
+    public BatchSimulator(GameConfig config, long maxTicks, ForkJoinPool pool) {
+        if (maxTicks < 1) {
+            throw new IllegalArgumentException("Tick limit must be positive: " + maxTicks);
+        }
+        this.config = config;
+        this.maxTicks = maxTicks;
+        this.pool = pool;
+    }
+
+    /**
+     * Adds every game played from now on to a high score store, or stops doing so when null
+     */
+    public void setScores(HighScoreStore scores) {
+        this.scores = scores;
+    }
+
+    /**
+     * Plays a batch of games and waits for all of them
+     * @param games Number of games
+     * @param seed Seed for the whole batch, each game gets its own stream from it
+     * @param controllers Creates the controller that steers each game
+     * @param listener Receives partial results as they come in, or null
+     * @return Results of all games
+     */
+    public SimulationStats run(int games, long seed, Controller.Factory controllers, Listener listener) {
+        if (games < 0) {
+            throw new IllegalArgumentException("Number of games must not be negative: " + games);
+        }
+
+        // Seeds are drawn up front, in order, so they do not depend on scheduling
+        long[] seeds = new long[games];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < games; i++) {
+            seeds[i] = random.split().nextLong();
+        }
+
+        int chunkSize = Math.max(1, games / (pool.getParallelism() * CHUNKS_PER_THREAD));
+        return pool.invoke(new Chunk(seeds, 0, games, chunkSize, controllers, listener));
+    }
+
+    /**
+     * Plays a single game until it ends or hits the tick limit
+     * @return The engine in its final state
+     */
+    public GameEngine play(long seed, Controller controller) {
+        GameEngine engine = new GameEngine(config, seed);
+        while (engine.getGameState() == GameState.PLAYING && engine.getTick() < maxTicks) {
+            engine.step(controller.decide(engine));
+        }
+        return engine;
+    }
+
+    /**
+     * A range of games, split in halves until it is small enough to play
+     */
+    private class Chunk extends RecursiveTask<SimulationStats> {
+
+        private final long[] seeds;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final Controller.Factory controllers;
+        private final Listener listener;
+
+        Chunk(long[] seeds, int from, int to, int chunkSize, Controller.Factory controllers, Listener listener) {
+            this.seeds = seeds;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.controllers = controllers;
+            this.listener = listener;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from > chunkSize) {
+                int middle = (from + to) >>> 1;
+                Chunk left = new Chunk(seeds, from, middle, chunkSize, controllers, listener);
+                left.fork();
+                SimulationStats stats = new Chunk(seeds, middle, to, chunkSize, controllers, listener).compute();
+                stats.merge(left.join());
+                return stats;
+            }
+
+            SimulationStats stats = new SimulationStats(config, maxTicks);
+            HighScoreStore store = scores;
+            for (int i = from; i < to; i++) {
+                GameEngine engine = play(seeds[i], controllers.create(seeds[i]));
+                stats.record(engine);
+                if (store != null) {
+                    try {
+                        store.append(HighScore.of(engine));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }
+            if (listener != null) {
+                listener.onChunk(stats);
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * Runs a batch from the command line and prints the results
+     * Takes the game settings plus --games, --seed, --threads, --max.ticks, --bot (greedy or autopilot)
+     * and --scores (a high score file to add every game to)
+     */
+    public static void main(String[] args) {
+        GameConfig config;
+        int games;
+        long seed;
+        int threads;
+        long maxTicks;
+        Controller.Factory bot;
+        String scoresFile;
+        try {
+            config = GameConfig.load(args);
+            games = Integer.parseInt(argument(args, "games", "100000"));
+            seed = Long.parseLong(argument(args, "seed", String.valueOf(System.nanoTime())));
+            threads = Integer.parseInt(argument(args, "threads",
+                    String.valueOf(Runtime.getRuntime().availableProcessors())));
+            maxTicks = Long.parseLong(argument(args, "max.ticks", String.valueOf(100L * config.getCellCount())));
+            String botName = argument(args, "bot", "greedy");
+            if (botName.equals("greedy")) {
+                bot = GreedyController.FACTORY;
+            } else if (botName.equals("autopilot")) {
+                bot = Autopilot.FACTORY;
+            } else {
+                throw new IllegalArgumentException("Unknown bot: " + botName);
+            }
+            scoresFile = argument(args, "scores", null);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid settings: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        final long total = games;
+        final AtomicLong done = new AtomicLong();
+        Listener progress = new Listener() {
+            @Override
+            public void onChunk(SimulationStats chunk) {
+                long before = done.getAndAdd(chunk.getGames());
+                long after = before + chunk.getGames();
+                // Print roughly every 10%
+                if (after * 10 / total != before * 10 / total) {
+                    System.out.println("  " + after + " / " + total + " games");
+                }
+            }
+        };
+
+        BatchSimulator simulator = new BatchSimulator(config, maxTicks, new ForkJoinPool(threads));
+        HighScoreStore store = null;
+        if (scoresFile != null) {
+            try {
+                store = HighScoreStore.open(new File(scoresFile));
+            } catch (IOException e) {
+                System.out.println("Could not open high scores: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+            simulator.setScores(store);
+        }
+
+        long start = System.nanoTime();
+        SimulationStats stats = simulator.run(games, seed, bot, progress);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        simulator.pool.shutdown();
+
+        System.out.println(stats);
+        System.out.printf("%.2f s on %d threads, %.0f games/s, seed %d%n", seconds, threads, games / seconds, seed);
+
+        if (store != null) {
+            System.out.println("High scores: " + store.size() + " games in " + scoresFile + ", best "
+                    + store.getBestScore());
+            try {
+                store.close();
+            } catch (IOException e) {
+                System.out.println("Could not close high scores: " + e.getMessage());
+            }
+        }
+    }
+
+    private static String argument(String[] args, String key, String defaultValue) {
+        String prefix = "--" + key + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,66 @@
+package com.snake.sim;
+
+import com.snake.entities.Direction;
+import com.snake.entities.Snake;
+import com.snake.game.Controller;
+import com.snake.game.GameEngine;
+import com.snake.utils.GameConfig;
+
+/**
+ * Baseline bot: heads straight for the food, dodging walls and its own body
+ * Only looks one cell ahead, so it still traps itself on longer snakes
+ */
+public class GreedyController implements Controller {
+
+    // Shared factory, the controller has no state
+    public static final Controller.Factory FACTORY = new Controller.Factory() {
+        @Override
+        public Controller create(long seed) {
+            return INSTANCE;
+        }
+    };
+
+    private static final GreedyController INSTANCE = new GreedyController();
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    @Override
+    public Direction decide(GameEngine engine) {
+        Snake snake = engine.getSnake();
+        int headX = snake.getHeadX();
+        int headY = snake.getHeadY();
+        int dx = engine.getFood().getX() - headX;
+        int dy = engine.getFood().getY() - headY;
+
+        // 1. A safe move that gets closer to the food
+        Direction best = null;
+        for (Direction direction : DIRECTIONS) {
+            if (direction.getDx() * dx + direction.getDy() * dy > 0 && isSafe(engine, snake, direction)) {
+                best = direction;
+                break;
+            }
+        }
+
+        // 2. Otherwise any safe move, keeping the current direction if possible
+        if (best == null && isSafe(engine, snake, snake.getDirection())) {
+            best = snake.getDirection();
+        }
+        for (int i = 0; best == null && i < DIRECTIONS.length; i++) {
+            if (isSafe(engine, snake, DIRECTIONS[i])) {
+                best = DIRECTIONS[i];
+            }
+        }
+        return best; // null when trapped, the snake keeps going and dies
+    }
+
+    private static boolean isSafe(GameEngine engine, Snake snake, Direction direction) {
+        if (direction == snake.getDirection().getOpposite()) {
+            return false;
+        }
+        GameConfig config = engine.getConfig();
+        int x = snake.getHeadX() + direction.getDx();
+        int y = snake.getHeadY() + direction.getDy();
+        return x >= 0 && x < config.getGridWidth() && y >= 0 && y < config.getGridHeight()
+                && !snake.isOccupied(x, y);
+    }
+}
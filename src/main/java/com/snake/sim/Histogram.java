@@ -0,0 +1,106 @@
+package com.snake.sim;
+
+/**
+ * Counts values in equal width buckets, the last bucket also takes everything larger
+ * Not thread safe, each worker fills its own and they are merged at the end
+ */
+public class Histogram {
+
+    private final int bucketWidth;
+    private final long[] counts;
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    // Constructor
+    public Histogram(int bucketWidth, int buckets) {
+        if (bucketWidth < 1 || buckets < 1) {
+            throw new IllegalArgumentException("Bucket width and count must be positive");
+        }
+        this.bucketWidth = bucketWidth;
+        this.counts = new long[buckets];
+    }
+
+    /**
+     * Adds a value, negative values go to the first bucket
+     */
+    public void record(long value) {
+        long bucket = Math.max(0, value / bucketWidth);
+        counts[(int) Math.min(bucket, counts.length - 1)]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all values of another histogram with the same buckets
+     */
+    public void merge(Histogram other) {
+        if (other.bucketWidth != bucketWidth || other.counts.length != counts.length) {
+            throw new IllegalArgumentException("Histograms have different buckets");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Lower bound of the bucket holding the given fraction of values
+     * @param fraction 0.5 for the median, 0.99 for the 99th percentile
+     */
+    public long percentile(double fraction) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(fraction * count);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (long) i * bucketWidth;
+            }
+        }
+        return (long) (counts.length - 1) * bucketWidth;
+    }
+
+    // GETTERS
+    public long getCount() {
+        return count;
+    }
+
+    public long getBucket(int index) {
+        return counts[index];
+    }
+
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    public int getBucketWidth() {
+        return bucketWidth;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("mean %.1f, min %d, p50 %d, p99 %d, max %d",
+                getMean(), getMin(), percentile(0.5), percentile(0.99), getMax());
+    }
+}
@@ -0,0 +1,347 @@
+package com.snake.sim;
+
+import com.snake.entities.Direction;
+import com.snake.game.GameEngine;
+import com.snake.game.GameState;
+import com.snake.game.TickResult;
+import com.snake.utils.GameConfig;
+import com.snake.utils.XorShiftRandom;
+
+/**
+ * Many games on the same grid, stored as parallel arrays instead of objects
+ *
+ * Game g keeps its fields at index g of each array, its body in slots
+ * g * ringSize .. of one shared ring buffer array, and its occupancy in words
+ * g * wordsPerGame .. of one shared bitset. step() advances every game in
+ * one loop over those arrays, with no objects touched and nothing allocated.
+ * The rules are the same as GameEngine, only food placement draws from a
+ * different random sequence.
+ */
+public class MultiGameEngine {
+
+    // Action meaning "keep going", any other action is a Direction ordinal
+    public static final byte NO_ACTION = -1;
+
+    // Movement per Direction ordinal (UP, DOWN, LEFT, RIGHT)
+    private static final int[] DX = new int[4];
+    private static final int[] DY = new int[4];
+    private static final byte[] OPPOSITE = new byte[4];
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    static {
+        for (Direction direction : DIRECTIONS) {
+            DX[direction.ordinal()] = direction.getDx();
+            DY[direction.ordinal()] = direction.getDy();
+            OPPOSITE[direction.ordinal()] = (byte) direction.getOpposite().ordinal();
+        }
+    }
+
+    // Values of the state array
+    private static final byte PLAYING = (byte) GameState.PLAYING.ordinal();
+    private static final byte GAME_OVER = (byte) GameState.GAME_OVER.ordinal();
+    private static final byte WON = (byte) GameState.WON.ordinal();
+    private static final GameState[] STATES = GameState.values();
+
+    // Values of the result array
+    private static final byte IDLE = (byte) TickResult.IDLE.ordinal();
+    private static final byte MOVED = (byte) TickResult.MOVED.ordinal();
+    private static final byte ATE = (byte) TickResult.ATE.ordinal();
+    private static final byte DIED = (byte) TickResult.DIED.ordinal();
+    private static final byte WON_RESULT = (byte) TickResult.WON.ordinal();
+
+    // ===== GRID =====
+    private final int games;
+    private final int width;
+    private final int height;
+    private final int cells;
+    private final int wordsPerGame;
+    private final int ringSize;
+    private final int ringMask;
+    private final int initialLength;
+    // Valid bits of each game's last occupancy word
+    private final long lastWordMask;
+
+    // ===== PER GAME STATE =====
+    private final int[] headX;
+    private final int[] headY;
+    private final int[] head; // Ring slot of the head, relative to the game's ring
+    private final int[] length;
+    private final byte[] direction;
+    private final byte[] nextDirection;
+    private final boolean[] grow;
+    private final int[] food; // Cell index, -1 once the board is full
+    private final int[] foods;
+    private final int[] ticks;
+    private final byte[] state;
+    private final long[] random; // xorshift state
+
+    // Body cells (y * width + x), ringSize slots per game
+    private final int[] body;
+    // One bit per cell, wordsPerGame words per game
+    private final long[] occupied;
+
+    /**
+     * Creates the games, all reset and ready to step
+     * @param config Grid size and initial snake length, shared by every game
+     * @param games Number of games
+     * @param seed Seed for the first round of games, each game gets its own stream
+     */
+    public MultiGameEngine(GameConfig config, int games, long seed) {
+        if (games < 1) {
+            throw new IllegalArgumentException("Need at least one game: " + games);
+        }
+        this.games = games;
+        width = config.getGridWidth();
+        height = config.getGridHeight();
+        cells = config.getCellCount();
+        initialLength = config.getInitialSnakeLength();
+        wordsPerGame = (cells + 63) >>> 6;
+        lastWordMask = (cells & 63) == 0 ? -1L : (1L << (cells & 63)) - 1;
+        ringSize = Integer.highestOneBit(cells - 1) << 1;
+        ringMask = ringSize - 1;
+
+        long memory = (long) games * ringSize;
+        if (memory > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many games for this grid: " + games);
+        }
+
+        headX = new int[games];
+        headY = new int[games];
+        head = new int[games];
+        length = new int[games];
+        direction = new byte[games];
+        nextDirection = new byte[games];
+        grow = new boolean[games];
+        food = new int[games];
+        foods = new int[games];
+        ticks = new int[games];
+        state = new byte[games];
+        random = new long[games];
+        body = new int[games * ringSize];
+        occupied = new long[games * wordsPerGame];
+
+        resetAll(seed);
+    }
+
+    /**
+     * Resets every game, game g is seeded from the batch seed and g
+     */
+    public void resetAll(long seed) {
+        long mixed = XorShiftRandom.scramble(seed);
+        for (int g = 0; g < games; g++) {
+            reset(g, mixed + g);
+        }
+    }
+
+    /**
+     * Starts a new game in one slot
+     * @param g The game
+     * @param seed Seed for food placement
+     */
+    public void reset(int g, long seed) {
+        int words = g * wordsPerGame;
+        for (int i = 0; i < wordsPerGame; i++) {
+            occupied[words + i] = 0;
+        }
+
+        // Same start as Snake: centered, facing right, body to the left
+        int startX = width / 2;
+        int startY = height / 2;
+        int ring = g * ringSize;
+        for (int i = 0; i < initialLength; i++) {
+            int cell = startY * width + startX - i;
+            body[ring + i] = cell;
+            occupied[words + (cell >>> 6)] |= 1L << cell;
+        }
+        head[g] = 0;
+        length[g] = initialLength;
+        headX[g] = startX;
+        headY[g] = startY;
+        direction[g] = (byte) Direction.RIGHT.ordinal();
+        nextDirection[g] = direction[g];
+        grow[g] = false;
+        foods[g] = 0;
+        ticks[g] = 0;
+        state[g] = PLAYING;
+        random[g] = XorShiftRandom.scramble(seed);
+
+        food[g] = spawnFood(g);
+    }
+
+    /**
+     * Advances every playing game by one tick
+     * @param actions One action per game (a Direction ordinal or NO_ACTION), or null for none
+     * @param results Filled with one TickResult ordinal per game
+     */
+    public void step(byte[] actions, byte[] results) {
+        for (int g = 0; g < games; g++) {
+            results[g] = stepGame(g, actions == null ? NO_ACTION : actions[g]);
+        }
+    }
+
+    private byte stepGame(int g, byte action) {
+        if (state[g] != PLAYING) {
+            return IDLE;
+        }
+
+        // Same buffering as Snake.setDirection, reversing is ignored
+        if (action >= 0 && action != OPPOSITE[direction[g]]) {
+            nextDirection[g] = action;
+        }
+        int d = nextDirection[g];
+        direction[g] = (byte) d;
+        ticks[g]++;
+
+        // 1. Move: the tail leaves its cell before the head enters
+        int ring = g * ringSize;
+        int words = g * wordsPerGame;
+        int len = length[g];
+        if (grow[g]) {
+            grow[g] = false;
+            len++;
+            length[g] = len;
+        } else {
+            int tail = body[ring + ((head[g] + len - 1) & ringMask)];
+            occupied[words + (tail >>> 6)] &= ~(1L << tail);
+        }
+        int slot = (head[g] - 1) & ringMask;
+        head[g] = slot;
+
+        int x = headX[g] + DX[d];
+        int y = headY[g] + DY[d];
+        headX[g] = x;
+        headY[g] = y;
+
+        // 2. Collisions
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            body[ring + slot] = -1;
+            state[g] = GAME_OVER;
+            return DIED;
+        }
+        int cell = y * width + x;
+        body[ring + slot] = cell;
+        long bit = 1L << cell;
+        int word = words + (cell >>> 6);
+        if ((occupied[word] & bit) != 0) {
+            state[g] = GAME_OVER;
+            return DIED;
+        }
+        occupied[word] |= bit;
+
+        // 3. Food
+        if (cell != food[g]) {
+            return MOVED;
+        }
+        grow[g] = true;
+        foods[g]++;
+        food[g] = spawnFood(g);
+        if (food[g] < 0) {
+            state[g] = WON;
+            return WON_RESULT;
+        }
+        return ATE;
+    }
+
+    /**
+     * Picks a uniformly random free cell by counting free bits word by word
+     * @return The cell, or -1 when every cell is covered
+     */
+    private int spawnFood(int g) {
+        // Every segment covers its own cell while the game is playing
+        int free = cells - length[g];
+        if (free <= 0) {
+            return -1;
+        }
+
+        random[g] = XorShiftRandom.next(random[g]);
+        int rank = XorShiftRandom.bounded(random[g], free);
+        for (int w = 0; w < wordsPerGame; w++) {
+            long freeBits = ~getOccupancyWord(g, w);
+            if (w == wordsPerGame - 1) {
+                freeBits &= lastWordMask;
+            }
+            int count = Long.bitCount(freeBits);
+            if (rank < count) {
+                // Drop the lowest free bits until the wanted one is lowest
+                for (int i = 0; i < rank; i++) {
+                    freeBits &= freeBits - 1;
+                }
+                return (w << 6) + Long.numberOfTrailingZeros(freeBits);
+            }
+            rank -= count;
+        }
+        return -1; // Unreachable while the counts are consistent
+    }
+
+    /**
+     * One word of a game's occupancy bitset, bit i of word w is cell w * 64 + i
+     */
+    public long getOccupancyWord(int g, int w) {
+        return occupied[g * wordsPerGame + w];
+    }
+
+    /**
+     * Copies a game's occupancy bitset, one bit per cell in y * width + x order
+     * @param g The game
+     * @param target Array to copy into
+     * @param offset First word to write, wordsPerGame words are written
+     */
+    public void copyOccupancy(int g, long[] target, int offset) {
+        System.arraycopy(occupied, g * wordsPerGame, target, offset, wordsPerGame);
+    }
+
+    // GETTERS
+    public int getGames() {
+        return games;
+    }
+
+    public int getWordsPerGame() {
+        return wordsPerGame;
+    }
+
+    public int getHeadX(int g) {
+        return headX[g];
+    }
+
+    public int getHeadY(int g) {
+        return headY[g];
+    }
+
+    public int getLength(int g) {
+        return length[g];
+    }
+
+    /**
+     * Cell of the food as y * width + x, or -1 when the board is full
+     */
+    public int getFood(int g) {
+        return food[g];
+    }
+
+    public int getScore(int g) {
+        return foods[g] * GameEngine.FOOD_SCORE;
+    }
+
+    public int getTick(int g) {
+        return ticks[g];
+    }
+
+    public GameState getState(int g) {
+        return STATES[state[g]];
+    }
+
+    public Direction getDirection(int g) {
+        return DIRECTIONS[direction[g]];
+    }
+
+    /**
+     * Checks if a body segment is on the cell, cells off the grid are never occupied
+     */
+    public boolean isOccupied(int g, int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return false;
+        }
+        int cell = y * width + x;
+        return (getOccupancyWord(g, cell >>> 6) & (1L << cell)) != 0;
+    }
+}
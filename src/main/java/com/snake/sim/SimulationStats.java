@@ -0,0 +1,108 @@
+package com.snake.sim;
+
+import com.snake.game.GameEngine;
+import com.snake.game.GameState;
+import com.snake.utils.GameConfig;
+
+/**
+ * Aggregated results of many finished games
+ */
+public class SimulationStats {
+
+    // Histogram sizes, larger values share the last bucket
+    private static final int MAX_BUCKETS = 1024;
+
+    private long games;
+    private long died;
+    private long won;
+    private long timedOut;
+    private final Histogram foods;
+    private final Histogram lengths;
+    private final Histogram ticks;
+
+    /**
+     * Creates empty stats sized for the grid and the tick limit
+     */
+    public SimulationStats(GameConfig config, long maxTicks) {
+        int cells = config.getCellCount();
+        int cellWidth = (cells + MAX_BUCKETS - 1) / MAX_BUCKETS;
+        foods = new Histogram(cellWidth, Math.min(cells, MAX_BUCKETS) + 1);
+        lengths = new Histogram(cellWidth, Math.min(cells, MAX_BUCKETS) + 1);
+        ticks = new Histogram((int) Math.max(1, Math.min(Integer.MAX_VALUE, maxTicks / MAX_BUCKETS)),
+                MAX_BUCKETS + 1);
+    }
+
+    /**
+     * Adds one game that stopped, either by ending or by running out of ticks
+     */
+    public void record(GameEngine engine) {
+        games++;
+        GameState state = engine.getGameState();
+        if (state == GameState.GAME_OVER) {
+            died++;
+        } else if (state == GameState.WON) {
+            won++;
+        } else {
+            timedOut++;
+        }
+        foods.record(engine.getScore() / GameEngine.FOOD_SCORE);
+        lengths.record(engine.getSnake().getLength());
+        ticks.record(engine.getTick());
+    }
+
+    /**
+     * Adds the results of another batch run with the same settings
+     */
+    public void merge(SimulationStats other) {
+        games += other.games;
+        died += other.died;
+        won += other.won;
+        timedOut += other.timedOut;
+        foods.merge(other.foods);
+        lengths.merge(other.lengths);
+        ticks.merge(other.ticks);
+    }
+
+    // GETTERS
+    public long getGames() {
+        return games;
+    }
+
+    public long getDied() {
+        return died;
+    }
+
+    public long getWon() {
+        return won;
+    }
+
+    public long getTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Food eaten per game, the score is this times FOOD_SCORE
+     */
+    public Histogram getFoods() {
+        return foods;
+    }
+
+    public Histogram getLengths() {
+        return lengths;
+    }
+
+    /**
+     * Ticks each game lasted, i.e. ticks to death for the games that died
+     */
+    public Histogram getTicks() {
+        return ticks;
+    }
+
+    @Override
+    public String toString() {
+        return games + " games (" + died + " died, " + won + " won, " + timedOut + " timed out)\n"
+                + "  food:   " + foods + "\n"
+                + "  length: " + lengths + "\n"
+                + "  ticks:  " + ticks;
+    }
+}
@@ -0,0 +1,116 @@
+package com.snake.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Counts the bytes the current thread allocates inside begin() / end()
+ * Used to check that painting settles to zero garbage once warmed up
+ *
+ * Relies on the HotSpot thread allocation counters. On other JVMs
+ * isSupported() is false and every sample reads as zero.
+ */
+public class AllocationCounter {
+
+    private static final com.sun.management.ThreadMXBean THREADS = findThreadBean();
+
+    // Bytes the measurement itself allocates, subtracted from every sample
+    private static final long OVERHEAD = measureOverhead();
+
+    private long start;
+    private long totalBytes;
+    private long lastBytes;
+    private long samples;
+
+    /**
+     * Starts a sample on the current thread
+     */
+    public void begin() {
+        start = allocatedBytes();
+    }
+
+    /**
+     * Ends the sample started by begin() on the same thread
+     */
+    public void end() {
+        lastBytes = Math.max(0, allocatedBytes() - start - OVERHEAD);
+        totalBytes += lastBytes;
+        samples++;
+    }
+
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Total bytes allocated so far by the current thread, 0 when not supported
+     */
+    public static long allocatedBytes() {
+        return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    /**
+     * Total bytes allocated so far by all live threads, 0 when not supported
+     * Threads that ended no longer count, and the call allocates a little itself
+     */
+    public static long processAllocatedBytes() {
+        if (THREADS == null) {
+            return 0;
+        }
+        long total = 0;
+        for (long bytes : THREADS.getThreadAllocatedBytes(THREADS.getAllThreadIds())) {
+            total += Math.max(0, bytes); // -1 for threads that ended meanwhile
+        }
+        return total;
+    }
+
+    private static com.sun.management.ThreadMXBean findThreadBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+                if (threads.isThreadAllocatedMemorySupported()) {
+                    threads.setThreadAllocatedMemoryEnabled(true);
+                    return threads;
+                }
+            }
+        } catch (LinkageError | UnsupportedOperationException e) {
+            // Not a HotSpot JVM
+        }
+        return null;
+    }
+
+    private static long measureOverhead() {
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 16; i++) {
+            long before = allocatedBytes();
+            overhead = Math.min(overhead, allocatedBytes() - before);
+        }
+        return overhead;
+    }
+
+    // GETTERS
+    public long getLastBytes() {
+        return lastBytes;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public double getBytesPerSample() {
+        return samples == 0 ? 0 : (double) totalBytes / samples;
+    }
+
+    @Override
+    public String toString() {
+        if (!isSupported()) {
+            return "allocation counting not supported";
+        }
+        return String.format("%d samples, %.1f bytes/sample", samples, getBytesPerSample());
+    }
+}
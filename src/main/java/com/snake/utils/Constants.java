@@ -10,11 +10,13 @@ public class Constants {
 
     // Game settings
     public static final int GAME_SPEED = 150;
+    public static final int MIN_GAME_SPEED = 50; // Fastest tick when speeding up with length
+    public static final int MAX_CATCH_UP_MS = 250; // Late ticks replayed back to back, the rest are dropped
     public static final int INITIAL_SNAKE_LENGTH = 3;
 
     // Calculated values with the constants
     public static final int GAME_WIDTH = GRID_WIDTH * CELL_SIZE;
-    public static final int GAME_HEIGHT = GRID_WIDTH * CELL_SIZE;
+    public static final int GAME_HEIGHT = GRID_HEIGHT * CELL_SIZE;
     public static final int MENU_PANEL_WIDTH = PANEL_WIDTH * CELL_SIZE;
     public static final int MENU_PANEL_HEIGHT = PANEL_HEIGHT * CELL_SIZE;
 
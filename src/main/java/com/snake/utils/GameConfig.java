@@ -0,0 +1,373 @@
+package com.snake.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.logging.Level;
+
+/**
+ * Runtime game settings, defaults come from Constants
+ *
+ * Settings are read in this order, later ones win:
+ * a properties file (--config=FILE or -Dsnake.config=FILE),
+ * system properties (-Dsnake.grid.width=100) and command line
+ * arguments (--grid.width=100). Keys are grid.width, grid.height,
+ * cell.size, tick.ms, tick.speedup, tick.min.ms, tick.catchup, snake.length,
+ * replay.dir, render.mode, metrics.dir, scores.file, analytics.dir and log.level.
+ */
+public final class GameConfig {
+
+    // Limits for the grid, cells are packed into 16 bits per axis
+    public static final int MIN_GRID_SIZE = 5;
+    public static final int MAX_GRID_SIZE = 4096;
+
+    // Largest board size in pixels when the cell size is picked automatically
+    private static final int MAX_AUTO_BOARD_PIXELS = 1000;
+
+    private static final String PROPERTY_PREFIX = "snake.";
+    private static final String CONFIG_FILE_KEY = "config";
+
+    // Values of render.mode
+    public static final String RENDER_PASSIVE = "passive";
+    public static final String RENDER_ACTIVE = "active";
+
+    // Where high scores are kept unless scores.file says otherwise
+    public static final String DEFAULT_SCORES_FILE = System.getProperty("user.home")
+            + File.separator + ".snake" + File.separator + "scores.dat";
+
+    private final int gridWidth;
+    private final int gridHeight;
+    private final int cellSize;
+    private final long tickNanos;
+    private final int initialSnakeLength;
+    private final String replayDir;
+    private final boolean activeRendering;
+    private final String metricsDir;
+    private final String scoresFile;
+    private final String analyticsDir;
+    private final double tickSpeedup;
+    private final long minTickNanos;
+    private final int catchUpTicks;
+    private final Level logLevel;
+
+    // Constructor, every other config is derived from defaults() with the withX() methods
+    private GameConfig(int gridWidth, int gridHeight, int cellSize, long tickNanos, int initialSnakeLength,
+            String replayDir, boolean activeRendering, String metricsDir, String scoresFile, String analyticsDir,
+            double tickSpeedup, long minTickNanos, int catchUpTicks, Level logLevel) {
+        if (gridWidth < MIN_GRID_SIZE || gridWidth > MAX_GRID_SIZE
+                || gridHeight < MIN_GRID_SIZE || gridHeight > MAX_GRID_SIZE) {
+            throw new IllegalArgumentException("Grid must be between " + MIN_GRID_SIZE + " and "
+                    + MAX_GRID_SIZE + " cells per side: " + gridWidth + "x" + gridHeight);
+        }
+        if (cellSize < 1) {
+            throw new IllegalArgumentException("Cell size must be at least 1 pixel: " + cellSize);
+        }
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick interval must be positive: " + tickNanos + "ns");
+        }
+        if (!(tickSpeedup >= 0.0 && tickSpeedup < 100.0)) {
+            throw new IllegalArgumentException("Tick speedup must be from 0 to below 100 percent: " + tickSpeedup);
+        }
+        if (minTickNanos <= 0 || minTickNanos > tickNanos) {
+            throw new IllegalArgumentException("Shortest tick must be positive and at most the tick interval: "
+                    + minTickNanos + "ns");
+        }
+        if (catchUpTicks < 1) {
+            throw new IllegalArgumentException("Catch up must allow at least 1 tick: " + catchUpTicks);
+        }
+        if (initialSnakeLength < 1 || initialSnakeLength > gridWidth / 2 + 1) {
+            throw new IllegalArgumentException("Initial snake length does not fit the grid: " + initialSnakeLength);
+        }
+
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        this.cellSize = cellSize;
+        this.tickNanos = tickNanos;
+        this.initialSnakeLength = initialSnakeLength;
+        this.replayDir = replayDir;
+        this.activeRendering = activeRendering;
+        this.metricsDir = metricsDir;
+        this.scoresFile = scoresFile;
+        this.analyticsDir = analyticsDir;
+        this.tickSpeedup = tickSpeedup;
+        this.minTickNanos = minTickNanos;
+        this.catchUpTicks = catchUpTicks;
+        this.logLevel = logLevel;
+    }
+
+    /**
+     * MIN_GAME_SPEED, or the tick itself when that is shorter already
+     */
+    private static long defaultMinTickNanos(long tickNanos) {
+        return Math.min(tickNanos, Constants.MIN_GAME_SPEED * 1000000L);
+    }
+
+    /**
+     * Ticks that fit into MAX_CATCH_UP_MS, plus the late one itself
+     */
+    private static int defaultCatchUpTicks(long tickNanos) {
+        return (int) Math.min(Integer.MAX_VALUE, 1 + Constants.MAX_CATCH_UP_MS * 1000000L / Math.max(1, tickNanos));
+    }
+
+    /**
+     * Settings from Constants, with no file, property or argument applied
+     */
+    public static GameConfig defaults() {
+        long tickNanos = Constants.GAME_SPEED * 1000000L;
+        return new GameConfig(Constants.GRID_WIDTH, Constants.GRID_HEIGHT, Constants.CELL_SIZE, tickNanos,
+                Constants.INITIAL_SNAKE_LENGTH, null, false, null, DEFAULT_SCORES_FILE, null,
+                0.0, defaultMinTickNanos(tickNanos), defaultCatchUpTicks(tickNanos), Level.INFO);
+    }
+
+    /**
+     * Reads settings from the config file, system properties and arguments
+     * @param args Command line arguments in --key=value form
+     * @throws IllegalArgumentException if a value is missing, malformed or out of range
+     */
+    public static GameConfig load(String[] args) {
+        Properties settings = new Properties();
+
+        // 1. Collect arguments first, they may name the config file
+        Properties arguments = new Properties();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            arguments.setProperty(arg.substring(2, split), arg.substring(split + 1));
+        }
+
+        // 2. Properties file
+        String file = arguments.getProperty(CONFIG_FILE_KEY,
+                System.getProperty(PROPERTY_PREFIX + CONFIG_FILE_KEY));
+        if (file != null) {
+            try (InputStream in = new FileInputStream(file)) {
+                settings.load(in);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Could not read config file " + file + ": " + e.getMessage(), e);
+            }
+        }
+
+        // 3. System properties, then 4. arguments
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(PROPERTY_PREFIX)) {
+                settings.setProperty(name.substring(PROPERTY_PREFIX.length()), System.getProperty(name));
+            }
+        }
+        settings.putAll(arguments);
+
+        return fromProperties(settings);
+    }
+
+    /**
+     * Builds a config from unprefixed keys, missing keys keep their default
+     */
+    public static GameConfig fromProperties(Properties settings) {
+        GameConfig defaults = defaults();
+        int width = intSetting(settings, "grid.width", defaults.gridWidth);
+        int height = intSetting(settings, "grid.height", defaults.gridHeight);
+        int cellSize = intSetting(settings, "cell.size", autoCellSize(width, height));
+
+        // Fractions are allowed, e.g. 0.25 for a 250us tick
+        long tickNanos = Math.round(doubleSetting(settings, "tick.ms", defaults.tickNanos / 1000000.0) * 1000000.0);
+        double tickSpeedup = doubleSetting(settings, "tick.speedup", defaults.tickSpeedup);
+        long minTickNanos = Math.round(doubleSetting(settings, "tick.min.ms",
+                defaultMinTickNanos(tickNanos) / 1000000.0) * 1000000.0);
+        int catchUpTicks = intSetting(settings, "tick.catchup", defaultCatchUpTicks(tickNanos));
+
+        String renderMode = settings.getProperty("render.mode", RENDER_PASSIVE).trim();
+        if (!renderMode.equals(RENDER_PASSIVE) && !renderMode.equals(RENDER_ACTIVE)) {
+            throw new IllegalArgumentException("render.mode must be " + RENDER_PASSIVE + " or "
+                    + RENDER_ACTIVE + ": " + renderMode);
+        }
+
+        Level logLevel = defaults.logLevel;
+        String level = settings.getProperty("log.level");
+        if (level != null) {
+            try {
+                logLevel = Level.parse(level.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("log.level must be a java.util.logging level: " + level, e);
+            }
+        }
+
+        // An empty scores.file turns high scores off
+        String scoresFile = settings.getProperty("scores.file", defaults.scoresFile).trim();
+
+        return new GameConfig(width, height, cellSize, tickNanos,
+                intSetting(settings, "snake.length", defaults.initialSnakeLength),
+                settings.getProperty("replay.dir", defaults.replayDir),
+                renderMode.equals(RENDER_ACTIVE),
+                settings.getProperty("metrics.dir", defaults.metricsDir),
+                scoresFile.isEmpty() ? null : scoresFile,
+                settings.getProperty("analytics.dir", defaults.analyticsDir),
+                tickSpeedup, minTickNanos, catchUpTicks, logLevel);
+    }
+
+    /**
+     * Same settings on a different grid, the cell size is picked again to fit the screen
+     */
+    public GameConfig withGridSize(int width, int height) {
+        return new GameConfig(width, height, autoCellSize(width, height), tickNanos, initialSnakeLength, replayDir,
+                activeRendering, metricsDir, scoresFile, analyticsDir, tickSpeedup, minTickNanos, catchUpTicks,
+                logLevel);
+    }
+
+    /**
+     * Same settings with a fixed cell size
+     */
+    public GameConfig withCellSize(int size) {
+        return new GameConfig(gridWidth, gridHeight, size, tickNanos, initialSnakeLength, replayDir,
+                activeRendering, metricsDir, scoresFile, analyticsDir, tickSpeedup, minTickNanos, catchUpTicks,
+                logLevel);
+    }
+
+    /**
+     * Same settings with another initial snake length
+     */
+    public GameConfig withInitialSnakeLength(int length) {
+        return new GameConfig(gridWidth, gridHeight, cellSize, tickNanos, length, replayDir,
+                activeRendering, metricsDir, scoresFile, analyticsDir, tickSpeedup, minTickNanos, catchUpTicks,
+                logLevel);
+    }
+
+    /**
+     * Same settings with another high score file, null to turn high scores off
+     */
+    public GameConfig withScoresFile(String file) {
+        return new GameConfig(gridWidth, gridHeight, cellSize, tickNanos, initialSnakeLength, replayDir,
+                activeRendering, metricsDir, file, analyticsDir, tickSpeedup, minTickNanos, catchUpTicks,
+                logLevel);
+    }
+
+    /**
+     * Default cell size, shrunk on large grids so the board stays around 1000 pixels
+     */
+    private static int autoCellSize(int width, int height) {
+        int fit = MAX_AUTO_BOARD_PIXELS / Math.max(1, Math.max(width, height));
+        return Math.max(1, Math.min(Constants.CELL_SIZE, fit));
+    }
+
+    private static int intSetting(Properties settings, String key, int defaultValue) {
+        String value = settings.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " is not a whole number: " + value, e);
+        }
+    }
+
+    private static double doubleSetting(Properties settings, String key, double defaultValue) {
+        String value = settings.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " is not a number: " + value, e);
+        }
+    }
+
+    // GETTERS
+    public int getGridWidth() {
+        return gridWidth;
+    }
+
+    public int getGridHeight() {
+        return gridHeight;
+    }
+
+    public int getCellCount() {
+        return gridWidth * gridHeight;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    public int getGameWidth() {
+        return gridWidth * cellSize;
+    }
+
+    public int getGameHeight() {
+        return gridHeight * cellSize;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * Percent the tick gets shorter for every segment the snake grew, 0 when the speed is constant
+     */
+    public double getTickSpeedup() {
+        return tickSpeedup;
+    }
+
+    /**
+     * Shortest tick when speeding up with length
+     */
+    public long getMinTickNanos() {
+        return minTickNanos;
+    }
+
+    /**
+     * Most ticks the loop runs back to back after falling behind, later ones are dropped
+     */
+    public int getCatchUpTicks() {
+        return catchUpTicks;
+    }
+
+    public int getInitialSnakeLength() {
+        return initialSnakeLength;
+    }
+
+    /**
+     * Directory replays are written to, or null when recording is off
+     */
+    public String getReplayDir() {
+        return replayDir;
+    }
+
+    /**
+     * Directory performance metrics are exported to, or null when export is off
+     */
+    public String getMetricsDir() {
+        return metricsDir;
+    }
+
+    /**
+     * High score file finished games are added to, or null when high scores are off
+     */
+    public String getScoresFile() {
+        return scoresFile;
+    }
+
+    /**
+     * Directory tick events are streamed to, or null when analytics are off
+     */
+    public String getAnalyticsDir() {
+        return analyticsDir;
+    }
+
+    /**
+     * Lowest level GameLog shows, FINE adds startup, screen switch and session timings
+     */
+    public Level getLogLevel() {
+        return logLevel;
+    }
+
+    /**
+     * Checks if frames are drawn by the game loop thread (render.mode=active)
+     */
+    public boolean isActiveRendering() {
+        return activeRendering;
+    }
+}
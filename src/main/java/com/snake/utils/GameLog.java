@@ -0,0 +1,73 @@
+package com.snake.utils;
+
+import java.util.logging.ConsoleHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The one place the game reports problems and notable events
+ *
+ * Messages go to the "com.snake" java.util.logging logger, so where they end
+ * up and how much is shown is configured like any other JDK logging.
+ * Warnings and info are shown by default, fine() only after setLevel(FINE),
+ * e.g. with --log.level=fine.
+ */
+public final class GameLog {
+
+    private static final Logger LOGGER = Logger.getLogger("com.snake");
+
+    // Private constructor
+    private GameLog() {
+        // Empty to prevents instantiation
+    }
+
+    /**
+     * Something went wrong but the game goes on, e.g. a file could not be written
+     */
+    public static void warning(String message) {
+        LOGGER.warning(message);
+    }
+
+    /**
+     * A warning with the exception that caused it, the stack trace is logged too
+     */
+    public static void warning(String message, Throwable cause) {
+        LOGGER.log(Level.WARNING, message, cause);
+    }
+
+    /**
+     * Something the player may want to know about, e.g. a new high score
+     */
+    public static void info(String message) {
+        LOGGER.info(message);
+    }
+
+    /**
+     * Diagnostic details, hidden unless fine logging is on
+     */
+    public static void fine(String message) {
+        LOGGER.fine(message);
+    }
+
+    /**
+     * Shows messages down to the given level on the console
+     */
+    public static synchronized void setLevel(Level level) {
+        LOGGER.setLevel(level);
+        if (level.intValue() < Level.INFO.intValue()) {
+            // The root console handler stops at INFO, use our own below that
+            for (Handler handler : LOGGER.getHandlers()) {
+                LOGGER.removeHandler(handler);
+            }
+            Handler console = new ConsoleHandler();
+            console.setLevel(level);
+            LOGGER.addHandler(console);
+            LOGGER.setUseParentHandlers(false);
+        }
+    }
+
+    public static boolean isFineEnabled() {
+        return LOGGER.isLoggable(Level.FINE);
+    }
+}
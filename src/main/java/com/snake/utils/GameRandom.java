@@ -0,0 +1,20 @@
+package com.snake.utils;
+
+/**
+ * Source of randomness for the game rules
+ * Implementations must be deterministic for a given seed so games can be replayed
+ */
+public interface GameRandom {
+
+    /**
+     * Returns a uniformly distributed int
+     * @param bound Upper bound (exclusive), must be positive
+     * @return A value from 0 to bound-1
+     */
+    int nextInt(int bound);
+
+    /**
+     * Returns a uniformly distributed long
+     */
+    long nextLong();
+}
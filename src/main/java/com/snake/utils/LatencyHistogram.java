@@ -0,0 +1,190 @@
+package com.snake.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of nanosecond durations with log-linear buckets
+ *
+ * Like HdrHistogram, every power of two is split into 16 equal buckets, so a
+ * value is known to within about 6% from 16ns up to hundreds of years. Any
+ * number of threads may record at once, recording is a few atomic adds and
+ * never allocates. Readers see a consistent enough picture for monitoring.
+ */
+public class LatencyHistogram {
+
+    // Each power of two is split into 2^SUB_BITS buckets
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    // Buckets up to the largest positive long
+    public static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Adds a duration, negative values count as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Upper bound of the bucket holding the given fraction of values, 0 when empty
+     * @param fraction 0.5 for the median, 0.99 for the 99th percentile
+     */
+    public long percentile(double fraction) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        long rank = rankOf(total, fraction);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS && total > 0; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), getMax());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Copies the bucket counts, e.g. to look at one interval later on
+     * @param target Array of at least BUCKETS entries
+     */
+    public void copyCounts(long[] target) {
+        for (int i = 0; i < BUCKETS; i++) {
+            target[i] = counts.get(i);
+        }
+    }
+
+    // GETTERS
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public long getMean() {
+        long n = count.get();
+        return n == 0 ? 0 : sum.get() / n;
+    }
+
+    // ===== BUCKETS =====
+
+    /**
+     * Bucket index of a non-negative value
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BITS + 1) << SUB_BITS) + sub;
+    }
+
+    /**
+     * Smallest value that falls into a bucket
+     */
+    static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket >>> SUB_BITS) + SUB_BITS - 1;
+        long sub = bucket & (SUB_BUCKETS - 1);
+        return (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+    }
+
+    /**
+     * Largest value that falls into a bucket
+     */
+    static long upperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : lowerBound(bucket + 1) - 1;
+    }
+
+    private static long rankOf(long total, double fraction) {
+        return Math.max(1, (long) Math.ceil(total * fraction));
+    }
+
+    /**
+     * Values recorded since the last call to advance()
+     * Used by a single reader, e.g. to show the last second of frame times
+     */
+    public static class Interval {
+
+        private final LatencyHistogram source;
+        private long[] previous = new long[BUCKETS];
+        private long[] current = new long[BUCKETS];
+        private final long[] delta = new long[BUCKETS];
+        private long count;
+        private long max;
+
+        // Constructor
+        public Interval(LatencyHistogram source) {
+            this.source = source;
+        }
+
+        /**
+         * Starts a new interval, the one just ended can then be read
+         */
+        public void advance() {
+            source.copyCounts(current);
+            count = 0;
+            max = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                delta[i] = current[i] - previous[i];
+                count += delta[i];
+                if (delta[i] > 0) {
+                    max = upperBound(i);
+                }
+            }
+            long[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        /**
+         * Upper bound of the bucket holding the given fraction of the interval's values
+         */
+        public long percentile(double fraction) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = rankOf(count, fraction);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += delta[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), source.getMax());
+                }
+            }
+            return max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Upper bound of the highest bucket used in the interval
+         */
+        public long getMax() {
+            return Math.min(max, source.getMax());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.snake.utils;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fonts, colors and font metrics shared by every panel
+ * Created once, so painting never has to allocate them
+ */
+public final class RenderResources {
+
+    // ===== COLORS =====
+    public static final Color COLOR_BACKGROUND = new Color(30, 30, 30);
+    public static final Color COLOR_GRID = new Color(50, 50, 50);
+    public static final Color COLOR_SNAKE_HEAD = new Color(0, 225, 0);
+    public static final Color COLOR_SNAKE_BODY = new Color(0, 150, 0);
+    public static final Color COLOR_FOOD = new Color(200, 50, 0);
+    public static final Color COLOR_TEXT = Color.WHITE;
+    public static final Color COLOR_TITLE = Color.GREEN;
+    public static final Color COLOR_GAME_OVER = new Color(200, 0, 0);
+
+    // Translucent overlays drawn over the board
+    public static final Color COLOR_PAUSE_OVERLAY = new Color(0, 0, 0, 150);
+    public static final Color COLOR_GAME_OVER_OVERLAY = new Color(100, 0, 0, 150);
+    public static final Color COLOR_WIN_OVERLAY = new Color(0, 100, 0, 150);
+
+    // ===== FONTS =====
+    public static final Font FONT_TITLE = new Font("Arial", Font.BOLD, 50);
+    public static final Font FONT_HEADING = new Font("Arial", Font.BOLD, 40);
+    public static final Font FONT_BUTTON = new Font("Arial", Font.BOLD, 24);
+    public static final Font FONT_BUTTON_SMALL = new Font("Arial", Font.BOLD, 20);
+    public static final Font FONT_LABEL = new Font("Arial", Font.BOLD, 18);
+    public static final Font FONT_HINT = new Font("Arial", Font.PLAIN, 18);
+    public static final Font FONT_OPTION = new Font("Arial", Font.BOLD, 16); // Checkboxes on the settings screen
+    public static final Font FONT_SCORE = new Font("Arial", Font.BOLD, 16);
+    public static final Font FONT_TEXT = new Font("Arial", Font.PLAIN, 16);
+    public static final Font FONT_SMALL = new Font("Arial", Font.PLAIN, 14);
+
+    // Metrics of every font above, measured once on an offscreen image
+    private static final Map<Font, FontMetrics> METRICS = new HashMap<Font, FontMetrics>();
+
+    static {
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = scratch.createGraphics();
+        for (Font font : new Font[] {FONT_TITLE, FONT_HEADING, FONT_BUTTON, FONT_BUTTON_SMALL,
+                FONT_LABEL, FONT_HINT, FONT_OPTION, FONT_SCORE, FONT_TEXT, FONT_SMALL}) {
+            METRICS.put(font, g2d.getFontMetrics(font));
+        }
+        g2d.dispose();
+    }
+
+    private RenderResources() {}
+
+    /**
+     * Metrics of one of the shared fonts
+     * @throws IllegalArgumentException for a font that is not defined here
+     */
+    public static FontMetrics getMetrics(Font font) {
+        FontMetrics metrics = METRICS.get(font);
+        if (metrics == null) {
+            throw new IllegalArgumentException("Not a shared font: " + font);
+        }
+        return metrics;
+    }
+
+    /**
+     * X position that centers the text in an area starting at 0
+     */
+    public static int centerX(Font font, String text, int areaWidth) {
+        return (areaWidth - getMetrics(font).stringWidth(text)) / 2;
+    }
+}
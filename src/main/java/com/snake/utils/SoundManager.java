@@ -1,142 +1,168 @@
 package com.snake.utils;
 
-import java.net.URL;
+import java.io.FileNotFoundException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.FloatControl;
+import com.snake.audio.AudioMixer;
+import com.snake.audio.Sound;
+import com.snake.audio.SoundCache;
 
 /**
  * Handles all game sounds
+ *
+ * Sounds are decoded in the background through the shared SoundCache and
+ * played by an AudioMixer on its own thread. A sound asked for before it is
+ * decoded is skipped, so nothing waits for loading.
+ * The play methods only post a command to the mixer, so they never block
+ * and can be called from the game loop as well as the event dispatch thread.
+ * Overlapping effects play together instead of cutting each other off.
+ *
+ * Every method may be called from any thread. The settings are one
+ * immutable SoundSettings swapped atomically, so a reader never sees a
+ * volume from one change and the mute flag from another.
  */
 public class SoundManager {
-    
-    private Clip eatClip;
-    private Clip gameOverClip;
-    private Clip clickClip;
-    private Clip backgroundClip;
 
-    // Volumen settings (0.0 to 1.0)
-    private float musicVolume = 0.8f;
-    private float sfxVolume = 0.8f;
-    private boolean muted = false;
+    // Mixer ids of the sounds
+    private static final int EAT = 0;
+    private static final int GAME_OVER = 1;
+    private static final int CLICK = 2;
+    private static final int BACKGROUND = 3;
 
-    // Singleton instance (only one SoundManager exists)
-    private static SoundManager instance;
+    private final AudioMixer mixer = new AudioMixer();
+
+    // Set while the music should be playing, so music that loads late can start on its own
+    private volatile boolean backgroundWanted;
+
+    // Volumes (0.0 to 1.0), mute and the gains they give
+    private final AtomicReference<SoundSettings> settings = new AtomicReference<SoundSettings>(SoundSettings.DEFAULTS);
+
+    /**
+     * Holds the single instance, the JVM creates it safely on first use of getInstance()
+     */
+    private static final class Holder {
+        static final SoundManager INSTANCE = new SoundManager();
+    }
 
     /**
      * Private constructor - use getInstance() instead
+     * Returns right away, the sounds keep loading in the background
      */
     private SoundManager() {
+        mixer.start();
         loadSounds();
     }
 
     /**
-     * Gets the single instance of SoundManager
+     * Gets the single instance of SoundManager, safe from any thread
      */
     public static SoundManager getInstance() {
-        if (instance == null) {
-            instance = new SoundManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     /**
-     * Loads all sounds files
+     * Starts loading all sounds files
      */
     private void loadSounds() {
-        eatClip = loadClip("/sounds/eat_sound.wav");
-        gameOverClip = loadClip("/sounds/game_over_sound.wav");
-        clickClip = loadClip("/sounds/click_sound.wav");
-        backgroundClip = loadClip("/sounds/background_sound.wav");
-
+        CompletableFuture.allOf(
+                loadSound(EAT, "/sounds/eat_sound.wav", false),
+                loadSound(GAME_OVER, "/sounds/game_over_sound.wav", false),
+                loadSound(CLICK, "/sounds/click_sound.wav", false),
+                // Music is optional, the game ships without it
+                loadSound(BACKGROUND, "/sounds/background_sound.wav", true))
+                .whenComplete(new BiConsumer<Void, Throwable>() {
+                    @Override
+                    public void accept(Void ignored, Throwable error) {
+                        StartupTimer.ready("sounds");
+                    }
+                });
     }
 
     /**
-     * Loads a single sound file
+     * Decodes a single sound file in the background and hands it to the mixer when done
+     * @param optional true to stay quiet when the file does not exist
      */
-    private Clip loadClip(String path) {
-        try {
-            URL url = getClass().getResource(path);
-            if (url == null) {
-                System.out.println("Sound file not found: " + path);
-                return null;
+    private CompletableFuture<Sound> loadSound(final int id, final String path, final boolean optional) {
+        return SoundCache.getShared().load(path).whenComplete(new BiConsumer<Sound, Throwable>() {
+            @Override
+            public void accept(Sound sound, Throwable error) {
+                if (sound != null) {
+                    mixer.setSound(id, sound);
+                    if (id == BACKGROUND) {
+                        startLateBackground();
+                    }
+                    return;
+                }
+
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                if (cause instanceof FileNotFoundException) {
+                    if (!optional) {
+                        GameLog.warning(cause.getMessage());
+                    }
+                } else {
+                    GameLog.warning("Error loading sound: " + path, cause);
+                }
             }
+        });
+    }
 
-            AudioInputStream audioStream = AudioSystem.getAudioInputStream(url);
-            Clip clip = AudioSystem.getClip();
-            clip.open(audioStream);
-            return clip;
-
-        } catch (Exception e) {
-            System.out.println("Error loading sound: " + path);
-            e.printStackTrace();
-            return null;
+    /**
+     * Starts music that finished loading after it was asked for
+     */
+    private void startLateBackground() {
+        if (backgroundWanted) {
+            startBackground();
         }
     }
 
     /**
-     * Sets volume on a clip (0.0 to 1.0)
+     * Starts the music from the start unless muted
+     * Checks again afterwards, a stop or mute that raced with the start wins
      */
-    private void setClipVolume(Clip clip, float volume) {
-        if (clip == null) return;
-
-        try {
-            FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-
-            // Convert 0.0-1.0 to decibels
-            // 0.0 = -80dB (silent), 1.0 = 0db (full volume)
-            float dB;
-            if (volume <= 0.0f) {
-                dB = -80.0f;
-            } else {
-                dB = 20.0f * (float) Math.log(volume);
-                // Clamp to valid range
-                dB = Math.max(dB, -80.0f);
-                dB = Math.min(dB, 6.0f);
-            }
-
-            gainControl.setValue(dB);
-        } catch (Exception e) {
-            System.out.println("Could not set volume: " + e.getMessage());
+    private void startBackground() {
+        SoundSettings current = settings.get();
+        if (current.isMuted()) {
+            return;
+        }
+        mixer.restart(BACKGROUND, current.getMusicGain(), true); // Loops forever
+        if (!backgroundWanted || settings.get().isMuted()) {
+            mixer.stopSound(BACKGROUND);
         }
     }
 
     /**
-     * Plays a sound effect clip
+     * Plays a sound effect
      */
-    private void playClip(Clip clip) {
-        if (clip != null && !muted) {
-            setClipVolume(clip, sfxVolume);
-            clip.stop();    // Stop if already playing
-            clip.setFramePosition(0);   // Rewind to start
-            clip.start();   // Play the sound
+    private void playEffect(int id) {
+        SoundSettings current = settings.get();
+        if (!current.isMuted()) {
+            mixer.play(id, current.getSfxGain(), false);
         }
     }
 
     // Public methods to play sounds
     public void playEat() {
-        playClip(eatClip);
+        playEffect(EAT);
     }
 
     public void playGameOver() {
-        playClip(gameOverClip);
+        playEffect(GAME_OVER);
     }
 
     public void playClick() {
-        playClip(clickClip);
+        playEffect(CLICK);
     }
 
     /**
-     * Plays background music on loop
+     * Plays background music on loop, from the start
      */
     public void playBackgroundLoop() {
-        if (backgroundClip != null && !muted) {
-            setClipVolume(backgroundClip, musicVolume);
-            backgroundClip.stop();
-            backgroundClip.setFramePosition(0);
-            backgroundClip.loop(Clip.LOOP_CONTINUOUSLY); // Loops forever
+        if (!settings.get().isMuted()) {
+            backgroundWanted = true;
+            startBackground();
         }
     }
 
@@ -144,9 +170,8 @@ public class SoundManager {
      * Stops background music
      */
     public void stopBackground() {
-        if (backgroundClip != null) {
-            backgroundClip.stop();
-        }
+        backgroundWanted = false;
+        mixer.stopSound(BACKGROUND);
     }
 
     // Volume Control methods
@@ -155,29 +180,49 @@ public class SoundManager {
      * Sets music volume (0.0 to 1.0)
      */
     public void setMusicVolume(float volume) {
-        this.musicVolume = Math.max(0.0f, Math.min(1.0f, volume));
+        SoundSettings current;
+        do {
+            current = settings.get();
+        } while (!settings.compareAndSet(current, current.withMusicVolume(volume)));
 
         // Update background music if playing
-        if (backgroundClip != null && backgroundClip.isRunning()) {
-            setClipVolume(backgroundClip, musicVolume);
-        }
+        updateMusicGain();
+    }
+
+    /**
+     * Sends the music gain of the latest settings to the mixer
+     * Repeats if the settings changed meanwhile, so racing volume changes
+     * cannot leave an older gain as the last command
+     */
+    private void updateMusicGain() {
+        SoundSettings sent;
+        do {
+            sent = settings.get();
+            mixer.setGain(BACKGROUND, sent.getMusicGain());
+        } while (settings.get() != sent);
     }
 
     /**
      * Sets sounds effects volume (0.0 to 1.0)
      */
     public void setSfxVolume(float volume) {
-        this.sfxVolume = Math.max(0.0f, Math.min(1.0f, volume));
+        SoundSettings current;
+        do {
+            current = settings.get();
+        } while (!settings.compareAndSet(current, current.withSfxVolume(volume)));
     }
 
     /**
      * Toggles mute on/off
      */
     public void toggleMute() {
-        muted = !muted;
+        SoundSettings current;
+        do {
+            current = settings.get();
+        } while (!settings.compareAndSet(current, current.withMuted(!current.isMuted())));
 
-        if (muted) {
-            stopBackground();
+        if (!current.isMuted()) {
+            stopBackground(); // Just muted
         }
     }
 
@@ -185,7 +230,10 @@ public class SoundManager {
      * Sets mute state
      */
     public void setMuted(boolean muted) {
-        this.muted = muted;
+        SoundSettings current;
+        do {
+            current = settings.get();
+        } while (!settings.compareAndSet(current, current.withMuted(muted)));
 
         if (muted) {
             stopBackground();
@@ -194,15 +242,22 @@ public class SoundManager {
 
     // GETTERS
 
+    /**
+     * All settings as of now, consistent with each other
+     */
+    public SoundSettings getSettings() {
+        return settings.get();
+    }
+
     public float getMusicVolume() {
-        return musicVolume;
+        return settings.get().getMusicVolume();
     }
 
     public float getSfxVolume() {
-        return sfxVolume;
+        return settings.get().getSfxVolume();
     }
 
     public boolean isMuted() {
-        return muted;
+        return settings.get().isMuted();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+package com.snake.utils;
+
+import com.snake.audio.AudioMixer;
+
+/**
+ * Immutable snapshot of the sound settings
+ * Changes make a new snapshot, so readers always see volumes, gains and
+ * mute that belong together
+ */
+public final class SoundSettings {
+
+    // Volumes the game starts with
+    public static final SoundSettings DEFAULTS = new SoundSettings(0.8f, 0.8f, false);
+
+    private final float musicVolume;
+    private final float sfxVolume;
+    private final boolean muted;
+
+    // Linear gains for the mixer, computed once per snapshot instead of on every play
+    private final float musicGain;
+    private final float sfxGain;
+
+    /**
+     * Creates a snapshot, volumes are clamped to 0.0 - 1.0
+     */
+    public SoundSettings(float musicVolume, float sfxVolume, boolean muted) {
+        if (Float.isNaN(musicVolume) || Float.isNaN(sfxVolume)) {
+            throw new IllegalArgumentException("Volume is not a number");
+        }
+        this.musicVolume = clamp(musicVolume);
+        this.sfxVolume = clamp(sfxVolume);
+        this.muted = muted;
+        this.musicGain = AudioMixer.gainForVolume(this.musicVolume);
+        this.sfxGain = AudioMixer.gainForVolume(this.sfxVolume);
+    }
+
+    public SoundSettings withMusicVolume(float volume) {
+        return new SoundSettings(volume, sfxVolume, muted);
+    }
+
+    public SoundSettings withSfxVolume(float volume) {
+        return new SoundSettings(musicVolume, volume, muted);
+    }
+
+    public SoundSettings withMuted(boolean mute) {
+        return new SoundSettings(musicVolume, sfxVolume, mute);
+    }
+
+    private static float clamp(float volume) {
+        return Math.max(0.0f, Math.min(1.0f, volume));
+    }
+
+    // GETTERS
+    public float getMusicVolume() {
+        return musicVolume;
+    }
+
+    public float getSfxVolume() {
+        return sfxVolume;
+    }
+
+    public boolean isMuted() {
+        return muted;
+    }
+
+    public float getMusicGain() {
+        return musicGain;
+    }
+
+    public float getSfxGain() {
+        return sfxGain;
+    }
+
+    @Override
+    public String toString() {
+        return "music=" + musicVolume + " sfx=" + sfxVolume + (muted ? " muted" : "");
+    }
+}
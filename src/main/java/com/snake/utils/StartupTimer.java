@@ -0,0 +1,79 @@
+package com.snake.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures how long after main() started something became ready
+ *
+ * Timings are kept for getFirstFrameMillis() and getReadyMillis() and
+ * logged at FINE, so they only show up with --log.level=fine.
+ */
+public final class StartupTimer {
+
+    // Set by markStart(), class loading time if it was never called
+    private static volatile long startNanos = System.nanoTime();
+
+    // -1 until the first frame was drawn
+    private static volatile long firstFrameMillis = -1;
+
+    private static final Map<String, Long> READY_MILLIS = new ConcurrentHashMap<String, Long>();
+
+    // Private constructor
+    private StartupTimer() {
+        // Empty to prevents instantiation
+    }
+
+    /**
+     * Marks the start of the program, first thing in main()
+     */
+    public static void markStart() {
+        startNanos = System.nanoTime();
+    }
+
+    public static long millisSinceStart() {
+        return (System.nanoTime() - startNanos) / 1000000;
+    }
+
+    /**
+     * Records the time to the first frame, only the first call per run counts
+     * @param screen What was drawn, e.g. "menu"
+     */
+    public static void firstFrame(String screen) {
+        if (firstFrameMillis >= 0) {
+            return;
+        }
+        synchronized (StartupTimer.class) {
+            if (firstFrameMillis >= 0) {
+                return;
+            }
+            firstFrameMillis = millisSinceStart();
+        }
+        GameLog.fine("Startup: first frame (" + screen + ") after " + firstFrameMillis + " ms");
+    }
+
+    /**
+     * Records how long after the start something finished
+     * @param what What became ready, e.g. "sounds"
+     */
+    public static void ready(String what) {
+        long millis = millisSinceStart();
+        READY_MILLIS.put(what, millis);
+        GameLog.fine("Startup: " + what + " ready after " + millis + " ms");
+    }
+
+    /**
+     * Time from the start to the first frame, or -1 before it was drawn
+     */
+    public static long getFirstFrameMillis() {
+        return firstFrameMillis;
+    }
+
+    /**
+     * Time from the start until ready() was called for something, or -1 if it was not yet
+     */
+    public static long getReadyMillis(String what) {
+        Long millis = READY_MILLIS.get(what);
+        return millis != null ? millis : -1;
+    }
+}
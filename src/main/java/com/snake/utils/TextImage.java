@@ -0,0 +1,106 @@
+package com.snake.utils;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * A line of text rendered once into an image and then only copied
+ * The image is rebuilt when the text changes, e.g. when the score goes up
+ *
+ * Callers hand in a key (such as the score) and only build a new string
+ * when the key differs, so a frame with nothing new allocates nothing.
+ */
+public class TextImage {
+
+    private final Font font;
+    private final Color color;
+    private final FontMetrics metrics;
+
+    private String text;
+    private long key;
+    private boolean hasKey;
+    private BufferedImage image;
+
+    // Constructor
+    public TextImage(Font font, Color color) {
+        this.font = font;
+        this.color = color;
+        this.metrics = RenderResources.getMetrics(font);
+    }
+
+    /**
+     * Creates an image for text that never changes
+     */
+    public TextImage(Font font, Color color, String text) {
+        this(font, color);
+        setText(text);
+    }
+
+    /**
+     * Checks if the text has to be rebuilt for a new key
+     * @param newKey Value the text is made from, e.g. the score
+     * @return true when setText must be called before drawing
+     */
+    public boolean isStale(long newKey) {
+        return !hasKey || key != newKey;
+    }
+
+    /**
+     * Sets the text shown for a key
+     */
+    public void setText(long newKey, String newText) {
+        key = newKey;
+        hasKey = true;
+        setText(newText);
+    }
+
+    private void setText(String newText) {
+        if (!newText.equals(text)) {
+            text = newText;
+            image = null; // Rendered again on the next draw
+        }
+    }
+
+    /**
+     * Draws the text with its baseline at y
+     */
+    public void draw(Graphics2D g2d, int x, int y) {
+        if (image == null) {
+            image = render(g2d);
+        }
+        g2d.drawImage(image, x, y - metrics.getAscent(), null);
+    }
+
+    /**
+     * Draws the text centered horizontally in an area starting at 0
+     */
+    public void drawCentered(Graphics2D g2d, int areaWidth, int y) {
+        draw(g2d, (areaWidth - getWidth()) / 2, y);
+    }
+
+    public int getWidth() {
+        return metrics.stringWidth(text);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    private BufferedImage render(Graphics2D target) {
+        int width = Math.max(1, getWidth());
+        int height = metrics.getAscent() + metrics.getDescent();
+        BufferedImage rendered = target.getDeviceConfiguration()
+                .createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+
+        Graphics2D g2d = rendered.createGraphics();
+        g2d.setFont(font);
+        g2d.setColor(color);
+        g2d.drawString(text, 0, metrics.getAscent());
+        g2d.dispose();
+        return rendered;
+    }
+}
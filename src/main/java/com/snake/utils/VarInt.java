@@ -0,0 +1,115 @@
+package com.snake.utils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * LEB128 variable-length encoding for non-negative longs
+ * Small values take one byte, so deltas and counters stay compact on disk
+ */
+public final class VarInt {
+
+    // Longest encoding of a long, 64 bits at 7 per byte
+    public static final int MAX_BYTES = 10;
+
+    // Private constructor
+    private VarInt() {
+        // Empty to prevents instantiation
+    }
+
+    /**
+     * Writes a value 7 bits at a time, low bits first
+     */
+    public static void write(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Reads a value written by write()
+     * @throws EOFException if the stream ends before the value is complete
+     */
+    public static long read(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated varint");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint is longer than 64 bits");
+    }
+
+    /**
+     * Writes a value into an array, 7 bits at a time, low bits first
+     * @param out Needs up to MAX_BYTES free from offset
+     * @return Offset after the value
+     */
+    public static int write(byte[] out, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[offset++] = (byte) value;
+        return offset;
+    }
+
+    /**
+     * Reads a value from an array, it took length(value) bytes
+     * @param end Index the value must end before
+     * @throws IOException if the value runs past end, is longer than 64 bits or has extra bytes
+     */
+    public static long read(byte[] in, int offset, int end) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (offset >= end) {
+                throw new EOFException("Truncated varint");
+            }
+            int b = in[offset++];
+            if (shift == 63 && (b & 0xFF) > 1) {
+                break;
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                // A zero last byte is never written, length() would not match
+                if (b == 0 && shift > 0) {
+                    throw new IOException("Varint has extra bytes");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Varint is longer than 64 bits");
+    }
+
+    /**
+     * Number of bytes a value takes
+     */
+    public static int length(long value) {
+        int bytes = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+    /**
+     * Maps signed values to unsigned so small negatives stay small (zigzag)
+     */
+    public static long encodeZigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public static long decodeZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
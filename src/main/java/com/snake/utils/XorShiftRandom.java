@@ -0,0 +1,90 @@
+package com.snake.utils;
+
+/**
+ * Small, fast seedable generator (xorshift64*)
+ * The whole state is one long, so it can be saved and restored exactly
+ */
+public class XorShiftRandom implements GameRandom {
+
+    private long state;
+
+    // Constructor
+    public XorShiftRandom(long seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * Resets the generator, any seed (including 0) is valid
+     */
+    public void setSeed(long seed) {
+        state = scramble(seed);
+    }
+
+    @Override
+    public long nextLong() {
+        state = next(state);
+        return output(state);
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        state = next(state);
+        return bounded(state, bound);
+    }
+
+    // ===== RAW STATE FUNCTIONS =====
+    // For callers that keep many generators in a long[] instead of objects
+
+    /**
+     * Turns any seed into a valid state
+     * Scrambles with splitmix64 so close seeds give unrelated streams
+     */
+    public static long scramble(long seed) {
+        long z = seed + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return z != 0 ? z : 0x9E3779B97F4A7C15L; // xorshift state must never be 0
+    }
+
+    /**
+     * Advances a state by one step
+     */
+    public static long next(long state) {
+        long x = state;
+        x ^= x >>> 12;
+        x ^= x << 25;
+        x ^= x >>> 27;
+        return x;
+    }
+
+    /**
+     * The random long for a state that was just advanced
+     */
+    public static long output(long state) {
+        return state * 0x2545F4914F6CDD1DL;
+    }
+
+    /**
+     * Maps a state that was just advanced onto [0, bound)
+     */
+    public static int bounded(long state, int bound) {
+        // Uses the high 32 bits with a multiply instead of a modulo
+        return (int) (((output(state) >>> 32) * bound) >>> 32);
+    }
+
+    // GETTERS AND SETTERS for the raw state
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        if (state == 0) {
+            throw new IllegalArgumentException("state must not be 0");
+        }
+        this.state = state;
+    }
+}
@@ -0,0 +1,87 @@
+package com.snake.ai;
+
+import org.junit.jupiter.api.Test;
+
+import com.snake.entities.Direction;
+import com.snake.game.GameEngine;
+import com.snake.game.GameState;
+import com.snake.utils.AllocationCounter;
+import com.snake.utils.GameConfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the search based autopilot.
+ */
+class AutopilotTest {
+
+    @Test
+    void cycleVisitsEveryCell() {
+        int[][] grids = {{6, 4}, {5, 4}, {4, 5}, {10, 10}};
+        for (int[] grid : grids) {
+            int width = grid[0];
+            int height = grid[1];
+            boolean[] seen = new boolean[width * height];
+            int x = 0;
+            int y = 0;
+            for (int i = 0; i < width * height; i++) {
+                assertTrue(x >= 0 && x < width && y >= 0 && y < height, "Left the grid");
+                seen[y * width + x] = true;
+                Direction direction = HamiltonianCycle.direction(width, height, x, y);
+                x += direction.getDx();
+                y += direction.getDy();
+            }
+            assertEquals(0, x, "Cycle must close");
+            assertEquals(0, y, "Cycle must close");
+            for (boolean cell : seen) {
+                assertTrue(cell);
+            }
+        }
+    }
+
+    @Test
+    void playsLongGamesOnSmallBoard() {
+        GameConfig config = GameConfig.defaults().withGridSize(10, 10);
+        int totalScore = 0;
+        for (long seed = 1; seed <= 5; seed++) {
+            GameEngine engine = new GameEngine(config, seed);
+            Autopilot autopilot = new Autopilot();
+            while (engine.getGameState() == GameState.PLAYING && engine.getTick() < 20000) {
+                engine.step(autopilot.decide(engine));
+            }
+            totalScore += engine.getScore();
+        }
+        // Greedy play averages well under 20 food here
+        assertTrue(totalScore / 5 >= 40 * GameEngine.FOOD_SCORE, "Average score too low: " + totalScore / 5);
+    }
+
+    @Test
+    void decisionsDoNotAllocate() {
+        GameConfig config = GameConfig.defaults().withGridSize(40, 40);
+        GameEngine engine = new GameEngine(config, 11L);
+        Autopilot autopilot = new Autopilot();
+        // Warm up well short of the end, decide() returns without searching once the game is over
+        for (int i = 0; i < 2000; i++) {
+            engine.step(autopilot.decide(engine));
+        }
+        assertEquals(GameState.PLAYING, engine.getGameState());
+        assertTrue(engine.getSnake().getLength() > config.getInitialSnakeLength());
+
+        // Search from scratch every time, on a board that stays the same
+        AllocationCounter counter = new AllocationCounter();
+        for (int round = 0; round < 20; round++) {
+            counter = new AllocationCounter();
+            for (int i = 0; i < 1000; i++) {
+                autopilot.reset();
+                counter.begin();
+                autopilot.decide(engine);
+                counter.end();
+            }
+            if (counter.getBytesPerSample() == 0.0) {
+                break;
+            }
+        }
+        assertEquals(0.0, counter.getBytesPerSample());
+    }
+}
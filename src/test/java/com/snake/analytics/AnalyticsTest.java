@@ -0,0 +1,180 @@
+package com.snake.analytics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.snake.entities.Direction;
+import com.snake.game.GameEngine;
+import com.snake.game.GameState;
+import com.snake.game.TickResult;
+import com.snake.sim.GreedyController;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trip tests for the tick event stream and its columnar files.
+ */
+class AnalyticsTest {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final EventKind[] KINDS = EventKind.values();
+
+    @Test
+    void chunksRoundTrip() throws IOException {
+        Random random = new Random(7);
+        EventBatch first = randomBatch(random, AnalyticsFormat.CHUNK_EVENTS);
+        EventBatch second = randomBatch(random, 17);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (AnalyticsWriter writer = new AnalyticsWriter(bytes)) {
+            writer.write(first);
+            writer.write(second);
+        }
+
+        EventBatch read = AnalyticsReader.newBatch();
+        try (AnalyticsReader reader = new AnalyticsReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertTrue(reader.next(read));
+            assertSameEvents(first, read);
+            assertTrue(reader.next(read));
+            assertSameEvents(second, read);
+            assertFalse(reader.next(read));
+        }
+    }
+
+    @Test
+    void fileCutOffInsideChunkKeepsEarlierChunks() throws IOException {
+        EventBatch batch = randomBatch(new Random(3), 1000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (AnalyticsWriter writer = new AnalyticsWriter(bytes)) {
+            writer.write(batch);
+            writer.write(batch);
+        }
+        byte[] cut = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 10);
+
+        EventBatch read = AnalyticsReader.newBatch();
+        try (AnalyticsReader reader = new AnalyticsReader(new ByteArrayInputStream(cut))) {
+            assertTrue(reader.next(read));
+            assertSameEvents(batch, read);
+            assertFalse(reader.next(read));
+        }
+    }
+
+    @Test
+    void damagedChunkLengthsAreRejectedBeforeAllocating() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (AnalyticsWriter writer = new AnalyticsWriter(bytes)) {
+            writer.write(randomBatch(new Random(5), 100));
+        }
+
+        // Chunk header after the 5 byte file header: events, raw length, compressed length
+        for (int field = 4; field <= 8; field += 4) {
+            byte[] damaged = bytes.toByteArray();
+            ByteBuffer.wrap(damaged).putInt(5 + field, Integer.MAX_VALUE - 8);
+            EventBatch read = AnalyticsReader.newBatch();
+            try (AnalyticsReader reader = new AnalyticsReader(new ByteArrayInputStream(damaged))) {
+                assertThrows(IOException.class, () -> reader.next(read));
+            }
+        }
+    }
+
+    @Test
+    void recorderStreamsWholeGame() throws IOException {
+        GameEngine engine = new GameEngine(99L);
+        GreedyController bot = new GreedyController();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        long ticks = 0;
+        int lastX = 0;
+        int lastY = 0;
+        try (AnalyticsRecorder recorder = new AnalyticsRecorder(bytes)) {
+            while (engine.getGameState() == GameState.PLAYING && engine.getTick() < 5000) {
+                TickResult result = engine.step(bot.decide(engine));
+                recorder.record(engine, result, true);
+                lastX = engine.getSnake().getHeadX();
+                lastY = engine.getSnake().getHeadY();
+                ticks++;
+            }
+        }
+
+        EventBatch read = AnalyticsReader.newBatch();
+        long events = 0;
+        int ate = 0;
+        try (AnalyticsReader reader = new AnalyticsReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            while (reader.next(read)) {
+                for (int i = 0; i < read.size(); i++) {
+                    assertEquals(events + i + 1, read.getTick(i));
+                    assertTrue(read.isAutopilot(i));
+                    if (read.getKind(i) == EventKind.ATE) {
+                        ate++;
+                    }
+                }
+                events += read.size();
+            }
+            int last = read.size() - 1;
+            assertEquals(lastX, read.getX(last));
+            assertEquals(lastY, read.getY(last));
+        }
+        assertEquals(ticks, events);
+        assertEquals(engine.getScore() / GameEngine.FOOD_SCORE, ate);
+    }
+
+    @Test
+    void fullRingDropsEvents() {
+        EventRing ring = new EventRing(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i, i, i, 0, 0));
+        }
+        assertFalse(ring.offer(4, 4, 4, 0, 0));
+        assertEquals(1, ring.getDropped());
+
+        EventBatch batch = new EventBatch(3);
+        assertEquals(3, ring.drainTo(batch));
+        assertEquals(0, ring.drainTo(batch));
+        batch.clear();
+        assertTrue(ring.offer(5, 5, 5, 0, 0));
+        assertEquals(2, ring.drainTo(batch));
+        assertEquals(3, batch.getTick(0));
+        assertEquals(5, batch.getTick(1));
+    }
+
+    private static EventBatch randomBatch(Random random, int size) {
+        EventBatch batch = new EventBatch(size);
+        long tick = random.nextInt(100);
+        int x = 0;
+        int y = 0;
+        Direction direction = Direction.RIGHT;
+        for (int i = 0; i < size; i++) {
+            // Mostly one step, sometimes a new game or a jump
+            tick = random.nextInt(50) == 0 ? random.nextInt(10) : tick + 1;
+            x += random.nextInt(50) == 0 ? random.nextInt(8000) - 4000 : random.nextInt(3) - 1;
+            y += random.nextInt(3) - 1;
+            if (random.nextInt(8) == 0) {
+                direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+            }
+            EventKind kind = random.nextInt(10) == 0 ? KINDS[random.nextInt(KINDS.length)] : EventKind.MOVED;
+            batch.add(tick, x, y, direction, kind, random.nextInt(100) == 0);
+        }
+        return batch;
+    }
+
+    private static void assertSameEvents(EventBatch expected, EventBatch actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getTick(i), actual.getTick(i));
+            assertEquals(expected.getX(i), actual.getX(i));
+            assertEquals(expected.getY(i), actual.getY(i));
+            assertEquals(expected.getDirection(i), actual.getDirection(i));
+            assertEquals(expected.getKind(i), actual.getKind(i));
+            assertEquals(expected.isAutopilot(i), actual.isAutopilot(i));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.snake.audio;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the software mixer, mixing is driven by hand without an audio line
+ */
+class AudioMixerTest {
+
+    private static final int FRAME_BYTES = AudioMixer.FORMAT.getFrameSize();
+
+    @Test
+    void overlappingSoundsAreAddedTogether() {
+        AudioMixer mixer = new AudioMixer();
+        mixer.setSound(0, constant(1000, 1000));
+        byte[] chunk = new byte[AudioMixer.getChunkFrames() * FRAME_BYTES];
+
+        mixer.play(0, 1.0f, false);
+        mixer.play(0, 0.5f, false);
+        assertEquals(2, mixer.render(chunk));
+        assertEquals(1500, sampleAt(chunk, 0));
+        assertEquals(1500, sampleAt(chunk, 1));
+    }
+
+    @Test
+    void soundsEndAndLoopsWrapAround() {
+        AudioMixer mixer = new AudioMixer();
+        int frames = AudioMixer.getChunkFrames();
+        mixer.setSound(0, constant(frames / 2, 100));
+        mixer.setSound(1, constant(3, 10));
+        byte[] chunk = new byte[frames * FRAME_BYTES];
+
+        mixer.play(0, 1.0f, false);
+        mixer.play(1, 1.0f, true);
+        mixer.render(chunk);
+        assertEquals(110, sampleAt(chunk, 0));
+        assertEquals(10, sampleAt(chunk, frames * 2 - 1)); // The one shot ended halfway
+
+        assertEquals(1, mixer.render(chunk));
+        mixer.stopSound(1);
+        assertEquals(0, mixer.render(chunk));
+        assertEquals(0, sampleAt(chunk, 0));
+    }
+
+    @Test
+    void gainChangesReachPlayingVoicesAndLoudMixesClip() {
+        AudioMixer mixer = new AudioMixer();
+        mixer.setSound(0, constant(100000, 30000));
+        byte[] chunk = new byte[AudioMixer.getChunkFrames() * FRAME_BYTES];
+
+        mixer.play(0, 1.0f, true);
+        mixer.play(0, 1.0f, true);
+        mixer.render(chunk);
+        assertEquals(Short.MAX_VALUE, sampleAt(chunk, 0));
+
+        mixer.setGain(0, 0.1f);
+        mixer.render(chunk);
+        assertEquals(6000, sampleAt(chunk, 0));
+    }
+
+    @Test
+    void oldestVoiceIsReusedWhenAllAreBusy() {
+        AudioMixer mixer = new AudioMixer();
+        mixer.setSound(0, constant(100000, 1));
+        mixer.setSound(1, constant(100000, 1000));
+        byte[] chunk = new byte[AudioMixer.getChunkFrames() * FRAME_BYTES];
+
+        mixer.play(1, 1.0f, false);
+        for (int i = 1; i < AudioMixer.MAX_VOICES; i++) {
+            mixer.play(0, 1.0f, false);
+        }
+        mixer.render(chunk);
+        assertEquals(1000 + AudioMixer.MAX_VOICES - 1, sampleAt(chunk, 0));
+
+        mixer.play(0, 1.0f, false); // Takes the voice of sound 1
+        assertEquals(AudioMixer.MAX_VOICES, mixer.render(chunk));
+        assertEquals(AudioMixer.MAX_VOICES, sampleAt(chunk, 0));
+    }
+
+    @Test
+    void gainFollowsTheVolumeCurve() {
+        assertEquals(1.0f, AudioMixer.gainForVolume(1.0f), 1e-6f);
+        assertEquals(0.0f, AudioMixer.gainForVolume(0.0f), 0.0f);
+        double decibels = 20.0 * Math.log(0.5);
+        assertEquals(Math.pow(10.0, decibels / 20.0), AudioMixer.gainForVolume(0.5f), 1e-6);
+    }
+
+    @Test
+    void mixingKeepsUpWithCommandsFromManyThreads() throws InterruptedException {
+        final AudioMixer mixer = new AudioMixer();
+        mixer.setSound(0, constant(1000, 100));
+        mixer.setSound(1, constant(5000, 100));
+        final AtomicBoolean running = new AtomicBoolean(true);
+
+        Thread[] players = new Thread[4];
+        for (int t = 0; t < players.length; t++) {
+            players[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (running.get()) {
+                        int id = random.nextInt(2);
+                        switch (random.nextInt(4)) {
+                            case 0: mixer.play(id, random.nextFloat(), false); break;
+                            case 1: mixer.restart(id, random.nextFloat(), true); break;
+                            case 2: mixer.setGain(id, random.nextFloat()); break;
+                            default: mixer.stopSound(id); break;
+                        }
+                    }
+                }
+            });
+            players[t].start();
+        }
+
+        // Every voice is at most at full gain, so a chunk never goes past MAX_VOICES * 100
+        byte[] chunk = new byte[AudioMixer.getChunkFrames() * FRAME_BYTES];
+        for (int i = 0; i < 2000; i++) {
+            assertTrue(mixer.render(chunk) <= AudioMixer.MAX_VOICES);
+            for (int s = 0; s < chunk.length / 2; s++) {
+                int sample = sampleAt(chunk, s);
+                assertTrue(sample >= 0 && sample <= AudioMixer.MAX_VOICES * 100, "sample " + sample);
+            }
+        }
+        running.set(false);
+        for (Thread player : players) {
+            player.join();
+        }
+    }
+
+    @Test
+    void commandsFromManyThreadsAllArrive() throws InterruptedException {
+        final CommandQueue queue = new CommandQueue(64);
+        final int perThread = 50000;
+        Thread[] producers = new Thread[3];
+        for (int t = 0; t < producers.length; t++) {
+            final long base = (t + 1L) << 32;
+            producers[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < perThread; i++) {
+                        while (!queue.offer(base + i)) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+            producers[t].start();
+        }
+
+        // Commands of one producer keep their order
+        long[] next = new long[producers.length];
+        for (int received = 0; received < perThread * producers.length; ) {
+            long command = queue.poll();
+            if (command == CommandQueue.EMPTY) {
+                Thread.yield();
+                continue;
+            }
+            int producer = (int) (command >>> 32) - 1;
+            assertEquals(next[producer]++, command & 0xFFFFFFFFL);
+            received++;
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertEquals(CommandQueue.EMPTY, queue.poll());
+    }
+
+    @Test
+    void fullQueueDropsCommands() {
+        CommandQueue queue = new CommandQueue(2);
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+        assertFalse(queue.offer(3));
+        assertEquals(1, queue.poll());
+        assertTrue(queue.offer(3));
+    }
+
+    private static Sound constant(int frames, int value) {
+        short[] samples = new short[frames * AudioMixer.CHANNELS];
+        Arrays.fill(samples, (short) value);
+        return new Sound(samples);
+    }
+
+    private static int sampleAt(byte[] chunk, int index) {
+        return (short) ((chunk[2 * index] & 0xFF) | (chunk[2 * index + 1] << 8));
+    }
+}
@@ -0,0 +1,41 @@
+package com.snake.audio;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for background sound decoding
+ */
+class SoundCacheTest {
+
+    @Test
+    void soundIsDecodedOnceAndShared() throws Exception {
+        SoundCache cache = new SoundCache();
+        CompletableFuture<Sound> first = cache.load("/sounds/eat_sound.wav");
+        CompletableFuture<Sound> second = cache.load("/sounds/eat_sound.wav");
+        assertSame(first, second);
+
+        Sound sound = first.get();
+        assertTrue(sound.getFrames() > 0);
+        assertSame(sound, cache.getIfLoaded("/sounds/eat_sound.wav"));
+    }
+
+    @Test
+    void missingResourceFailsTheFuture() {
+        SoundCache cache = new SoundCache();
+        CompletableFuture<Sound> missing = cache.load("/sounds/no_such_sound.wav");
+
+        ExecutionException error = assertThrows(ExecutionException.class, missing::get);
+        assertTrue(error.getCause() instanceof FileNotFoundException);
+        assertNull(cache.getIfLoaded("/sounds/no_such_sound.wav"));
+        assertNull(cache.getIfLoaded("/sounds/never_requested.wav"));
+    }
+}
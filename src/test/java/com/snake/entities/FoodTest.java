@@ -0,0 +1,107 @@
+package com.snake.entities;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.snake.utils.Constants;
+import com.snake.utils.XorShiftRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for food placement and the free-cell index.
+ */
+class FoodTest {
+
+    @Test
+    void respawnNeverLandsOnSnake() {
+        Snake snake = new Snake();
+        Food food = new Food();
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(food.respawn(snake));
+            assertFalse(snake.occupies(food.getPosition()));
+        }
+    }
+
+    @Test
+    void freeCellsTrackAddAndRemove() {
+        FreeCells freeCells = new FreeCells(4);
+        freeCells.remove(1);
+        freeCells.remove(1);
+        freeCells.remove(3);
+
+        assertEquals(2, freeCells.size());
+        assertFalse(freeCells.contains(1));
+        assertTrue(freeCells.contains(0));
+
+        freeCells.add(1);
+        freeCells.add(1);
+        assertEquals(3, freeCells.size());
+        assertTrue(freeCells.contains(1));
+    }
+
+    @Test
+    void lastFreeCellIsAlwaysPicked() {
+        int cellCount = Constants.GRID_WIDTH * Constants.GRID_HEIGHT;
+        FreeCells freeCells = new FreeCells(cellCount);
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (cell != 42) {
+                freeCells.remove(cell);
+            }
+        }
+
+        XorShiftRandom random = new XorShiftRandom(7);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(42, freeCells.random(random));
+        }
+
+        freeCells.remove(42);
+        assertTrue(freeCells.isEmpty());
+        assertEquals(-1, freeCells.random(random));
+    }
+
+    @Test
+    void pickDependsOnlyOnWhichCellsAreFree() {
+        // Spans several counted blocks, and the same cells are taken in a different order
+        int cellCount = 3 * 4096 + 77;
+        FreeCells forward = new FreeCells(cellCount);
+        FreeCells shuffled = new FreeCells(cellCount);
+        Random taken = new Random(11);
+        int[] cells = new int[cellCount / 2];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = taken.nextInt(cellCount);
+            forward.remove(cells[i]);
+        }
+        for (int i = cells.length - 1; i >= 0; i--) {
+            shuffled.remove(cells[i]);
+            shuffled.add((cells[i] + 1) % cellCount);
+            shuffled.remove((cells[i] + 1) % cellCount);
+        }
+        for (int cell : cells) {
+            shuffled.add((cell + 1) % cellCount);
+        }
+        for (int cell : cells) {
+            shuffled.remove(cell);
+        }
+        assertEquals(forward.size(), shuffled.size());
+
+        XorShiftRandom first = new XorShiftRandom(3);
+        XorShiftRandom second = new XorShiftRandom(3);
+        for (int i = 0; i < 1000; i++) {
+            int cell = forward.random(first);
+            assertTrue(forward.contains(cell));
+            assertEquals(cell, shuffled.random(second));
+        }
+
+        // The very last cell of the grid is found past every block
+        for (int cell = 0; cell < cellCount - 1; cell++) {
+            forward.remove(cell);
+        }
+        forward.add(cellCount - 1);
+        assertEquals(cellCount - 1, forward.random(first));
+    }
+}
@@ -0,0 +1,162 @@
+package com.snake.entities;
+
+import java.awt.Point;
+import java.util.ArrayDeque;
+
+import org.junit.jupiter.api.Test;
+
+import com.snake.utils.Constants;
+import com.snake.utils.GameConfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the bit-packed snake body.
+ */
+class SnakeTest {
+
+    @Test
+    void moveKeepsLengthAndShiftsSegments() {
+        Snake snake = new Snake();
+        int startX = snake.getHeadX();
+        int startY = snake.getHeadY();
+
+        snake.move();
+
+        assertEquals(Constants.INITIAL_SNAKE_LENGTH, snake.getLength());
+        assertEquals(new Point(startX + 1, startY), snake.getHead());
+        assertEquals(new Point(startX, startY), snake.getBody().get(1));
+        assertEquals(new Point(startX - 1, startY), snake.getBody().get(2));
+    }
+
+    @Test
+    void growingPastRingCapacityKeepsBodyOrder() {
+        Snake snake = new Snake();
+        int startX = snake.getHeadX();
+        int startY = snake.getHeadY();
+
+        // Walk up and grow every tick, well past the initial ring capacity
+        snake.setDirection(Direction.UP);
+        int steps = 40;
+        for (int i = 0; i < steps; i++) {
+            snake.grow();
+            snake.move();
+        }
+
+        assertEquals(Constants.INITIAL_SNAKE_LENGTH + steps, snake.getLength());
+        for (int i = 0; i <= steps; i++) {
+            assertEquals(startX, snake.getX(i));
+            assertEquals(startY - steps + i, snake.getY(i));
+        }
+        assertEquals(startX - 2, snake.getX(snake.getLength() - 1));
+    }
+
+    @Test
+    void headMayEnterCellVacatedByTailOnSameTick() {
+        Snake snake = new Snake();
+        int x = snake.getHeadX();
+        int y = snake.getHeadY();
+
+        // Length 4 curled into a 2x2 square, the next move enters the tail cell
+        snake.setDirection(Direction.UP);
+        snake.grow();
+        snake.move();
+        snake.setDirection(Direction.LEFT);
+        snake.move();
+        snake.setDirection(Direction.DOWN);
+        snake.move();
+
+        assertFalse(snake.hasCollideWithSelf());
+        assertEquals(new Point(x - 1, y), snake.getHead());
+        assertTrue(snake.isOccupied(x - 1, y));
+        assertTrue(snake.isOccupied(x, y - 1));
+        assertFalse(snake.isOccupied(x - 2, y));
+    }
+
+    @Test
+    void turningIntoBodyCollides() {
+        Snake snake = new Snake();
+        snake.grow();
+        snake.move();
+        snake.grow();
+        snake.move();
+
+        // Length 5 cannot turn around in a 2x2 square
+        snake.setDirection(Direction.UP);
+        snake.move();
+        snake.setDirection(Direction.LEFT);
+        snake.move();
+        snake.setDirection(Direction.DOWN);
+        snake.move();
+
+        assertTrue(snake.hasCollideWithSelf());
+    }
+
+    @Test
+    void occupancyFollowsBody() {
+        Snake snake = new Snake();
+        int tailX = snake.getX(snake.getLength() - 1);
+        int tailY = snake.getY(snake.getLength() - 1);
+
+        assertTrue(snake.occupies(new Point(tailX, tailY)));
+        snake.move();
+        assertFalse(snake.occupies(new Point(tailX, tailY)));
+        assertTrue(snake.occupies(snake.getHead()));
+        assertFalse(snake.isOccupied(-1, 0));
+    }
+
+    @Test
+    void bodyViewIsReadOnly() {
+        Snake snake = new Snake();
+        assertThrows(UnsupportedOperationException.class, () -> snake.getBody().add(new Point()));
+    }
+
+    @Test
+    void linksAndEndsTrackAWindingBody() {
+        Snake snake = new Snake(GameConfig.defaults().withGridSize(400, 400));
+        Direction[] turns = {Direction.UP, Direction.LEFT, Direction.UP, Direction.RIGHT};
+        ArrayDeque<Point> expected = new ArrayDeque<>(snake.getBody());
+
+        // Zigzag upwards, growing on every other move, past several ring doublings
+        for (int step = 0; step < 200; step++) {
+            snake.setDirection(turns[(step / 3) % turns.length]);
+            boolean growing = step % 2 == 0;
+            if (growing) {
+                snake.grow();
+            }
+            Point tail = expected.peekLast();
+            snake.move();
+            expected.addFirst(snake.getHead());
+            if (!growing) {
+                expected.removeLast();
+                assertEquals(tail, new Point(snake.getVacatedTailX(), snake.getVacatedTailY()));
+            }
+        }
+
+        Point[] cells = expected.toArray(new Point[0]);
+        assertEquals(cells.length, snake.getLength());
+        assertEquals(cells[cells.length - 1], new Point(snake.getTailX(), snake.getTailY()));
+        int x = snake.getHeadX();
+        int y = snake.getHeadY();
+        for (int i = 1; i < cells.length; i++) {
+            x += snake.getLink(i).getDx();
+            y += snake.getLink(i).getDy();
+            assertEquals(cells[i], new Point(x, y));
+            assertEquals(cells[i], new Point(snake.getX(i), snake.getY(i)));
+            assertTrue(snake.occupies(cells[i]));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> snake.getLink(0));
+    }
+
+    @Test
+    void restoreRejectsBodyWithGaps() {
+        Snake snake = new Snake();
+        int[] xs = {5, 4, 2};
+        int[] ys = {5, 5, 5};
+        assertThrows(IllegalArgumentException.class,
+                () -> snake.restore(xs, ys, 3, Direction.RIGHT, Direction.RIGHT, false));
+    }
+}
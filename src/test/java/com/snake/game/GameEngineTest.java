@@ -0,0 +1,77 @@
+package com.snake.game;
+
+import org.junit.jupiter.api.Test;
+
+import com.snake.entities.Direction;
+import com.snake.entities.Snake;
+import com.snake.utils.Constants;
+import com.snake.utils.GameConfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit tests for the headless game engine.
+ */
+class GameEngineTest {
+
+    @Test
+    void snakeDiesWhenRunningIntoWall() {
+        GameEngine engine = new GameEngine();
+        int ticksToWall = Constants.GRID_WIDTH - Constants.GRID_WIDTH / 2;
+
+        for (int i = 1; i < ticksToWall; i++) {
+            assertNotEquals(TickResult.DIED, engine.step(null));
+        }
+        assertEquals(TickResult.DIED, engine.step(null));
+        assertEquals(GameState.GAME_OVER, engine.getGameState());
+        assertEquals(TickResult.IDLE, engine.step(null));
+    }
+
+    @Test
+    void resetReusesSnakeAndPlaysLikeNewEngine() {
+        GameEngine engine = new GameEngine(GameConfig.defaults(), 21L);
+        Snake snake = engine.getSnake();
+        for (int i = 0; i < 40; i++) {
+            engine.step(i % 7 == 0 ? Direction.DOWN : Direction.RIGHT);
+        }
+
+        engine.reset(5L);
+        GameEngine fresh = new GameEngine(GameConfig.defaults(), 5L);
+
+        assertSame(snake, engine.getSnake());
+        assertEquals(fresh.getSnake().getBody(), engine.getSnake().getBody());
+        for (int i = 0; i < 200 && fresh.getGameState() == GameState.PLAYING; i++) {
+            Direction turn = i % 5 == 0 ? Direction.UP : i % 5 == 2 ? Direction.LEFT : null;
+            assertEquals(fresh.step(turn), engine.step(turn));
+            assertEquals(fresh.getFood().getPosition(), engine.getFood().getPosition());
+        }
+        assertEquals(fresh.getScore(), engine.getScore());
+    }
+
+    @Test
+    void pausedGameDoesNotMove() {
+        GameEngine engine = new GameEngine();
+        int headX = engine.getSnake().getHead().x;
+
+        engine.togglePause();
+        assertEquals(TickResult.IDLE, engine.step(Direction.UP));
+        assertEquals(headX, engine.getSnake().getHead().x);
+
+        engine.togglePause();
+        engine.step(null);
+        assertEquals(headX + 1, engine.getSnake().getHead().x);
+    }
+
+    @Test
+    void resetRestoresInitialState() {
+        GameEngine engine = new GameEngine();
+        engine.step(Direction.UP);
+        engine.reset();
+
+        assertEquals(GameState.PLAYING, engine.getGameState());
+        assertEquals(0, engine.getScore());
+        assertEquals(Constants.INITIAL_SNAKE_LENGTH, engine.getSnake().getLength());
+    }
+}
@@ -0,0 +1,90 @@
+package com.snake.game;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.snake.utils.GameConfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for starting and stopping the loop thread
+ */
+class GameLoopTest {
+
+    private static final long TICK_NANOS = 1000000L;
+
+    @Test
+    void restartNeverStepsBesideAThreadStuckInATick() throws InterruptedException {
+        GameEngine engine = new GameEngine(GameConfig.defaults());
+        final CountDownLatch stuck = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Set<Thread> afterRelease = ConcurrentHashMap.newKeySet();
+        final AtomicInteger decisions = new AtomicInteger();
+
+        GameLoop loop = new GameLoop(engine, TICK_NANOS, TICK_NANOS, new GameLoop.Listener() {
+            @Override
+            public void onStep(TickResult result, Controller controller) {}
+
+            @Override
+            public void onTick(TickResult result) {}
+
+            @Override
+            public void onFrame() {}
+        });
+        loop.setController(e -> {
+            if (stuck.getCount() > 0) {
+                stuck.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                afterRelease.add(Thread.currentThread());
+            }
+            decisions.incrementAndGet();
+            return null;
+        });
+
+        loop.start();
+        assertTrue(stuck.await(5, TimeUnit.SECONDS));
+        Thread first = findLoopThread();
+
+        // stop() gives up on the stuck thread, start() must not let a second one step next to it
+        loop.stop();
+        assertTrue(first.isAlive());
+        loop.start();
+        Thread.sleep(50);
+        assertEquals(0, decisions.get());
+
+        release.countDown();
+        first.join(5000);
+        assertFalse(first.isAlive());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (decisions.get() < 20 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        loop.stop();
+
+        assertTrue(decisions.get() >= 20);
+        assertEquals(1, afterRelease.size());
+        assertFalse(afterRelease.contains(first));
+    }
+
+    private static Thread findLoopThread() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("game-loop")) {
+                return thread;
+            }
+        }
+        throw new AssertionError("No game loop thread");
+    }
+}
@@ -0,0 +1,83 @@
+package com.snake.game;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+import com.snake.entities.Direction;
+import com.snake.entities.Snake;
+import com.snake.utils.GameConfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the incremental board rendering.
+ */
+class GameRendererTest {
+
+    @Test
+    void patchedBoardMatchesFullRedraw() {
+        GameConfig config = GameConfig.defaults().withGridSize(10, 10);
+        GameEngine engine = new GameEngine(config, 7L);
+        GameRenderer patched = new GameRenderer(config);
+        BufferedImage frame = image(config);
+        int eaten = 0;
+
+        // Chase the food, drawing after one, two or three ticks to cover catching up
+        for (int i = 0; i < 300 && engine.getGameState() == GameState.PLAYING; i++) {
+            for (int t = 0; t <= i % 3; t++) {
+                if (engine.step(towardFood(engine)) == TickResult.ATE) {
+                    eaten++;
+                }
+            }
+            draw(patched, engine, frame);
+
+            BufferedImage expected = image(config);
+            draw(new GameRenderer(config), engine, expected);
+            assertSamePixels(expected, frame, engine.getTick());
+        }
+        assertTrue(eaten > 0, "Snake should eat at least once");
+
+        // A reset throws the old board away
+        engine.reset(8L);
+        draw(patched, engine, frame);
+        BufferedImage expected = image(config);
+        draw(new GameRenderer(config), engine, expected);
+        assertSamePixels(expected, frame, engine.getTick());
+    }
+
+    private static Direction towardFood(GameEngine engine) {
+        Snake snake = engine.getSnake();
+        int dx = engine.getFood().getX() - snake.getHeadX();
+        int dy = engine.getFood().getY() - snake.getHeadY();
+        Direction wanted = dx != 0 ? (dx > 0 ? Direction.RIGHT : Direction.LEFT)
+                : (dy > 0 ? Direction.DOWN : Direction.UP);
+        if (wanted == snake.getDirection().getOpposite()) {
+            return dy >= 0 ? Direction.DOWN : Direction.UP;
+        }
+        return wanted;
+    }
+
+    private static BufferedImage image(GameConfig config) {
+        return new BufferedImage(config.getGameWidth(), config.getGameHeight(), BufferedImage.TYPE_INT_RGB);
+    }
+
+    private static void draw(GameRenderer renderer, GameEngine engine, BufferedImage image) {
+        Graphics2D g2d = image.createGraphics();
+        renderer.render(g2d, engine);
+        g2d.dispose();
+    }
+
+    private static void assertSamePixels(BufferedImage expected, BufferedImage actual, long tick) {
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    assertEquals(expected.getRGB(x, y), actual.getRGB(x, y),
+                            "Pixel " + x + "," + y + " differs at tick " + tick);
+                }
+            }
+        }
+    }
+}
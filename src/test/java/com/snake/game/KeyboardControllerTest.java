@@ -0,0 +1,109 @@
+package com.snake.game;
+
+import org.junit.jupiter.api.Test;
+
+import com.snake.entities.Direction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the queued keyboard input and its lock-free queue
+ */
+class KeyboardControllerTest {
+
+    @Test
+    void quickTurnsWithinOneTickAreAppliedOnSuccessiveTicks() {
+        GameEngine engine = new GameEngine(1L);
+        KeyboardController keyboard = new KeyboardController();
+        int startY = engine.getSnake().getHeadY();
+
+        // Moving right: UP then LEFT must not end in a reversal
+        keyboard.press(Direction.UP);
+        keyboard.press(Direction.LEFT);
+
+        engine.step(keyboard.decide(engine));
+        assertEquals(Direction.UP, engine.getSnake().getDirection());
+        engine.step(keyboard.decide(engine));
+        assertEquals(Direction.LEFT, engine.getSnake().getDirection());
+        assertEquals(GameState.PLAYING, engine.getGameState());
+        assertEquals(startY - 1, engine.getSnake().getHeadY());
+        assertEquals(2, keyboard.getTurns());
+    }
+
+    @Test
+    void reversingAndRepeatedPressesAreSkipped() {
+        GameEngine engine = new GameEngine(1L);
+        KeyboardController keyboard = new KeyboardController();
+
+        keyboard.press(Direction.LEFT);
+        keyboard.press(Direction.RIGHT);
+        keyboard.press(Direction.DOWN);
+
+        assertEquals(Direction.DOWN, keyboard.decide(engine));
+        assertNull(keyboard.decide(engine));
+        assertEquals(2, keyboard.getDiscarded());
+    }
+
+    @Test
+    void pressesWaitWhilePaused() {
+        GameEngine engine = new GameEngine(1L);
+        KeyboardController keyboard = new KeyboardController();
+
+        keyboard.press(Direction.UP);
+        engine.togglePause();
+        assertNull(keyboard.decide(engine));
+        engine.togglePause();
+        assertEquals(Direction.UP, keyboard.decide(engine));
+    }
+
+    @Test
+    void fullQueueDropsNewInputs() {
+        InputQueue queue = new InputQueue(3);
+        assertEquals(4, queue.getCapacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(Direction.UP, i));
+        }
+        assertFalse(queue.offer(Direction.DOWN, 4));
+
+        queue.remove();
+        assertTrue(queue.offer(Direction.LEFT, 5));
+        assertEquals(4, queue.size());
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.peekDirection());
+    }
+
+    @Test
+    void consumerSeesEveryInputInOrder() throws InterruptedException {
+        final InputQueue queue = new InputQueue(8);
+        final int count = 200000;
+        final Direction[] directions = Direction.values();
+
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < count; i++) {
+                    while (!queue.offer(directions[i & 3], i)) {
+                        Thread.yield();
+                    }
+                }
+            }
+        });
+        producer.start();
+
+        for (int i = 0; i < count; i++) {
+            Direction direction;
+            while ((direction = queue.peekDirection()) == null) {
+                Thread.yield();
+            }
+            assertEquals(directions[i & 3], direction);
+            assertEquals(i, queue.peekTimestamp());
+            queue.remove();
+        }
+        producer.join();
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,67 @@
+package com.snake.game;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+import com.snake.utils.AllocationCounter;
+import com.snake.utils.GameConfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that painting an unchanged game settles to zero allocations.
+ */
+class PaintAllocationTest {
+
+    // Frames per measurement, and how many measurements the JIT gets to settle
+    private static final int FRAMES = 500;
+    private static final int MAX_ROUNDS = 20;
+
+    @Test
+    void steadyStatePaintAllocatesNothing() {
+        assumeTrue(AllocationCounter.isSupported(), "Thread allocation counters not available");
+
+        GameConfig config = GameConfig.defaults();
+        GameEngine engine = new GameEngine(config, 3L);
+        engine.step(null);
+        assertEquals(0.0, paintUntilSettled(engine, config, 0.5), "Playing frame");
+
+        engine.togglePause();
+        assertEquals(0.0, paintUntilSettled(engine, config, 1.0), "Paused frame");
+
+        engine.togglePause();
+        while (engine.step(null) != TickResult.DIED) {
+            // Run into the wall
+        }
+        assertEquals(0.0, paintUntilSettled(engine, config, 1.0), "Game over frame");
+    }
+
+    /**
+     * Paints rounds of frames until one allocates nothing, or gives up
+     * @return Bytes per frame of the last round
+     */
+    private static double paintUntilSettled(GameEngine engine, GameConfig config, double alpha) {
+        GameRenderer renderer = new GameRenderer(config);
+        BufferedImage image = new BufferedImage(config.getGameWidth(), config.getGameHeight(),
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+
+        AllocationCounter counter = new AllocationCounter();
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            counter = new AllocationCounter();
+            for (int i = 0; i < FRAMES; i++) {
+                counter.begin();
+                renderer.render(g2d, engine, alpha);
+                counter.end();
+            }
+            if (counter.getBytesPerSample() == 0.0) {
+                break;
+            }
+        }
+        g2d.dispose();
+        return counter.getBytesPerSample();
+    }
+}
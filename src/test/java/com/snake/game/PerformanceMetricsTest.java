@@ -0,0 +1,95 @@
+package com.snake.game;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+import com.snake.entities.Direction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the session metrics behind the performance HUD
+ */
+class PerformanceMetricsTest {
+
+    private static final long FRAME_NANOS = 16000000L;
+
+    @Test
+    void samplesOncePerSecondOfFrames() throws IOException {
+        PerformanceMetrics metrics = new PerformanceMetrics();
+        long time = System.nanoTime();
+
+        // 0.5s of frames is not a sample yet
+        for (int i = 0; i < 31; i++) {
+            metrics.recordFrame(time, time + 1000000L);
+            time += FRAME_NANOS;
+        }
+        assertNull(metrics.getLatest());
+
+        for (int i = 0; i < 40; i++) {
+            metrics.recordFrame(time, time + 1000000L);
+            time += FRAME_NANOS;
+        }
+        PerformanceMetrics.Sample sample = metrics.getLatest();
+        assertNotNull(sample);
+        assertTrue(sample.getFramesPerSecond() > 55 && sample.getFramesPerSecond() < 65,
+                "fps " + sample.getFramesPerSecond());
+        assertTrue(Math.abs(sample.getFrameP50() - FRAME_NANOS) <= FRAME_NANOS / 16);
+        assertTrue(Math.abs(sample.getPaintP99() - 1000000L) <= 1000000L / 16);
+
+        StringWriter csv = new StringWriter();
+        metrics.export(csv);
+        String[] rows = csv.toString().split("\\R");
+        assertEquals(2, rows.length);
+        assertEquals(rows[0].split(",").length, rows[1].split(",").length);
+    }
+
+    @Test
+    void samplesCountLoopAndKeyboardEvents() throws IOException {
+        PerformanceMetrics metrics = new PerformanceMetrics();
+        TickStats ticks = new TickStats();
+        KeyboardController keyboard = new KeyboardController();
+        metrics.setSources(ticks, keyboard);
+
+        ticks.recordTick(5000000L);
+        ticks.recordDropped(3);
+        ticks.recordStall(true);
+        keyboard.press(Direction.UP);
+        long time = System.nanoTime();
+        for (int i = 0; i < 70; i++) {
+            metrics.recordFrame(time, time + 1000000L);
+            time += FRAME_NANOS;
+        }
+
+        PerformanceMetrics.Sample sample = metrics.getLatest();
+        assertEquals(1, sample.getLateTicks());
+        assertEquals(3, sample.getDroppedTicks());
+        assertEquals(1, sample.getStalls());
+        assertEquals(1, sample.getGcStalls());
+        assertEquals(1, sample.getKeyPresses());
+
+        StringWriter csv = new StringWriter();
+        metrics.export(csv);
+        String[] rows = csv.toString().split("\\R");
+        assertEquals(rows[0].split(",").length, rows[1].split(",").length);
+    }
+
+    @Test
+    void inputLatencyEndsAtTheNextFrame() {
+        PerformanceMetrics metrics = new PerformanceMetrics();
+        long pressed = System.nanoTime();
+
+        metrics.recordTurn(pressed);
+        metrics.recordTurn(pressed + 5000000L); // Same frame, the older press counts
+        metrics.recordFrame(pressed + 20000000L, pressed + 30000000L);
+        metrics.recordFrame(pressed + 40000000L, pressed + 50000000L);
+
+        assertEquals(1, metrics.getInputs().getCount());
+        assertEquals(30000000L, metrics.getInputs().getMax());
+    }
+}
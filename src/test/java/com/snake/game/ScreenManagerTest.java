@@ -0,0 +1,101 @@
+package com.snake.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ScreenManagerTest {
+
+    private final List<String> events = new ArrayList<>();
+    private ScreenManager screens;
+    private int created;
+
+    /**
+     * Screen that logs its lifecycle
+     */
+    private class LoggingScreen extends JPanel implements Screen {
+        private final String name;
+
+        LoggingScreen(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void onShow() {
+            events.add("show " + name);
+        }
+
+        @Override
+        public void onHide() {
+            events.add("hide " + name);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        screens = new ScreenManager(null);
+        for (String name : new String[] {"menu", "game"}) {
+            screens.register(name, () -> {
+                created++;
+                return new LoggingScreen(name);
+            });
+        }
+    }
+
+    @Test
+    void createsScreensOnlyWhenFirstShown() {
+        assertNull(screens.getScreen("game"));
+        screens.show("menu");
+
+        assertEquals(1, created);
+        assertNull(screens.getScreen("game"));
+        assertEquals("menu", screens.getCurrentName());
+    }
+
+    @Test
+    void reusesScreens() {
+        screens.show("menu");
+        JComponent menu = screens.getScreen("menu");
+        screens.show("game");
+        screens.show("menu");
+        screens.show("game");
+
+        assertEquals(2, created);
+        assertSame(menu, screens.getScreen("menu"));
+        assertEquals(2, screens.getContainer().getComponentCount());
+        assertEquals(4, screens.getSwitchTimes().getCount());
+    }
+
+    @Test
+    void hidesOldScreenBeforeShowingNewOne() {
+        screens.show("menu");
+        screens.show("game");
+        screens.show("menu");
+
+        assertEquals(Arrays.asList("show menu", "hide menu", "show game", "hide game", "show menu"), events);
+    }
+
+    @Test
+    void showingCurrentScreenDoesNothing() {
+        screens.show("menu");
+        screens.show("menu");
+
+        assertEquals(Arrays.asList("show menu"), events);
+    }
+
+    @Test
+    void rejectsUnknownScreen() {
+        assertThrows(IllegalArgumentException.class, () -> screens.show("scores"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.snake.game;
+
+import org.junit.jupiter.api.Test;
+
+import com.snake.entities.Direction;
+import com.snake.sim.GreedyController;
+import com.snake.utils.GameConfig;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trip tests for game snapshots.
+ */
+class SnapshotCodecTest {
+
+    private final SnapshotCodec codec = new SnapshotCodec();
+    private final GreedyController bot = new GreedyController();
+
+    @Test
+    void restoredGameMatchesOriginal() {
+        GameEngine engine = new GameEngine(GameConfig.defaults(), 5L);
+        playTicks(engine, 150);
+        // A pending turn is part of the state
+        assertEquals(GameState.PLAYING, engine.getGameState());
+        Direction turn = engine.getSnake().getDirection().getDx() != 0 ? Direction.UP : Direction.LEFT;
+        engine.steer(turn);
+        byte[] snapshot = codec.snapshot(engine);
+
+        GameEngine copy = new GameEngine(GameConfig.defaults(), 77L);
+        codec.restore(copy, snapshot);
+
+        assertSameGame(engine, copy);
+        assertEquals(turn, copy.getSnake().getNextDirection());
+        assertArrayEquals(snapshot, codec.snapshot(copy));
+        assertTrue(snapshot.length < 16 + 50 + engine.getSnake().getLength() / 4);
+    }
+
+    @Test
+    void restoresPlayLikeTheOriginal() {
+        GameEngine engine = new GameEngine(GameConfig.defaults(), 6L);
+        playTicks(engine, 200);
+        assertEquals(GameState.PLAYING, engine.getGameState());
+        byte[] snapshot = codec.snapshot(engine);
+
+        // Two forks taken from the same snapshot, one reused after another game
+        GameEngine first = new GameEngine(GameConfig.defaults(), 1L);
+        GameEngine second = new GameEngine(GameConfig.defaults(), 2L);
+        playTicks(second, 50);
+        codec.restore(first, snapshot);
+        codec.restore(second, snapshot);
+
+        // The original keeps going too, every fork must follow its future, food included
+        int startScore = engine.getScore();
+        for (int i = 0; i < 2000 && engine.getGameState() == GameState.PLAYING; i++) {
+            engine.step(bot.decide(engine));
+            first.step(bot.decide(first));
+            second.step(bot.decide(second));
+            assertSameGame(engine, first);
+            assertSameGame(engine, second);
+        }
+        assertTrue(engine.getScore() > startScore); // Food was placed after the snapshot
+    }
+
+    @Test
+    void savesFinishedGames() {
+        GameEngine engine = new GameEngine(GameConfig.defaults(), 3L);
+        while (engine.getGameState() == GameState.PLAYING) {
+            engine.step(null); // Straight into the wall
+        }
+        byte[] snapshot = codec.snapshot(engine);
+
+        GameEngine copy = new GameEngine(GameConfig.defaults(), 4L);
+        codec.restore(copy, snapshot);
+
+        assertSameGame(engine, copy);
+        assertTrue(copy.getSnake().hasCollideWithWall());
+    }
+
+    @Test
+    void rejectsOtherGridsAndDamage() {
+        GameEngine engine = new GameEngine(GameConfig.defaults(), 8L);
+        byte[] snapshot = codec.snapshot(engine);
+
+        GameEngine other = new GameEngine(GameConfig.defaults().withGridSize(30, 30), 8L);
+        assertThrows(IllegalArgumentException.class, () -> codec.restore(other, snapshot));
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.restore(engine, snapshot, 0, snapshot.length - 1));
+        snapshot[0] = 99;
+        assertThrows(IllegalArgumentException.class, () -> codec.restore(engine, snapshot));
+    }
+
+    private void playTicks(GameEngine engine, int ticks) {
+        for (int i = 0; i < ticks && engine.getGameState() == GameState.PLAYING; i++) {
+            engine.step(bot.decide(engine));
+        }
+    }
+
+    private static void assertSameGame(GameEngine expected, GameEngine actual) {
+        assertEquals(expected.getGameState(), actual.getGameState());
+        assertEquals(expected.getScore(), actual.getScore());
+        assertEquals(expected.getTick(), actual.getTick());
+        assertEquals(expected.getSeed(), actual.getSeed());
+        assertEquals(expected.getFood().getPosition(), actual.getFood().getPosition());
+        assertEquals(expected.getSnake().getBody(), actual.getSnake().getBody());
+        assertEquals(expected.getSnake().getDirection(), actual.getSnake().getDirection());
+        assertEquals(expected.getSnake().getFreeCells().size(), actual.getSnake().getFreeCells().size());
+    }
+}
@@ -0,0 +1,89 @@
+package com.snake.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for tick deadlines, catch up and speed curves
+ */
+class TickSchedulerTest {
+
+    private static final long TICK = 100L;
+
+    @Test
+    void deadlinesDoNotDriftWhenTicksRunLate() {
+        TickScheduler scheduler = new TickScheduler(SpeedCurve.constant(TICK), 3);
+        scheduler.start(0L, 3);
+
+        assertEquals(0, scheduler.poll(99L));
+        // Every tick runs 40 late, deadlines stay on multiples of TICK
+        for (int i = 1; i <= 1000; i++) {
+            long now = i * TICK + 40;
+            assertEquals(1, scheduler.poll(now));
+            scheduler.completeTick(now, 3);
+        }
+
+        assertEquals(1001 * TICK, scheduler.getNextTick());
+        assertEquals(1000, scheduler.getStats().getTicks());
+        assertEquals(0, scheduler.getStats().getStalls());
+        assertEquals(40, scheduler.getStats().getMeanLatenessNanos());
+    }
+
+    @Test
+    void catchUpIsBoundedAndTheRestIsDropped() {
+        TickScheduler scheduler = new TickScheduler(SpeedCurve.constant(TICK), 3);
+        scheduler.start(0L, 3);
+
+        // Stalled until just after the 10th deadline, 3 run and 7 are dropped
+        long now = 10 * TICK + 5;
+        assertEquals(3, scheduler.poll(now));
+        for (int i = 0; i < 3; i++) {
+            scheduler.completeTick(now, 3);
+        }
+
+        assertEquals(7, scheduler.getStats().getDroppedTicks());
+        assertEquals(1, scheduler.getStats().getStalls());
+        assertEquals(11 * TICK, scheduler.getNextTick());
+        assertEquals(0, scheduler.poll(now));
+    }
+
+    @Test
+    void noCatchUpRunsOneTick() {
+        TickScheduler scheduler = new TickScheduler(SpeedCurve.constant(TICK), 1);
+        scheduler.start(0L, 3);
+
+        assertEquals(1, scheduler.poll(5 * TICK));
+        scheduler.completeTick(5 * TICK, 3);
+
+        assertEquals(4, scheduler.getStats().getDroppedTicks());
+        assertEquals(6 * TICK, scheduler.getNextTick());
+    }
+
+    @Test
+    void tickGetsShorterAsTheSnakeGrows() {
+        SpeedCurve curve = new SpeedCurve(1000L, 400L, 10.0, 3);
+
+        assertEquals(1000L, curve.tickNanos(3));
+        assertEquals(1000L, curve.tickNanos(1));
+        assertEquals(900L, curve.tickNanos(4));
+        assertEquals(810L, curve.tickNanos(5));
+        assertEquals(400L, curve.tickNanos(100));
+
+        // A new length takes effect from the next deadline on
+        TickScheduler scheduler = new TickScheduler(curve, 2);
+        scheduler.start(0L, 3);
+        assertEquals(1, scheduler.poll(1000L));
+        scheduler.completeTick(1000L, 4);
+        assertEquals(1900L, scheduler.getNextTick());
+        assertEquals(900L, scheduler.getTickNanos());
+    }
+
+    @Test
+    void invalidCurvesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SpeedCurve(100L, 200L, 0.0, 3));
+        assertThrows(IllegalArgumentException.class, () -> new SpeedCurve(100L, 50L, 100.0, 3));
+        assertThrows(IllegalArgumentException.class, () -> new TickScheduler(SpeedCurve.constant(TICK), 0));
+    }
+}
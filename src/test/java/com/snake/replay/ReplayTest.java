@@ -0,0 +1,66 @@
+package com.snake.replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import com.snake.entities.Direction;
+import com.snake.game.GameEngine;
+import com.snake.game.GameState;
+import com.snake.utils.GameConfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trip tests for replay recording and headless playback.
+ */
+class ReplayTest {
+
+    private static final Direction[] PATTERN = {
+        Direction.UP, Direction.LEFT, Direction.DOWN, Direction.RIGHT
+    };
+
+    @Test
+    void replayReproducesGameExactly() throws IOException {
+        long seed = 12345L;
+        GameEngine engine = new GameEngine(seed);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ReplayWriter writer = new ReplayWriter(bytes, seed, engine.getConfig())) {
+            // Circle around the board, steering every few ticks
+            int turn = 0;
+            while (engine.getGameState() == GameState.PLAYING && engine.getTick() < 2000) {
+                if (engine.getTick() % 4 == 0) {
+                    Direction direction = PATTERN[turn++ % PATTERN.length];
+                    writer.recordInput(engine.getTick(), direction);
+                    engine.steer(direction);
+                }
+                engine.step(null);
+            }
+            writer.finish(engine.getTick());
+        }
+
+        GameEngine replayed = ReplayPlayer.play(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(engine.getTick(), replayed.getTick());
+        assertEquals(engine.getScore(), replayed.getScore());
+        assertEquals(engine.getGameState(), replayed.getGameState());
+        assertEquals(engine.getSnake().getBody(), replayed.getSnake().getBody());
+        assertEquals(engine.getFood().getPosition(), replayed.getFood().getPosition());
+    }
+
+    @Test
+    void inputsCostAboutOneByteEach() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ReplayWriter writer = new ReplayWriter(bytes, 1L, GameConfig.defaults())) {
+            for (int i = 0; i < 1000; i++) {
+                writer.recordInput(i * 5L, PATTERN[i % PATTERN.length]);
+            }
+            writer.finish(5000L);
+        }
+        assertTrue(bytes.size() < 1100);
+    }
+}
@@ -0,0 +1,166 @@
+package com.snake.scores;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the memory-mapped high score log and its leaderboard.
+ */
+class HighScoreStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static HighScore game(int score) {
+        return new HighScore(1000L + score, score * 31L, score * 10, score, 20, 20);
+    }
+
+    @Test
+    void leaderboardKeepsBestScoresInOrder() {
+        Leaderboard board = new Leaderboard(3);
+
+        assertEquals(0, board.offer(game(5)));
+        assertEquals(0, board.offer(game(9)));
+        assertEquals(2, board.offer(game(1)));
+        assertEquals(1, board.offer(game(7)));
+        assertEquals(-1, board.offer(game(1)));
+        assertEquals(-1, board.offer(game(5))); // Ties go to the earlier game
+
+        List<HighScore> top = board.toList();
+        assertEquals(3, top.size());
+        assertEquals(9, top.get(0).getScore());
+        assertEquals(7, top.get(1).getScore());
+        assertEquals(5, top.get(2).getScore());
+    }
+
+    @Test
+    void reopeningRebuildsLeaderboard() throws IOException {
+        File file = dir.resolve("scores.dat").toFile();
+        try (HighScoreStore store = HighScoreStore.open(file, 3)) {
+            for (int score : new int[] {4, 12, 8, 3, 15}) {
+                store.append(game(score));
+            }
+        }
+
+        try (HighScoreStore store = HighScoreStore.open(file, 3)) {
+            assertEquals(5, store.size());
+            assertEquals(0, store.getCorruptRecords());
+            List<HighScore> top = store.getTop();
+            assertEquals(15, top.get(0).getScore());
+            assertEquals(12, top.get(1).getScore());
+            assertEquals(8, top.get(2).getScore());
+
+            HighScore best = top.get(0);
+            assertEquals(1015L, best.getTimestamp());
+            assertEquals(15 * 31L, best.getSeed());
+            assertEquals(150, best.getTicks());
+            assertEquals(20, best.getGridWidth());
+
+            // Appends continue after the existing records
+            assertEquals(0, store.append(game(20)));
+        }
+        try (HighScoreStore store = HighScoreStore.open(file, 3)) {
+            assertEquals(6, store.size());
+            assertEquals(20, store.getBestScore());
+        }
+    }
+
+    @Test
+    void growsAcrossRegions() throws IOException {
+        File file = dir.resolve("many.dat").toFile();
+        int games = 2 * HighScoreStore.REGION_BYTES / HighScoreStore.RECORD_BYTES + 100;
+        try (HighScoreStore store = HighScoreStore.open(file)) {
+            for (int i = 0; i < games; i++) {
+                store.append(game(i % 1000));
+            }
+        }
+
+        try (HighScoreStore store = HighScoreStore.open(file)) {
+            assertEquals(games, store.size());
+            assertEquals(999, store.getBestScore());
+        }
+    }
+
+    @Test
+    void skipsRecordTornByCrash() throws IOException {
+        File file = dir.resolve("torn.dat").toFile();
+        try (HighScoreStore store = HighScoreStore.open(file)) {
+            store.append(game(50));
+            store.append(game(60));
+            store.append(game(40));
+        }
+
+        // Damage the second record, as if the process died while writing it
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.seek(2 * HighScoreStore.RECORD_BYTES + 20);
+            raw.writeInt(0x7FFFFFFF);
+        }
+
+        try (HighScoreStore store = HighScoreStore.open(file)) {
+            assertEquals(2, store.size());
+            assertEquals(1, store.getCorruptRecords());
+            assertEquals(50, store.getBestScore());
+        }
+    }
+
+    @Test
+    void keepsRecordsAfterALostSlot() throws IOException {
+        File file = dir.resolve("lost.dat").toFile();
+        try (HighScoreStore store = HighScoreStore.open(file)) {
+            store.append(game(50));
+            store.append(game(60));
+            store.append(game(40));
+        }
+
+        // Zero the second record, as if its page never reached the disk
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.seek(2 * HighScoreStore.RECORD_BYTES);
+            raw.write(new byte[HighScoreStore.RECORD_BYTES]);
+        }
+
+        try (HighScoreStore store = HighScoreStore.open(file)) {
+            assertEquals(2, store.size());
+            assertEquals(1, store.getCorruptRecords());
+            assertEquals(50, store.getBestScore());
+            // Appends go after the last record instead of over it
+            store.append(game(30));
+        }
+        try (HighScoreStore store = HighScoreStore.open(file)) {
+            assertEquals(3, store.size());
+            assertEquals(3, store.getTop().size());
+            assertEquals(30, store.getTop().get(2).getScore());
+        }
+    }
+
+    @Test
+    void fileIsLockedWhileOpen() throws IOException {
+        File file = dir.resolve("locked.dat").toFile();
+        try (HighScoreStore store = HighScoreStore.open(file)) {
+            store.append(game(10));
+            assertThrows(IOException.class, () -> HighScoreStore.open(file));
+        }
+
+        try (HighScoreStore store = HighScoreStore.open(file)) {
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        File file = dir.resolve("other.dat").toFile();
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.writeBytes("not a high score file at all");
+        }
+
+        assertThrows(IOException.class, () -> HighScoreStore.open(file));
+    }
+}
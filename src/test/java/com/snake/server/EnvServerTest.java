@@ -0,0 +1,138 @@
+package com.snake.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.snake.sim.MultiGameEngine;
+import com.snake.utils.GameConfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Round trips against a running environment server.
+ */
+class EnvServerTest {
+
+    private static final int ENVS = 32;
+    private static final int WIDTH = 12;
+    private static final int HEIGHT = 10;
+
+    private EnvServer server;
+    private SocketChannel client;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new EnvServer(0);
+        server.start();
+        client = SocketChannel.open(new InetSocketAddress("127.0.0.1", server.getPort()));
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    void stepsMatchLocalEngine() throws IOException {
+        ByteBuffer request = frame(EnvProtocol.CREATE, EnvProtocol.CREATE_BYTES);
+        request.putShort((short) WIDTH).putShort((short) HEIGHT).putShort((short) 3).putInt(ENVS).putLong(9L);
+        send(request);
+        ByteBuffer created = receive(EnvProtocol.CREATED);
+        assertEquals(ENVS, created.getInt());
+        int words = created.getInt();
+
+        GameConfig config = GameConfig.defaults().withGridSize(WIDTH, HEIGHT).withCellSize(1)
+                .withInitialSnakeLength(3).withScoresFile(null);
+        MultiGameEngine local = new MultiGameEngine(config, ENVS, 9L);
+        byte[] actions = new byte[ENVS];
+        byte[] results = new byte[ENVS];
+
+        // A few ticks, short of any wall, so no env restarts
+        for (int tick = 0; tick < 4; tick++) {
+            request = frame(EnvProtocol.STEP, ENVS);
+            for (int g = 0; g < ENVS; g++) {
+                actions[g] = (byte) (g % 5 == 4 ? -1 : (g + tick) % 4);
+                request.put(actions[g]);
+            }
+            send(request);
+            local.step(actions, results);
+
+            ByteBuffer observations = receive(EnvProtocol.OBSERVATIONS);
+            assertEquals(ENVS * (EnvProtocol.ENV_HEADER_BYTES + words * 8), observations.remaining());
+            for (int g = 0; g < ENVS; g++) {
+                assertEquals(results[g], observations.get());
+                assertEquals(local.getDirection(g).ordinal(), observations.get());
+                assertEquals(local.getLength(g), observations.getInt());
+                assertEquals(local.getHeadX(g), observations.getShort());
+                assertEquals(local.getHeadY(g), observations.getShort());
+                assertEquals(local.getFood(g), observations.getInt());
+                for (int w = 0; w < words; w++) {
+                    assertEquals(local.getOccupancyWord(g, w), observations.getLong());
+                }
+            }
+        }
+    }
+
+    @Test
+    void oversizedBatchIsRejectedBeforeAllocating() throws IOException {
+        ByteBuffer request = frame(EnvProtocol.CREATE, EnvProtocol.CREATE_BYTES);
+        request.putShort((short) 4096).putShort((short) 4096).putShort((short) 3).putInt(127).putLong(1L);
+        send(request);
+        receive(EnvProtocol.ERROR);
+
+        // The server is still up for everyone else
+        client.close();
+        client = SocketChannel.open(new InetSocketAddress("127.0.0.1", server.getPort()));
+        request = frame(EnvProtocol.CREATE, EnvProtocol.CREATE_BYTES);
+        request.putShort((short) WIDTH).putShort((short) HEIGHT).putShort((short) 3).putInt(ENVS).putLong(9L);
+        send(request);
+        assertEquals(ENVS, receive(EnvProtocol.CREATED).getInt());
+    }
+
+    @Test
+    void stepBeforeCreateIsAnError() throws IOException {
+        send(frame(EnvProtocol.STEP, 0));
+        ByteBuffer error = receive(EnvProtocol.ERROR);
+        assertEquals(true, error.remaining() > 0);
+        assertEquals(-1, client.read(ByteBuffer.allocate(1)));
+    }
+
+    private static ByteBuffer frame(byte type, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(EnvProtocol.FRAME_HEADER_BYTES + length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(length).put(type);
+        return buffer;
+    }
+
+    private void send(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            client.write(buffer);
+        }
+    }
+
+    private ByteBuffer receive(byte expectedType) throws IOException {
+        ByteBuffer header = readFully(EnvProtocol.FRAME_HEADER_BYTES);
+        int length = header.getInt();
+        assertEquals(expectedType, header.get());
+        return readFully(length);
+    }
+
+    private ByteBuffer readFully(int bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (client.read(buffer) < 0) {
+                throw new IOException("Server closed the connection");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,59 @@
+package com.snake.sim;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.snake.utils.GameConfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the parallel batch simulator.
+ */
+class BatchSimulatorTest {
+
+    private static final GameConfig CONFIG = GameConfig.defaults();
+    private static final int GAMES = 500;
+    private static final long MAX_TICKS = 5000;
+
+    @Test
+    void resultsDoNotDependOnThreadCount() {
+        SimulationStats single = run(1, 42L, null);
+        SimulationStats parallel = run(4, 42L, null);
+
+        assertEquals(GAMES, single.getGames());
+        assertEquals(single.getDied(), parallel.getDied());
+        assertEquals(single.getFoods().getMean(), parallel.getFoods().getMean());
+        assertEquals(single.getTicks().getMean(), parallel.getTicks().getMean());
+        for (int i = 0; i < single.getFoods().getBucketCount(); i++) {
+            assertEquals(single.getFoods().getBucket(i), parallel.getFoods().getBucket(i));
+        }
+    }
+
+    @Test
+    void listenerSeesEveryGame() {
+        final AtomicLong streamed = new AtomicLong();
+        SimulationStats stats = run(4, 7L, new BatchSimulator.Listener() {
+            @Override
+            public void onChunk(SimulationStats chunk) {
+                streamed.addAndGet(chunk.getGames());
+            }
+        });
+
+        assertEquals(GAMES, streamed.get());
+        assertEquals(GAMES, stats.getDied() + stats.getWon() + stats.getTimedOut());
+        assertTrue(stats.getFoods().getMean() > 0, "Greedy bot should eat something");
+    }
+
+    private static SimulationStats run(int threads, long seed, BatchSimulator.Listener listener) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return new BatchSimulator(CONFIG, MAX_TICKS, pool).run(GAMES, seed, GreedyController.FACTORY, listener);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
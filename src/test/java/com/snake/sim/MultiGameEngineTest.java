@@ -0,0 +1,101 @@
+package com.snake.sim;
+
+import org.junit.jupiter.api.Test;
+
+import com.snake.game.GameEngine;
+import com.snake.game.GameState;
+import com.snake.game.TickResult;
+import com.snake.utils.GameConfig;
+import com.snake.utils.XorShiftRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the struct-of-arrays engine.
+ */
+class MultiGameEngineTest {
+
+    private static final GameConfig CONFIG = GameConfig.defaults().withGridSize(12, 10);
+    private static final int GAMES = 64;
+
+    @Test
+    void hitsWallOnSameTickAsGameEngine() {
+        MultiGameEngine multi = new MultiGameEngine(CONFIG, GAMES, 1L);
+        GameEngine single = new GameEngine(CONFIG, 1L);
+        byte[] results = new byte[GAMES];
+
+        // Both snakes start in the same place and run right into the wall
+        while (single.getGameState() == GameState.PLAYING) {
+            TickResult expected = single.step(null);
+            multi.step(null, results);
+            if (expected != TickResult.ATE) {
+                assertEquals(expected.ordinal(), results[0]);
+            }
+        }
+        assertEquals(single.getTick(), multi.getTick(0));
+        assertEquals(GameState.GAME_OVER, multi.getState(0));
+    }
+
+    @Test
+    void randomPlayKeepsBoardsConsistent() {
+        MultiGameEngine multi = new MultiGameEngine(CONFIG, GAMES, 99L);
+        XorShiftRandom random = new XorShiftRandom(5L);
+        byte[] actions = new byte[GAMES];
+        byte[] results = new byte[GAMES];
+        long[] words = new long[multi.getWordsPerGame()];
+        int eaten = 0;
+
+        for (int tick = 0; tick < 2000; tick++) {
+            for (int g = 0; g < GAMES; g++) {
+                // Mostly straight, sometimes turning, so snakes live long enough to eat
+                actions[g] = random.nextInt(4) == 0 ? (byte) random.nextInt(4) : MultiGameEngine.NO_ACTION;
+            }
+            multi.step(actions, results);
+
+            for (int g = 0; g < GAMES; g++) {
+                if (results[g] == TickResult.ATE.ordinal()) {
+                    eaten++;
+                }
+                if (multi.getState(g) != GameState.PLAYING) {
+                    multi.reset(g, tick * 1000L + g);
+                }
+
+                // Occupancy matches the length and food is on a free cell
+                multi.copyOccupancy(g, words, 0);
+                int occupied = 0;
+                for (long word : words) {
+                    occupied += Long.bitCount(word);
+                }
+                assertEquals(multi.getLength(g), occupied);
+                int foodCell = multi.getFood(g);
+                assertFalse(multi.isOccupied(g, foodCell % CONFIG.getGridWidth(), foodCell / CONFIG.getGridWidth()));
+                assertTrue(multi.isOccupied(g, multi.getHeadX(g), multi.getHeadY(g)));
+            }
+        }
+        assertTrue(eaten > 0, "Some snake should have eaten");
+    }
+
+    @Test
+    void sameSeedGivesSameGames() {
+        byte[] first = play(new MultiGameEngine(CONFIG, GAMES, 3L));
+        byte[] second = play(new MultiGameEngine(CONFIG, GAMES, 3L));
+        assertArrayEquals(first, second);
+    }
+
+    private static byte[] play(MultiGameEngine multi) {
+        byte[] actions = new byte[GAMES];
+        byte[] results = new byte[GAMES];
+        byte[] history = new byte[GAMES * 50];
+        for (int tick = 0; tick < 50; tick++) {
+            for (int g = 0; g < GAMES; g++) {
+                actions[g] = (byte) ((g + tick / 3) & 3);
+            }
+            multi.step(actions, results);
+            System.arraycopy(results, 0, history, tick * GAMES, GAMES);
+        }
+        return history;
+    }
+}
@@ -0,0 +1,66 @@
+package com.snake.utils;
+
+import java.util.Properties;
+import java.util.logging.Level;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for runtime settings.
+ */
+class GameConfigTest {
+
+    @Test
+    void argumentsOverrideDefaults() {
+        GameConfig config = GameConfig.load(new String[] {"--grid.width=4096", "--grid.height=300", "--tick.ms=0.25"});
+
+        assertEquals(4096, config.getGridWidth());
+        assertEquals(300, config.getGridHeight());
+        assertEquals(250000L, config.getTickNanos());
+        assertEquals(1, config.getCellSize());
+        assertEquals(Constants.INITIAL_SNAKE_LENGTH, config.getInitialSnakeLength());
+    }
+
+    @Test
+    void defaultsMatchConstants() {
+        GameConfig config = GameConfig.fromProperties(new Properties());
+
+        assertEquals(Constants.GAME_WIDTH, config.getGameWidth());
+        assertEquals(Constants.GAME_HEIGHT, config.getGameHeight());
+        assertEquals(Constants.GAME_SPEED * 1000000L, config.getTickNanos());
+    }
+
+    @Test
+    void speedCurveAndCatchUpSettings() {
+        GameConfig config = GameConfig.load(new String[] {"--tick.speedup=2.5", "--tick.min.ms=40", "--tick.catchup=1"});
+
+        assertEquals(2.5, config.getTickSpeedup());
+        assertEquals(40000000L, config.getMinTickNanos());
+        assertEquals(1, config.getCatchUpTicks());
+
+        GameConfig defaults = GameConfig.fromProperties(new Properties());
+        assertEquals(0.0, defaults.getTickSpeedup());
+        assertEquals(Constants.MIN_GAME_SPEED * 1000000L, defaults.getMinTickNanos());
+        assertEquals(1 + Constants.MAX_CATCH_UP_MS / Constants.GAME_SPEED, defaults.getCatchUpTicks());
+    }
+
+    @Test
+    void logLevelIsOptIn() {
+        assertEquals(Level.INFO, GameConfig.fromProperties(new Properties()).getLogLevel());
+        assertEquals(Level.FINE, GameConfig.load(new String[] {"--log.level=fine"}).getLogLevel());
+    }
+
+    @Test
+    void invalidSettingsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> GameConfig.load(new String[] {"--grid.width=5000"}));
+        assertThrows(IllegalArgumentException.class, () -> GameConfig.load(new String[] {"--tick.ms=fast"}));
+        assertThrows(IllegalArgumentException.class, () -> GameConfig.load(new String[] {"grid.width"}));
+        assertThrows(IllegalArgumentException.class, () -> GameConfig.load(new String[] {"--render.mode=vsync"}));
+        assertThrows(IllegalArgumentException.class, () -> GameConfig.load(new String[] {"--tick.min.ms=500"}));
+        assertThrows(IllegalArgumentException.class, () -> GameConfig.load(new String[] {"--tick.catchup=0"}));
+        assertThrows(IllegalArgumentException.class, () -> GameConfig.load(new String[] {"--log.level=loud"}));
+    }
+}
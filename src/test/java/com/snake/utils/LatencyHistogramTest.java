@@ -0,0 +1,83 @@
+package com.snake.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the lock-free log-linear histogram
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsCoverEveryValueWithoutGaps() {
+        assertEquals(0, LatencyHistogram.lowerBound(0));
+        for (int bucket = 1; bucket < LatencyHistogram.BUCKETS; bucket++) {
+            assertEquals(LatencyHistogram.upperBound(bucket - 1) + 1, LatencyHistogram.lowerBound(bucket));
+            assertEquals(bucket, LatencyHistogram.bucketOf(LatencyHistogram.lowerBound(bucket)));
+            assertEquals(bucket, LatencyHistogram.bucketOf(LatencyHistogram.upperBound(bucket)));
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void percentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        long median = histogram.percentile(0.5);
+        long p99 = histogram.percentile(0.99);
+        assertTrue(Math.abs(median - 50000000L) <= 50000000L / 16, "median " + median);
+        assertTrue(Math.abs(p99 - 99000000L) <= 99000000L / 16, "p99 " + p99);
+        assertEquals(100000000L, histogram.percentile(1.0));
+        assertEquals(100000, histogram.getCount());
+        assertEquals(50000500L, histogram.getMean());
+    }
+
+    @Test
+    void intervalOnlySeesNewValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LatencyHistogram.Interval interval = new LatencyHistogram.Interval(histogram);
+        histogram.record(1000000000L);
+        interval.advance();
+
+        for (int i = 0; i < 100; i++) {
+            histogram.record(10);
+        }
+        interval.advance();
+        assertEquals(100, interval.getCount());
+        assertEquals(10, interval.percentile(0.99));
+        assertEquals(10, interval.getMax());
+
+        interval.advance();
+        assertEquals(0, interval.getCount());
+        assertEquals(0, interval.percentile(0.5));
+    }
+
+    @Test
+    void concurrentRecordingLosesNothing() throws InterruptedException {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final long offset = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 100000; i++) {
+                        histogram.record(i + offset);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(400000, histogram.getCount());
+        assertEquals(99999 + 3, histogram.getMax());
+    }
+}
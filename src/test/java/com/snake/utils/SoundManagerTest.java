@@ -0,0 +1,117 @@
+package com.snake.utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.snake.audio.AudioMixer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress tests for the sound manager under concurrent use
+ * Needs no audio device, without one the mixer stays silent
+ */
+class SoundManagerTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 20000;
+
+    @Test
+    void everyThreadGetsTheSameInstance() throws Exception {
+        Future<SoundManager>[] results = runOnAllThreads(new Callable<SoundManager>() {
+            @Override
+            public SoundManager call() {
+                return SoundManager.getInstance();
+            }
+        });
+        for (Future<SoundManager> result : results) {
+            assertSame(SoundManager.getInstance(), result.get());
+        }
+    }
+
+    @Test
+    void settingsStayConsistentUnderConcurrentChanges() throws Exception {
+        final SoundManager sounds = SoundManager.getInstance();
+        Future<Object>[] results = runOnAllThreads(new Callable<Object>() {
+            @Override
+            public Object call() {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    switch (random.nextInt(7)) {
+                        case 0: sounds.playEat(); break;
+                        case 1: sounds.playClick(); break;
+                        case 2: sounds.playBackgroundLoop(); break;
+                        case 3: sounds.stopBackground(); break;
+                        case 4: sounds.setMusicVolume(random.nextFloat() * 1.2f - 0.1f); break;
+                        case 5: sounds.setSfxVolume(random.nextFloat()); break;
+                        default: sounds.setMuted(random.nextBoolean()); break;
+                    }
+
+                    // Every snapshot is whole: gains belong to the volumes next to them
+                    SoundSettings settings = sounds.getSettings();
+                    assertEquals(AudioMixer.gainForVolume(settings.getMusicVolume()), settings.getMusicGain(), 0.0f);
+                    assertEquals(AudioMixer.gainForVolume(settings.getSfxVolume()), settings.getSfxGain(), 0.0f);
+                    assertTrue(settings.getMusicVolume() >= 0.0f && settings.getMusicVolume() <= 1.0f);
+                }
+                return null;
+            }
+        });
+        for (Future<Object> result : results) {
+            result.get(); // Rethrows assertion failures of the workers
+        }
+    }
+
+    @Test
+    void concurrentTogglesAreNeverLost() throws Exception {
+        final SoundManager sounds = SoundManager.getInstance();
+        sounds.setMuted(false);
+
+        // An even number of toggles in total ends unmuted
+        Future<Object>[] results = runOnAllThreads(new Callable<Object>() {
+            @Override
+            public Object call() {
+                for (int i = 0; i < 1001; i++) {
+                    sounds.toggleMute();
+                }
+                return null;
+            }
+        });
+        for (Future<Object> result : results) {
+            result.get();
+        }
+        assertFalse(sounds.isMuted());
+    }
+
+    /**
+     * Runs the task on THREADS threads that all start at the same moment
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Future<T>[] runOnAllThreads(final Callable<T> task) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        Future<T>[] results = new Future[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            results[t] = pool.submit(new Callable<T>() {
+                @Override
+                public T call() throws Exception {
+                    start.await();
+                    return task.call();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+        return results;
+    }
+}
@@ -0,0 +1,65 @@
+package com.snake.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the varint encoding.
+ */
+class VarIntTest {
+
+    private static final long[] VALUES = {0, 1, 127, 128, 300, 16383, 16384, Integer.MAX_VALUE, -1L, Long.MIN_VALUE};
+
+    @Test
+    void arrayMatchesStream() throws IOException {
+        byte[] buffer = new byte[VALUES.length * VarInt.MAX_BYTES];
+        int offset = 0;
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (long value : VALUES) {
+            int next = VarInt.write(buffer, offset, value);
+            assertEquals(VarInt.length(value), next - offset);
+            offset = next;
+            VarInt.write(stream, value);
+        }
+        byte[] written = new byte[offset];
+        System.arraycopy(buffer, 0, written, 0, offset);
+        assertArrayEquals(stream.toByteArray(), written);
+
+        ByteArrayInputStream in = new ByteArrayInputStream(written);
+        int position = 0;
+        for (long value : VALUES) {
+            long read = VarInt.read(buffer, position, offset);
+            assertEquals(value, read);
+            assertEquals(value, VarInt.read(in));
+            position += VarInt.length(read);
+        }
+        assertEquals(offset, position);
+    }
+
+    @Test
+    void zigZagKeepsSmallNegativesSmall() {
+        for (long value : VALUES) {
+            assertEquals(value, VarInt.decodeZigZag(VarInt.encodeZigZag(value)));
+        }
+        assertEquals(1, VarInt.encodeZigZag(-1));
+        assertEquals(2, VarInt.encodeZigZag(1));
+    }
+
+    @Test
+    void rejectsDamagedArrays() {
+        assertThrows(EOFException.class, () -> VarInt.read(new byte[] {(byte) 0x80, (byte) 0x80}, 0, 2));
+        assertThrows(IOException.class, () -> VarInt.read(new byte[] {(byte) 0x81, 0}, 0, 2));
+        byte[] tooLong = new byte[11];
+        Arrays.fill(tooLong, (byte) 0xFF);
+        assertThrows(IOException.class, () -> VarInt.read(tooLong, 0, tooLong.length));
+    }
+}